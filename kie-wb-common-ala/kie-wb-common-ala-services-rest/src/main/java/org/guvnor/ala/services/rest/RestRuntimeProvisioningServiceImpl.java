@@ -16,6 +16,7 @@
 
 package org.guvnor.ala.services.rest;
 
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
@@ -254,10 +255,14 @@ public class RestRuntimeProvisioningServiceImpl
                     .withRuntimeId(query.getRuntimeId())
                     .withRuntimeName(query.getRuntimeName());
 
+            final Set<List<String>> itemKeys = items.stream()
+                    .map(item -> Arrays.asList(item.getRuntimeId(),
+                                               item.getProviderId()))
+                    .collect(Collectors.toSet());
             runtimes.forEach(runtime -> {
                 if (runtimeFilter.test(runtime)) {
-                    if (items.stream().filter(item -> runtime.getId().equals(item.getRuntimeId()) &&
-                            runtime.getProviderId().getId().equals(item.getProviderId())).count() == 0) {
+                    if (itemKeys.add(Arrays.asList(runtime.getId(),
+                                                   runtime.getProviderId().getId()))) {
                         items.add(RuntimeQueryResultItemBuilder.newInstance(runtimeRegistry).with(runtime).build());
                     }
                 }
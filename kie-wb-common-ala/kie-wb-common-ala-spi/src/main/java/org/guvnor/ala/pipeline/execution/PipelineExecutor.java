@@ -37,6 +37,9 @@ import org.guvnor.ala.pipeline.events.OnErrorPipelineExecutionEvent;
 import org.guvnor.ala.pipeline.events.OnErrorStageExecutionEvent;
 import org.guvnor.ala.pipeline.events.PipelineEventListener;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 import static org.guvnor.ala.util.VariableInterpolation.interpolate;
 
 /*
@@ -45,6 +48,8 @@ import static org.guvnor.ala.util.VariableInterpolation.interpolate;
 */
 public class PipelineExecutor {
 
+    private static final Logger LOGGER = LoggerFactory.getLogger(PipelineExecutor.class);
+
     public static final String PIPELINE_EXECUTION_ID = "_pipelineExecutionId_";
 
     private final Map<Class, ConfigExecutor> configExecutors = new HashMap<>();
@@ -85,6 +90,7 @@ public class PipelineExecutor {
         while (!context.isFinished()) {
             final Stage<Object, ?> stage = getCurrentStage(context);
             final Object newInput = pollOutput(context);
+            final long stageStart = System.nanoTime();
 
             try {
                 propagateEvent(new BeforeStageExecutionEvent(context.getExecutionId(),
@@ -116,6 +122,9 @@ public class PipelineExecutor {
                                                          result.get());
                                   }
 
+                                  logStageDuration(context,
+                                                   stage,
+                                                   stageStart);
                                   propagateEvent(new AfterStageExecutionEvent(context.getExecutionId(),
                                                                               context.getPipeline(),
                                                                               stage),
@@ -123,6 +132,9 @@ public class PipelineExecutor {
                               });
             } catch (final Throwable t) {
                 t.printStackTrace();
+                logStageDuration(context,
+                                 stage,
+                                 stageStart);
                 final RuntimeException exception = new RuntimeException("An error occurred while executing the " + (stage == null ? "null" : stage.getName()) + " stage.",
                                                                         t);
                 propagateEvent(new OnErrorStageExecutionEvent(context.getExecutionId(),
@@ -144,6 +156,18 @@ public class PipelineExecutor {
         }
     }
 
+    private static void logStageDuration(final PipelineContext context,
+                                         final Stage<Object, ?> stage,
+                                         final long stageStart) {
+        if (LOGGER.isDebugEnabled()) {
+            LOGGER.debug("Stage {} of pipeline {} ({}) executed in {} ms",
+                         stage == null ? null : stage.getName(),
+                         context.getPipeline().getName(),
+                         context.getExecutionId(),
+                         (System.nanoTime() - stageStart) / 1_000_000);
+        }
+    }
+
     private ConfigExecutor resolve(final Class<?> clazz) {
         final ConfigExecutor result = configExecutors.get(clazz);
         if (result != null) {
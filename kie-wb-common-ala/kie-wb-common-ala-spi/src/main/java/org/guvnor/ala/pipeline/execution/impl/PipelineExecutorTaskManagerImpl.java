@@ -16,11 +16,14 @@
 
 package org.guvnor.ala.pipeline.execution.impl;
 
-import java.util.HashMap;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 
@@ -63,15 +66,31 @@ public class PipelineExecutorTaskManagerImpl
 
     protected static final String THREAD_POOL_SIZE_PROPERTY_NAME = "org.guvnor.ala.pipeline.execution.threadPoolSize";
 
+    protected static final int DEFAULT_PROVIDER_CONCURRENCY = 0;
+
+    protected static final String PROVIDER_CONCURRENCY_PROPERTY_NAME = "org.guvnor.ala.pipeline.execution.providerConcurrency";
+
     protected ExecutorService executor;
 
     protected List<PipelineEventListener> externalListeners;
 
     protected PipelineExecutor pipelineExecutor;
 
-    protected final Map<String, TaskEntry> currentTasks = new HashMap<>();
+    protected final Map<String, TaskEntry> currentTasks = new ConcurrentHashMap<>();
 
-    protected Map<String, Future<?>> futureTaskMap = new HashMap<>();
+    protected Map<String, Future<?>> futureTaskMap = new ConcurrentHashMap<>();
+
+    /**
+     * Asynchronous executions running and waiting by provider, when the executions on a provider are limited.
+     */
+    protected final Map<String, ProviderSlots> providerSlots = new ConcurrentHashMap<>();
+
+    /**
+     * Provider of the execution slot held by a task, by taskId.
+     */
+    protected final Map<String, String> heldProviderSlots = new ConcurrentHashMap<>();
+
+    protected int providerConcurrency;
 
     protected PipelineExecutorRegistry pipelineExecutorRegistry;
 
@@ -129,26 +148,22 @@ public class PipelineExecutorTaskManagerImpl
     @PreDestroy
     protected void destroy() {
         try {
-            synchronized (currentTasks) {
-                final Set<TaskEntry> entrySet = new HashSet<>();
-                entrySet.addAll(currentTasks.values());
-                entrySet.forEach(entry -> {
-                    currentTasks.remove(entry.getTask().getId());
-                    if (entry.isAsync()) {
-                        final PipelineExecutorTaskImpl task = entry.getTask();
-                        if (stopEnabledStatus.contains(task.getPipelineStatus())) {
-                            try {
-                                taskManagerHelper.setTaskInStoppedStatus(task);
-                                updateExecutorRegistry(task);
-                            } catch (Exception e) {
-                                logger.error("It was not possible to update task: " + task.getId() + " during " +
-                                                     " PipelineExecutorTaskManager finalization. " + e.getMessage(),
-                                             e);
-                            }
+            final List<TaskEntry> entries = new ArrayList<>(currentTasks.values());
+            entries.forEach(entry -> {
+                if (currentTasks.remove(entry.getTask().getId()) != null && entry.isAsync()) {
+                    final PipelineExecutorTaskImpl task = entry.getTask();
+                    if (stopEnabledStatus.contains(task.getPipelineStatus())) {
+                        try {
+                            taskManagerHelper.setTaskInStoppedStatus(task);
+                            updateExecutorRegistry(task);
+                        } catch (Exception e) {
+                            logger.error("It was not possible to update task: " + task.getId() + " during " +
+                                                 " PipelineExecutorTaskManager finalization. " + e.getMessage(),
+                                         e);
                         }
                     }
-                });
-            }
+                }
+            });
             if (executor != null) {
                 executor.shutdown();
             }
@@ -160,6 +175,7 @@ public class PipelineExecutorTaskManagerImpl
 
     private void initExecutor() {
         executor = taskManagerHelper.createExecutorService();
+        providerConcurrency = taskManagerHelper.getProviderConcurrency();
     }
 
     private void initPipelineExecutor() {
@@ -250,7 +266,7 @@ public class PipelineExecutorTaskManagerImpl
      * @return the taskId assigned to the running task.
      * @see PipelineExecutorTaskDef
      */
-    private synchronized String executeAsync(final PipelineExecutorTaskDef taskDef) {
+    private String executeAsync(final PipelineExecutorTaskDef taskDef) {
         final PipelineExecutorTaskImpl task = taskManagerHelper.createTask(taskDef);
         storeTaskEntry(TaskEntry.newAsyncEntry(task));
         startAsyncTask(task);
@@ -259,30 +275,113 @@ public class PipelineExecutorTaskManagerImpl
     }
 
     /**
-     * Executes a task in asynchronous mode.
+     * Executes a task in asynchronous mode. When the executions on the provider of the task are limited and the
+     * limit is reached, the task stays scheduled until an execution on the same provider finishes.
      * @param task the task for execute.
      * @return the taskId of the task.
      */
-    private synchronized void startAsyncTask(final PipelineExecutorTask task) {
-        final Future<?> future = executor.submit(() -> {
-            final Pipeline pipeline = pipelineRegistry.getPipelineByName(task.getTaskDef().getPipeline());
+    private void startAsyncTask(final PipelineExecutorTask task) {
+        final String providerKey = providerConcurrency > 0 ? providerKey(task.getTaskDef()) : null;
+        final Runnable execution = () -> {
             try {
-                pipelineExecutor.execute(task.getTaskDef().getInput(),
-                                         pipeline,
-                                         output -> processPipelineOutput(task,
-                                                                         output),
-                                         localListener);
+                //a task stopped or destroyed while waiting for its provider is not executed.
+                if (getTaskEntry(task.getId()) != null) {
+                    final Pipeline pipeline = pipelineRegistry.getPipelineByName(task.getTaskDef().getPipeline());
+                    pipelineExecutor.execute(task.getTaskDef().getInput(),
+                                             pipeline,
+                                             output -> processPipelineOutput(task,
+                                                                             output),
+                                             localListener);
+                }
             } catch (Exception e) {
                 logger.error("An error was produced during pipeline execution for PipelineExecutorTask: " + task.getId(),
                              e);
             } finally {
                 removeTaskEntry(task.getId());
                 removeFutureTask(task.getId());
+                releaseProvider(task.getId());
             }
-        });
+        };
+        if (providerKey == null) {
+            submitAsyncTask(task.getId(),
+                            execution);
+            return;
+        }
+        final Runnable submission = () -> {
+            heldProviderSlots.put(task.getId(),
+                                  providerKey);
+            submitAsyncTask(task.getId(),
+                            execution);
+        };
+        if (acquireProvider(providerKey,
+                            submission)) {
+            submission.run();
+        }
+    }
 
-        storeFutureTask(task.getId(),
-                        future);
+    private void submitAsyncTask(final String taskId,
+                                 final Runnable execution) {
+        // the task is submitted while its key is locked in the map, so it can't remove its future before it's stored.
+        futureTaskMap.compute(taskId,
+                              (id, previous) -> executor.submit(execution));
+    }
+
+    /**
+     * @return true if an execution slot of the provider was acquired, false if the submission was queued until one
+     * is released.
+     */
+    private boolean acquireProvider(final String providerKey,
+                                    final Runnable submission) {
+        final ProviderSlots slots = providerSlots.computeIfAbsent(providerKey,
+                                                                  key -> new ProviderSlots());
+        synchronized (slots) {
+            if (slots.running < providerConcurrency) {
+                slots.running++;
+                return true;
+            }
+            slots.waiting.add(submission);
+            return false;
+        }
+    }
+
+    /**
+     * Hands the execution slot held by a finished, stopped or destroyed task to the next task waiting for the
+     * provider. Releasing twice has no effect.
+     */
+    private void releaseProvider(final String taskId) {
+        final String providerKey = heldProviderSlots.remove(taskId);
+        if (providerKey == null) {
+            return;
+        }
+        final ProviderSlots slots = providerSlots.get(providerKey);
+        final Runnable next;
+        synchronized (slots) {
+            next = slots.waiting.poll();
+            if (next == null) {
+                slots.running--;
+            }
+        }
+        if (next != null) {
+            try {
+                next.run();
+            } catch (Exception e) {
+                logger.error("Submission of a PipelineExecutorTask waiting for provider: " + providerKey + " failed. " + e.getMessage(),
+                             e);
+            }
+        }
+    }
+
+    /**
+     * @return the key of the provider the task definition will be executed on, null when it's unknown.
+     */
+    protected static String providerKey(final PipelineExecutorTaskDef taskDef) {
+        if (taskDef.getProviderId() != null) {
+            return taskDef.getProviderId().getId();
+        }
+        if (taskDef.getProviderType() != null) {
+            return taskDef.getProviderType().getProviderTypeName() + ":" + taskDef.getProviderType().getVersion();
+        }
+        return null;
     }
 
     /**
@@ -332,6 +431,7 @@ public class PipelineExecutorTaskManagerImpl
         }
         destroyFutureTask(taskId);
         removeTaskEntry(taskId);
+        releaseProvider(taskId);
         taskManagerHelper.setTaskInStoppedStatus(entry.getTask());
         updateExecutorRegistry(entry.getTask());
     }
@@ -348,6 +448,7 @@ public class PipelineExecutorTaskManagerImpl
         }
         destroyFutureTask(taskId);
         removeTaskEntry(taskId);
+        releaseProvider(taskId);
         pipelineExecutorRegistry.deregister(taskId);
     }
 
@@ -430,26 +531,20 @@ public class PipelineExecutorTaskManagerImpl
         }
     }
 
-    private synchronized TaskEntry getTaskEntry(final String taskId) {
+    private TaskEntry getTaskEntry(final String taskId) {
         return currentTasks.get(taskId);
     }
 
-    private synchronized void removeTaskEntry(final String taskId) {
+    private void removeTaskEntry(final String taskId) {
         currentTasks.remove(taskId);
     }
 
-    private synchronized void storeTaskEntry(final TaskEntry entry) {
+    private void storeTaskEntry(final TaskEntry entry) {
         currentTasks.put(entry.task.getId(),
                          entry);
     }
 
-    private synchronized void storeFutureTask(final String taskId,
-                                              final Future future) {
-        futureTaskMap.put(taskId,
-                          future);
-    }
-
-    private synchronized void removeFutureTask(final String taskId) {
+    private void removeFutureTask(final String taskId) {
         futureTaskMap.remove(taskId);
     }
 
@@ -458,7 +553,7 @@ public class PipelineExecutorTaskManagerImpl
      * @param taskId the task id to be destroyed.
      * @return true if the task was destroyed with no errors, false in any other case.
      */
-    private synchronized boolean destroyFutureTask(final String taskId) {
+    private boolean destroyFutureTask(final String taskId) {
         final Future future = futureTaskMap.remove(taskId);
         if (future != null && !future.isCancelled() && !future.isDone()) {
             try {
@@ -488,6 +583,21 @@ public class PipelineExecutorTaskManagerImpl
         }
     }
 
+    protected static class ProviderSlots {
+
+        private int running;
+
+        private final Queue<Runnable> waiting = new ArrayDeque<>();
+
+        public synchronized int getRunning() {
+            return running;
+        }
+
+        public synchronized int getWaiting() {
+            return waiting.size();
+        }
+    }
+
     protected static class TaskEntry {
 
         private PipelineExecutorTaskImpl task;
@@ -40,7 +40,9 @@ import org.guvnor.ala.pipeline.execution.PipelineExecutorTaskDef;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static org.guvnor.ala.pipeline.execution.impl.PipelineExecutorTaskManagerImpl.DEFAULT_PROVIDER_CONCURRENCY;
 import static org.guvnor.ala.pipeline.execution.impl.PipelineExecutorTaskManagerImpl.DEFAULT_THREAD_POOL_SIZE;
+import static org.guvnor.ala.pipeline.execution.impl.PipelineExecutorTaskManagerImpl.PROVIDER_CONCURRENCY_PROPERTY_NAME;
 import static org.guvnor.ala.pipeline.execution.impl.PipelineExecutorTaskManagerImpl.THREAD_POOL_SIZE_PROPERTY_NAME;
 
 /**
@@ -86,6 +88,30 @@ public class PipelineExecutorTaskManagerImplHelper {
         return Executors.newFixedThreadPool(threadPoolSize);
     }
 
+    /**
+     * @return the maximum number of asynchronous pipeline executions that may run at the same time on a provider,
+     * 0 when they are only bounded by the thread pool.
+     */
+    public int getProviderConcurrency() {
+        final String providerConcurrencyValue = System.getProperties().getProperty(PROVIDER_CONCURRENCY_PROPERTY_NAME);
+        if (providerConcurrencyValue == null) {
+            return DEFAULT_PROVIDER_CONCURRENCY;
+        }
+        try {
+            final int providerConcurrency = Integer.parseInt(providerConcurrencyValue);
+            if (providerConcurrency < 0) {
+                logger.error(PROVIDER_CONCURRENCY_PROPERTY_NAME + " property must not be negative, by default value will be used: " + DEFAULT_PROVIDER_CONCURRENCY);
+                return DEFAULT_PROVIDER_CONCURRENCY;
+            }
+            logger.debug(PROVIDER_CONCURRENCY_PROPERTY_NAME + " property will be set to: " + providerConcurrency);
+            return providerConcurrency;
+        } catch (Exception e) {
+            logger.error(PROVIDER_CONCURRENCY_PROPERTY_NAME + " property was set to a wrong value, by default value will be used: " + DEFAULT_PROVIDER_CONCURRENCY,
+                         e);
+            return DEFAULT_PROVIDER_CONCURRENCY;
+        }
+    }
+
     public PipelineExecutor createPipelineExecutor() {
         final Collection<ConfigExecutor> configs = new ArrayList<>();
         configExecutorInstance.iterator().forEachRemaining(configs::add);
@@ -18,6 +18,7 @@ package org.guvnor.ala.registry.inmemory;
 
 import java.util.Collection;
 import java.util.Map;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -34,6 +35,12 @@ public class InMemoryPipelineExecutorRegistry
 
     protected Map<String, PipelineExecutorTrace> recordsMap = new ConcurrentHashMap<>();
 
+    /**
+     * Ids of the traces that produced each runtime, kept in sync with the records so the trace of a runtime is found
+     * without scanning the history of executions.
+     */
+    protected Map<String, Set<String>> runtimeIndex = new ConcurrentHashMap<>();
+
     public InMemoryPipelineExecutorRegistry() {
         //Empty constructor for Weld proxying
     }
@@ -42,14 +49,22 @@ public class InMemoryPipelineExecutorRegistry
     public void register(final PipelineExecutorTrace trace) {
         checkNotNull("trace",
                      trace);
-        recordsMap.put(trace.getTaskId(),
-                       trace);
+        recordsMap.compute(trace.getTaskId(),
+                           (taskId, previous) -> {
+                               unindex(previous);
+                               index(trace);
+                               return trace;
+                           });
     }
 
     public void deregister(final String pipelineExecutionId) {
         checkNotNull("pipelineExecutionId",
                      pipelineExecutionId);
-        recordsMap.remove(pipelineExecutionId);
+        recordsMap.computeIfPresent(pipelineExecutionId,
+                                    (taskId, previous) -> {
+                                        unindex(previous);
+                                        return null;
+                                    });
     }
 
     @Override
@@ -66,11 +81,47 @@ public class InMemoryPipelineExecutorRegistry
     public PipelineExecutorTrace getExecutorTrace(final RuntimeId runtimeId) {
         checkNotNull("runtimeId",
                      runtimeId);
-        return recordsMap.values()
-                .stream()
-                .filter(trace ->
-                                (trace.getTask().getOutput() instanceof RuntimeId) &&
-                                        runtimeId.getId().equals(((RuntimeId) trace.getTask().getOutput()).getId())
-                ).findFirst().orElse(null);
+        final Set<String> taskIds = runtimeIndex.get(runtimeId.getId());
+        if (taskIds != null) {
+            for (String taskId : taskIds) {
+                final PipelineExecutorTrace trace = recordsMap.get(taskId);
+                if (trace != null) {
+                    return trace;
+                }
+            }
+        }
+        return null;
+    }
+
+    private void index(final PipelineExecutorTrace trace) {
+        final String runtimeId = getRuntimeId(trace);
+        if (runtimeId != null) {
+            runtimeIndex.compute(runtimeId,
+                                 (id, taskIds) -> {
+                                     final Set<String> current = taskIds != null ?
+                                             taskIds :
+                                             ConcurrentHashMap.newKeySet();
+                                     current.add(trace.getTaskId());
+                                     return current;
+                                 });
+        }
+    }
+
+    private void unindex(final PipelineExecutorTrace trace) {
+        final String runtimeId = getRuntimeId(trace);
+        if (runtimeId != null) {
+            runtimeIndex.computeIfPresent(runtimeId,
+                                          (id, taskIds) -> {
+                                              taskIds.remove(trace.getTaskId());
+                                              return taskIds.isEmpty() ? null : taskIds;
+                                          });
+        }
+    }
+
+    private static String getRuntimeId(final PipelineExecutorTrace trace) {
+        if (trace == null || trace.getTask() == null || !(trace.getTask().getOutput() instanceof RuntimeId)) {
+            return null;
+        }
+        return ((RuntimeId) trace.getTask().getOutput()).getId();
     }
 }
\ No newline at end of file
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.guvnor.ala.pipeline.execution.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import org.guvnor.ala.pipeline.Input;
+import org.guvnor.ala.pipeline.Pipeline;
+import org.guvnor.ala.pipeline.events.PipelineEventListener;
+import org.guvnor.ala.pipeline.execution.PipelineExecutorTaskDef;
+import org.guvnor.ala.pipeline.execution.PipelineExecutorTaskManager;
+import org.guvnor.ala.runtime.providers.ProviderId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.junit.MockitoJUnitRunner;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class PipelineExecutorTaskManagerImplConcurrencyTest
+        extends PipelineExecutorTaskManagerImplTestBase {
+
+    private static final String PROVIDER_ID = "PROVIDER_ID";
+
+    private static final String OTHER_PROVIDER_ID = "OTHER_PROVIDER_ID";
+
+    private final AtomicInteger taskIds = new AtomicInteger();
+
+    private ExecutorService pool;
+
+    private List<Runnable> submitted;
+
+    @Before
+    public void setUp() {
+        super.setUp();
+        pipeline = mock(Pipeline.class);
+        when(pipeline.getName()).thenReturn(PIPELINE_ID);
+        when(pipelineRegistry.getPipelineByName(PIPELINE_ID)).thenReturn(pipeline);
+        doAnswer(invocation -> TASK_ID + taskIds.incrementAndGet()).when(taskManagerHelper).generateTaskId();
+
+        submitted = new ArrayList<>();
+        when(executorService.submit(any(Runnable.class))).thenAnswer(invocation -> {
+            submitted.add(invocation.getArgument(0));
+            return mock(Future.class);
+        });
+    }
+
+    @After
+    public void tearDown() {
+        if (pool != null) {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testConcurrentExecutionsUseTheRegistry() throws Exception {
+        pool = Executors.newFixedThreadPool(4);
+        doReturn(pool).when(taskManagerHelper).createExecutorService();
+        taskManager.init();
+
+        final int tasks = 100;
+        final CountDownLatch executed = new CountDownLatch(tasks);
+        final AtomicInteger registered = new AtomicInteger();
+        doAnswer(invocation -> {
+            //the running task is found while other tasks are stored and removed.
+            final Input taskInput = invocation.getArgument(0);
+            if (taskManager.currentTasks.values().stream().anyMatch(entry -> entry.getTask().getTaskDef().getInput() == taskInput)) {
+                registered.incrementAndGet();
+            }
+            executed.countDown();
+            return null;
+        }).when(pipelineExecutor).execute(any(Input.class),
+                                          any(Pipeline.class),
+                                          any(Consumer.class),
+                                          any(PipelineEventListener.class));
+
+        final ExecutorService callers = Executors.newFixedThreadPool(4);
+        try {
+            for (int i = 0; i < tasks; i++) {
+                callers.submit(() -> taskManager.execute(mockTaskDef(null),
+                                                         PipelineExecutorTaskManager.ExecutionMode.ASYNCHRONOUS));
+            }
+            assertTrue(executed.await(10,
+                                      TimeUnit.SECONDS));
+        } finally {
+            callers.shutdown();
+        }
+        pool.shutdown();
+        assertTrue(pool.awaitTermination(10,
+                                         TimeUnit.SECONDS));
+
+        assertEquals(tasks,
+                     registered.get());
+        assertTrue(taskManager.currentTasks.isEmpty());
+        assertTrue(taskManager.futureTaskMap.isEmpty());
+    }
+
+    @Test
+    public void testAsyncTaskCanNotRemoveItsFutureBeforeItIsStored() throws Exception {
+        final List<Thread> workers = new ArrayList<>();
+        when(executorService.submit(any(Runnable.class))).thenAnswer(invocation -> {
+            //the task runs to completion, if it can, before submit returns its future.
+            final Thread worker = new Thread((Runnable) invocation.getArgument(0));
+            workers.add(worker);
+            worker.start();
+            worker.join(200);
+            return mock(Future.class);
+        });
+        taskManager.init();
+
+        final String taskId = taskManager.execute(mockTaskDef(null),
+                                                  PipelineExecutorTaskManager.ExecutionMode.ASYNCHRONOUS);
+        workers.get(0).join(10000);
+
+        assertFalse(workers.get(0).isAlive());
+        assertFalse(taskManager.futureTaskMap.containsKey(taskId));
+        assertFalse(taskManager.currentTasks.containsKey(taskId));
+    }
+
+    @Test
+    public void testExecutionsAreLimitedByProvider() {
+        doReturn(1).when(taskManagerHelper).getProviderConcurrency();
+        taskManager.init();
+
+        final String first = taskManager.execute(mockTaskDef(PROVIDER_ID),
+                                                 PipelineExecutorTaskManager.ExecutionMode.ASYNCHRONOUS);
+        final String second = taskManager.execute(mockTaskDef(PROVIDER_ID),
+                                                  PipelineExecutorTaskManager.ExecutionMode.ASYNCHRONOUS);
+        taskManager.execute(mockTaskDef(OTHER_PROVIDER_ID),
+                            PipelineExecutorTaskManager.ExecutionMode.ASYNCHRONOUS);
+
+        //the second execution on the provider waits for the first one.
+        assertEquals(2,
+                     submitted.size());
+        assertFalse(taskManager.futureTaskMap.containsKey(second));
+        assertEquals(1,
+                     taskManager.providerSlots.get(PROVIDER_ID).getWaiting());
+
+        submitted.get(0).run();
+
+        assertFalse(taskManager.currentTasks.containsKey(first));
+        assertEquals(3,
+                     submitted.size());
+        assertTrue(taskManager.futureTaskMap.containsKey(second));
+        assertEquals(1,
+                     taskManager.providerSlots.get(PROVIDER_ID).getRunning());
+        assertEquals(0,
+                     taskManager.providerSlots.get(PROVIDER_ID).getWaiting());
+
+        submitted.get(2).run();
+
+        assertEquals(0,
+                     taskManager.providerSlots.get(PROVIDER_ID).getRunning());
+        verify(pipelineExecutor,
+               times(2)).execute(any(Input.class),
+                                 any(Pipeline.class),
+                                 any(Consumer.class),
+                                 any(PipelineEventListener.class));
+    }
+
+    @Test
+    public void testStoppedTaskReleasesItsProvider() throws Exception {
+        doReturn(1).when(taskManagerHelper).getProviderConcurrency();
+        taskManager.init();
+
+        final String first = taskManager.execute(mockTaskDef(PROVIDER_ID),
+                                                 PipelineExecutorTaskManager.ExecutionMode.ASYNCHRONOUS);
+        final String second = taskManager.execute(mockTaskDef(PROVIDER_ID),
+                                                  PipelineExecutorTaskManager.ExecutionMode.ASYNCHRONOUS);
+
+        //the future of the first execution is cancelled before it starts, so it never releases the provider itself.
+        taskManager.stop(first);
+
+        assertEquals(2,
+                     submitted.size());
+        assertTrue(taskManager.futureTaskMap.containsKey(second));
+
+        //a cancelled execution that runs anyway does not release the provider twice.
+        submitted.get(0).run();
+
+        assertEquals(1,
+                     taskManager.providerSlots.get(PROVIDER_ID).getRunning());
+    }
+
+    @Test
+    public void testExecutionsWithoutProviderAreNotLimited() {
+        doReturn(1).when(taskManagerHelper).getProviderConcurrency();
+        taskManager.init();
+
+        taskManager.execute(mockTaskDef(null),
+                            PipelineExecutorTaskManager.ExecutionMode.ASYNCHRONOUS);
+        taskManager.execute(mockTaskDef(null),
+                            PipelineExecutorTaskManager.ExecutionMode.ASYNCHRONOUS);
+
+        assertEquals(2,
+                     submitted.size());
+        assertTrue(taskManager.providerSlots.isEmpty());
+    }
+
+    private PipelineExecutorTaskDef mockTaskDef(final String providerId) {
+        final PipelineExecutorTaskDef taskDef = mock(PipelineExecutorTaskDef.class);
+        when(taskDef.getPipeline()).thenReturn(PIPELINE_ID);
+        when(taskDef.getInput()).thenReturn(mock(Input.class));
+        if (providerId != null) {
+            final ProviderId provider = mock(ProviderId.class);
+            when(provider.getId()).thenReturn(providerId);
+            when(taskDef.getProviderId()).thenReturn(provider);
+        }
+        return taskDef;
+    }
+}
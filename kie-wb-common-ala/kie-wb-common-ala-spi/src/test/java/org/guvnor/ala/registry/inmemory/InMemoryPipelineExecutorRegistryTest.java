@@ -115,6 +115,60 @@ public class InMemoryPipelineExecutorRegistryTest {
                      result);
     }
 
+    @Test
+    public void getExecutorTraceByRuntimeIdAfterReRegistration() {
+        RuntimeIdMock runtimeId = mock(RuntimeIdMock.class);
+        when(runtimeId.getId()).thenReturn(RUNTIME_ID);
+
+        PipelineExecutorTask task = mock(PipelineExecutorTask.class);
+        when(task.getOutput()).thenReturn(runtimeId);
+        when(trace.getTask()).thenReturn(task);
+        pipelineExecutorRegistry.register(trace);
+
+        PipelineExecutorTrace updatedTrace = mock(PipelineExecutorTrace.class);
+        PipelineExecutorTask updatedTask = mock(PipelineExecutorTask.class);
+        when(updatedTrace.getTaskId()).thenReturn(PIPELINE_EXECUTION_ID);
+        when(updatedTrace.getTask()).thenReturn(updatedTask);
+        pipelineExecutorRegistry.register(updatedTrace);
+
+        assertNull(pipelineExecutorRegistry.getExecutorTrace(runtimeId));
+
+        pipelineExecutorRegistry.register(trace);
+        assertEquals(trace,
+                     pipelineExecutorRegistry.getExecutorTrace(runtimeId));
+
+        pipelineExecutorRegistry.deregister(PIPELINE_EXECUTION_ID);
+        assertNull(pipelineExecutorRegistry.getExecutorTrace(runtimeId));
+    }
+
+    @Test
+    public void getExecutorTraceByRuntimeIdProducedByManyTraces() {
+        RuntimeIdMock runtimeId = mock(RuntimeIdMock.class);
+        when(runtimeId.getId()).thenReturn(RUNTIME_ID);
+
+        PipelineExecutorTask task = mock(PipelineExecutorTask.class);
+        when(task.getOutput()).thenReturn(runtimeId);
+        when(trace.getTask()).thenReturn(task);
+        pipelineExecutorRegistry.register(trace);
+
+        PipelineExecutorTrace otherTrace = mock(PipelineExecutorTrace.class);
+        when(otherTrace.getTaskId()).thenReturn(PIPELINE_EXECUTION_ID + "2");
+        when(otherTrace.getTask()).thenReturn(task);
+        pipelineExecutorRegistry.register(otherTrace);
+
+        pipelineExecutorRegistry.deregister(PIPELINE_EXECUTION_ID + "2");
+        assertEquals(trace,
+                     pipelineExecutorRegistry.getExecutorTrace(runtimeId));
+
+        pipelineExecutorRegistry.register(otherTrace);
+        pipelineExecutorRegistry.deregister(PIPELINE_EXECUTION_ID);
+        assertEquals(otherTrace,
+                     pipelineExecutorRegistry.getExecutorTrace(runtimeId));
+
+        pipelineExecutorRegistry.deregister(PIPELINE_EXECUTION_ID + "2");
+        assertNull(pipelineExecutorRegistry.getExecutorTrace(runtimeId));
+    }
+
     private interface RuntimeIdMock
             extends RuntimeId,
                     RegistrableOutput {
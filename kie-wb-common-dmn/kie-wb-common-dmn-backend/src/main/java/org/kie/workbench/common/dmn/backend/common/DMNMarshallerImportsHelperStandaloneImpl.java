@@ -21,11 +21,14 @@ import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.StringReader;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import javax.enterprise.context.ApplicationScoped;
@@ -33,6 +36,7 @@ import javax.inject.Inject;
 import javax.inject.Named;
 import javax.xml.namespace.QName;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.guvnor.common.services.project.model.WorkspaceProject;
 import org.guvnor.common.services.project.service.WorkspaceProjectService;
 import org.kie.dmn.api.marshalling.DMNMarshaller;
@@ -60,6 +64,9 @@ import static org.kie.workbench.common.dmn.backend.definition.v1_1.ImportedItemD
 @ApplicationScoped
 public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerImportsHelperStandalone {
 
+    private static final int MAX_MODEL_IDENTITIES = Integer.getInteger("org.kie.workbench.dmn.imports.cache.size",
+                                                                       1000);
+
     private final DMNPathsHelper pathsHelper;
 
     private final WorkspaceProjectService projectService;
@@ -74,6 +81,13 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
 
     private final PMMLIncludedDocumentFactory pmmlDocumentFactory;
 
+    /**
+     * Namespace and name of the DMN models, by path, so the models that are not imported are not unmarshalled to
+     * find the ones that are. An entry is read again when the content of its path changes, the least recently used
+     * entries are dropped once the cache is full.
+     */
+    private final Map<String, ModelIdentity> modelIdentities;
+
     public DMNMarshallerImportsHelperStandaloneImpl() {
         this(null, null, null, null, null, null);
     }
@@ -85,12 +99,36 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
                                                     final DMNIOHelper dmnIOHelper,
                                                     final PMMLIncludedDocumentFactory pmmlDocumentFactory,
                                                     final @Named("ioStrategy") IOService ioService) {
+        this(pathsHelper,
+             projectService,
+             marshaller,
+             dmnIOHelper,
+             pmmlDocumentFactory,
+             ioService,
+             MAX_MODEL_IDENTITIES);
+    }
+
+    DMNMarshallerImportsHelperStandaloneImpl(final DMNPathsHelper pathsHelper,
+                                             final WorkspaceProjectService projectService,
+                                             final DMNMarshaller marshaller,
+                                             final DMNIOHelper dmnIOHelper,
+                                             final PMMLIncludedDocumentFactory pmmlDocumentFactory,
+                                             final IOService ioService,
+                                             final int maxModelIdentities) {
         this.pathsHelper = pathsHelper;
         this.projectService = projectService;
         this.marshaller = marshaller;
         this.dmnIOHelper = dmnIOHelper;
         this.pmmlDocumentFactory = pmmlDocumentFactory;
         this.ioService = ioService;
+        this.modelIdentities = Collections.synchronizedMap(new LinkedHashMap<String, ModelIdentity>(16,
+                                                                                                     0.75f,
+                                                                                                     true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, ModelIdentity> eldest) {
+                return size() > maxModelIdentities;
+            }
+        });
     }
 
     @Override
@@ -100,7 +138,7 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
         final Map<Import, Definitions> importDefinitions = new HashMap<>();
 
         if (imports.size() > 0) {
-            for (final Definitions definitions : getOtherDMNDiagramsDefinitions(metadata)) {
+            for (final Definitions definitions : getImportedDMNDiagramsDefinitions(metadata, imports)) {
                 findImportByDefinitions(definitions, imports).ifPresent(anImport -> {
                     importDefinitions.put(anImport, definitions);
                 });
@@ -133,13 +171,16 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
         final Map<Import, String> importXML = new HashMap<>();
 
         if (imports.size() > 0) {
-            for (final String xml : getOtherDMNDiagramsXML(metadata)) {
-                try (final StringReader sr = toStringReader(xml)) {
-                    final Definitions definitions = marshaller.unmarshal(sr);
-                    findImportByDefinitions(definitions, imports).ifPresent(anImport -> {
-                        importXML.put(anImport, xml);
-                    });
+            for (final Path path : getOtherDMNDiagramsPaths(metadata)) {
+                final String xml = loadXML(path);
+                if (xml == null) {
+                    continue;
                 }
+                toDefinitions(path, xml, identity -> isImported(identity, imports))
+                        .flatMap(definitions -> findImportByDefinitions(definitions, imports))
+                        .ifPresent(anImport -> {
+                            importXML.put(anImport, xml);
+                        });
             }
         }
 
@@ -155,7 +196,8 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
 
         for (final Path dmnModelPath : pathsHelper.getDMNModelsPaths(workspaceProject)) {
 
-            final Optional<Definitions> definitions = getDefinitionsByPath(dmnModelPath);
+            final Optional<Definitions> definitions = getDefinitionsByPath(dmnModelPath,
+                                                                           identity -> Objects.equals(identity.namespace, modelNamespace) && Objects.equals(identity.name, modelName));
 
             if (definitions.map(d -> Objects.equals(d.getNamespace(), modelNamespace) && Objects.equals(d.getName(), modelName)).orElse(false)) {
                 return dmnModelPath;
@@ -204,7 +246,7 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
         return pathsHelper
                 .getDMNModelsPaths(workspaceProject)
                 .stream()
-                .map(path -> getDefinitionsByPath(path).orElse(null))
+                .map(path -> getDefinitionsByPath(path, identity -> Objects.equals(identity.namespace, namespace)).orElse(null))
                 .filter(Objects::nonNull)
                 .filter(definitions -> Objects.equals(definitions.getNamespace(), namespace))
                 .findAny();
@@ -309,17 +351,98 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
     }
 
     List<Definitions> getOtherDMNDiagramsDefinitions(final Metadata metadata) {
-        final List<Path> diagramPaths = pathsHelper.getDMNModelsPaths(getProject(metadata));
-        return diagramPaths
+        return getOtherDMNDiagramsDefinitions(metadata,
+                                              identity -> true);
+    }
+
+    List<Definitions> getImportedDMNDiagramsDefinitions(final Metadata metadata,
+                                                        final List<Import> imports) {
+        return getOtherDMNDiagramsDefinitions(metadata,
+                                              identity -> isImported(identity, imports));
+    }
+
+    private List<Definitions> getOtherDMNDiagramsDefinitions(final Metadata metadata,
+                                                             final Predicate<ModelIdentity> mayMatch) {
+        return getOtherDMNDiagramsPaths(metadata)
                 .stream()
-                .filter(path -> !Objects.equals(metadata.getPath(), path))
-                .map(path -> loadPath(path).orElse(null))
-                .filter(Objects::nonNull)
-                .map(this::toDefinitions)
+                .map(path -> getDefinitionsByPath(path, mayMatch).orElse(null))
                 .filter(Objects::nonNull)
                 .collect(Collectors.toList());
     }
 
+    private List<Path> getOtherDMNDiagramsPaths(final Metadata metadata) {
+        return pathsHelper
+                .getDMNModelsPaths(getProject(metadata))
+                .stream()
+                .filter(path -> !Objects.equals(metadata.getPath(), path))
+                .collect(Collectors.toList());
+    }
+
+    private boolean isImported(final ModelIdentity identity,
+                               final List<Import> imports) {
+        return imports.stream().anyMatch(anImport -> Objects.equals(identity.namespace, anImport.getNamespace()));
+    }
+
+    /**
+     * @param mayMatch whether the model is needed, given its namespace and name
+     * @return the definitions of the model of the path, empty when it can't be read or when it is known not to match
+     */
+    private Optional<Definitions> getDefinitionsByPath(final Path path,
+                                                       final Predicate<ModelIdentity> mayMatch) {
+        final String xml = readXML(path);
+        if (xml == null) {
+            return getDefinitionsByPath(path);
+        }
+        return toDefinitions(path,
+                             xml,
+                             mayMatch);
+    }
+
+    /**
+     * Unmarshalls the XML of the model of the path, unless its content is unchanged since it was known not to match.
+     */
+    private Optional<Definitions> toDefinitions(final Path path,
+                                                final String xml,
+                                                final Predicate<ModelIdentity> mayMatch) {
+        final String uri = path.toURI();
+        final String hash = DigestUtils.md5Hex(xml);
+        final ModelIdentity cached = uri == null ? null : modelIdentities.get(uri);
+        if (cached != null && cached.hash.equals(hash) && !mayMatch.test(cached)) {
+            return Optional.empty();
+        }
+
+        final Definitions definitions;
+        try (final StringReader sr = toStringReader(xml)) {
+            definitions = marshaller.unmarshal(sr);
+        }
+        if (definitions != null && uri != null) {
+            modelIdentities.put(uri,
+                                new ModelIdentity(hash,
+                                                  definitions.getNamespace(),
+                                                  definitions.getName()));
+        }
+        return Optional.ofNullable(definitions);
+    }
+
+    private String loadXML(final Path path) {
+        final String xml = readXML(path);
+        if (xml != null) {
+            return xml;
+        }
+        return loadPath(path).map(dmnIOHelper::isAsString).orElse(null);
+    }
+
+    /**
+     * @return the content of the path, null when it can't be read from the IOService
+     */
+    private String readXML(final Path path) {
+        try {
+            return path.toURI() == null ? null : ioService.readAllString(convertPath(path));
+        } catch (final Exception e) {
+            return null;
+        }
+    }
+
     private Definitions toDefinitions(final InputStream inputStream) {
         try (InputStream inputStreamAutoClosable = inputStream;
              InputStreamReader reader = toInputStreamReader(inputStreamAutoClosable)) {
@@ -339,25 +462,13 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
     }
 
     Optional<Definitions> getDefinitionsByPath(final Path dmnModelPath) {
-        return loadPath(dmnModelPath).map(this::toInputStreamReader).map(marshaller::unmarshal);
+        return loadPath(dmnModelPath).map(this::toDefinitions);
     }
 
     StringReader toStringReader(final String xml) {
         return new StringReader(xml);
     }
 
-    private List<String> getOtherDMNDiagramsXML(final Metadata metadata) {
-        final List<Path> diagramPaths = pathsHelper.getDMNModelsPaths(getProject(metadata));
-        return diagramPaths
-                .stream()
-                .filter(path -> !Objects.equals(metadata.getPath(), path))
-                .map(path -> loadPath(path).orElse(null))
-                .filter(Objects::nonNull)
-                .map(dmnIOHelper::isAsString)
-                .filter(Objects::nonNull)
-                .collect(Collectors.toList());
-    }
-
     @Override
     public Optional<InputStream> loadPath(final Path path) {
         try {
@@ -379,4 +490,19 @@ public class DMNMarshallerImportsHelperStandaloneImpl implements DMNMarshallerIm
     org.uberfire.java.nio.file.Path convertPath(final Path path) {
         return Paths.convert(path);
     }
+
+    static class ModelIdentity {
+
+        private final String hash;
+        private final String namespace;
+        private final String name;
+
+        ModelIdentity(final String hash,
+                      final String namespace,
+                      final String name) {
+            this.hash = hash;
+            this.namespace = namespace;
+            this.name = name;
+        }
+    }
 }
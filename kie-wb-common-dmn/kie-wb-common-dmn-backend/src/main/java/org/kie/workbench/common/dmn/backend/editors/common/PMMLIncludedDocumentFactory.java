@@ -16,10 +16,13 @@
 
 package org.kie.workbench.common.dmn.backend.editors.common;
 
+import java.io.ByteArrayInputStream;
 import java.io.InputStream;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
@@ -28,6 +31,7 @@ import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
 import javax.inject.Named;
 
+import org.apache.commons.codec.digest.DigestUtils;
 import org.kie.dmn.core.pmml.PMMLInfo;
 import org.kie.dmn.core.pmml.PMMLModelInfo;
 import org.kie.workbench.common.dmn.api.editors.included.DMNImportTypes;
@@ -42,15 +46,39 @@ import org.uberfire.io.IOService;
 @ApplicationScoped
 public class PMMLIncludedDocumentFactory {
 
+    private static final int MAX_PMML_INFOS = Integer.getInteger("org.kie.workbench.dmn.pmml.cache.size",
+                                                                 500);
+
     private IOService ioService;
 
+    /**
+     * PMML documents read, by path, with the hash of the content they were read from. The least recently used
+     * documents are dropped once the cache is full.
+     */
+    private final Map<String, CachedPMMLInfo> pmmlInfos;
+
     public PMMLIncludedDocumentFactory() {
         //CDI proxy
+        this(null);
     }
 
     @Inject
     public PMMLIncludedDocumentFactory(final @Named("ioStrategy") IOService ioService) {
+        this(ioService,
+             MAX_PMML_INFOS);
+    }
+
+    PMMLIncludedDocumentFactory(final IOService ioService,
+                                final int maxPMMLInfos) {
         this.ioService = ioService;
+        this.pmmlInfos = Collections.synchronizedMap(new LinkedHashMap<String, CachedPMMLInfo>(16,
+                                                                                               0.75f,
+                                                                                               true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, CachedPMMLInfo> eldest) {
+                return size() > maxPMMLInfos;
+            }
+        });
     }
 
     public PMMLDocumentMetadata getDocumentByPath(final Path path) {
@@ -64,13 +92,42 @@ public class PMMLIncludedDocumentFactory {
     }
 
     PMMLInfo<PMMLModelInfo> loadPMMLInfo(final Path path) {
-        try (InputStream io = ioService.newInputStream(Paths.convert(path))) {
+        final byte[] content = readContent(path);
+        if (content != null) {
+            final String hash = DigestUtils.md5Hex(content);
+            final CachedPMMLInfo cached = pmmlInfos.get(path.toURI());
+            if (cached != null && cached.hash.equals(hash)) {
+                return cached.pmmlInfo;
+            }
+            try (InputStream io = new ByteArrayInputStream(content)) {
+                final PMMLInfo<PMMLModelInfo> pmmlInfo = PMMLInfo.from(io);
+                pmmlInfos.put(path.toURI(),
+                              new CachedPMMLInfo(hash,
+                                                 pmmlInfo));
+                return pmmlInfo;
+            } catch (Exception e) {
+                return null;
+            }
+        }
+        try (InputStream io = ioService.newInputStream(convertPath(path))) {
             return PMMLInfo.from(io);
         } catch (Exception e) {
             return null;
         }
     }
 
+    private byte[] readContent(final Path path) {
+        try {
+            return path.toURI() == null ? null : ioService.readAllBytes(convertPath(path));
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    org.uberfire.java.nio.file.Path convertPath(final Path path) {
+        return Paths.convert(path);
+    }
+
     private PMMLDocumentMetadata emptyPMMLDocumentMetadata(final Path path) {
         return new PMMLDocumentMetadata(path.toURI(),
                                         DMNImportTypes.PMML.getDefaultNamespace(),
@@ -117,4 +174,16 @@ public class PMMLIncludedDocumentFactory {
     private PMMLParameterMetadata convertInputFieldName(final String name) {
         return new PMMLParameterMetadata(name);
     }
+
+    private static class CachedPMMLInfo {
+
+        private final String hash;
+        private final PMMLInfo<PMMLModelInfo> pmmlInfo;
+
+        private CachedPMMLInfo(final String hash,
+                               final PMMLInfo<PMMLModelInfo> pmmlInfo) {
+            this.hash = hash;
+            this.pmmlInfo = pmmlInfo;
+        }
+    }
 }
@@ -66,7 +66,9 @@ import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.uberfire.backend.vfs.PathFactory.PathImpl;
@@ -123,7 +125,7 @@ public class DMNMarshallerImportsHelperStandaloneImplTest {
         when(import1.getNamespace()).thenReturn("://namespace1");
         when(import2.getNamespace()).thenReturn("://namespace2-diff");
         when(import3.getNamespace()).thenReturn("://namespace3");
-        doReturn(definitions).when(helper).getOtherDMNDiagramsDefinitions(metadata);
+        doReturn(definitions).when(helper).getImportedDMNDiagramsDefinitions(metadata, imports);
 
         final Map<Import, Definitions> importDefinitions = helper.getImportDefinitions(metadata, imports);
 
@@ -445,6 +447,102 @@ public class DMNMarshallerImportsHelperStandaloneImplTest {
         assertEquals(expectedDefinitions, actualDefinitions);
     }
 
+    @Test
+    public void testGetImportedDMNDiagramsDefinitionsOnlyUnmarshalsImportedModels() {
+
+        final Metadata metadata = mock(Metadata.class);
+        final Import import1 = mock(Import.class);
+        final Path path1 = makePath("../file1.dmn");
+        final Path path2 = makePath("../file2.dmn");
+        final org.uberfire.java.nio.file.Path nioPath1 = mock(org.uberfire.java.nio.file.Path.class);
+        final org.uberfire.java.nio.file.Path nioPath2 = mock(org.uberfire.java.nio.file.Path.class);
+        final Definitions definitions1 = mock(Definitions.class);
+        final Definitions definitions2 = mock(Definitions.class);
+
+        when(pathsHelper.getDMNModelsPaths(any())).thenReturn(asList(path1, path2));
+        doReturn(nioPath1).when(helper).convertPath(path1);
+        doReturn(nioPath2).when(helper).convertPath(path2);
+        when(ioService.readAllString(nioPath1)).thenReturn("<model1/>");
+        when(ioService.readAllString(nioPath2)).thenReturn("<model2/>");
+        when(marshaller.unmarshal(any(java.io.Reader.class))).thenReturn(definitions1, definitions2, definitions1);
+        when(definitions1.getNamespace()).thenReturn("://namespace1");
+        when(definitions2.getNamespace()).thenReturn("://namespace2");
+        when(import1.getNamespace()).thenReturn("://namespace1");
+
+        assertEquals(singletonList(definitions1), helper.getImportedDMNDiagramsDefinitions(metadata, singletonList(import1)));
+        assertEquals(singletonList(definitions1), helper.getImportedDMNDiagramsDefinitions(metadata, singletonList(import1)));
+
+        // both models are read once, then only the imported one is read again
+        verify(marshaller, times(3)).unmarshal(any(java.io.Reader.class));
+        verify(helper, never()).loadPath(any());
+    }
+
+    @Test
+    public void testGetImportedDMNDiagramsDefinitionsWhenModelIdentitiesAreEvicted() {
+
+        helper = spy(new DMNMarshallerImportsHelperStandaloneImpl(pathsHelper,
+                                                                  projectService,
+                                                                  marshaller,
+                                                                  dmnIOHelper,
+                                                                  pmmlDocumentFactory,
+                                                                  ioService,
+                                                                  1));
+
+        final Metadata metadata = mock(Metadata.class);
+        final Import import1 = mock(Import.class);
+        final Path path1 = makePath("../file1.dmn");
+        final Path path2 = makePath("../file2.dmn");
+        final org.uberfire.java.nio.file.Path nioPath1 = mock(org.uberfire.java.nio.file.Path.class);
+        final org.uberfire.java.nio.file.Path nioPath2 = mock(org.uberfire.java.nio.file.Path.class);
+        final Definitions definitions1 = mock(Definitions.class);
+        final Definitions definitions2 = mock(Definitions.class);
+
+        when(pathsHelper.getDMNModelsPaths(any())).thenReturn(asList(path1, path2));
+        doReturn(nioPath1).when(helper).convertPath(path1);
+        doReturn(nioPath2).when(helper).convertPath(path2);
+        when(ioService.readAllString(nioPath1)).thenReturn("<model1/>");
+        when(ioService.readAllString(nioPath2)).thenReturn("<model2/>");
+        when(marshaller.unmarshal(any(java.io.Reader.class))).thenReturn(definitions1, definitions2, definitions1, definitions2);
+        when(definitions1.getNamespace()).thenReturn("://namespace1");
+        when(definitions2.getNamespace()).thenReturn("://namespace2");
+        when(import1.getNamespace()).thenReturn("://namespace1");
+
+        assertEquals(singletonList(definitions1), helper.getImportedDMNDiagramsDefinitions(metadata, singletonList(import1)));
+        assertEquals(singletonList(definitions1), helper.getImportedDMNDiagramsDefinitions(metadata, singletonList(import1)));
+
+        // there is room for the namespace of a single model, so the model that is not imported is read again
+        verify(marshaller, times(4)).unmarshal(any(java.io.Reader.class));
+    }
+
+    @Test
+    public void testGetImportXMLOnlyUnmarshalsImportedModels() {
+
+        final Metadata metadata = mock(Metadata.class);
+        final Import import1 = mock(Import.class);
+        final Path path1 = makePath("../file1.dmn");
+        final Path path2 = makePath("../file2.dmn");
+        final org.uberfire.java.nio.file.Path nioPath1 = mock(org.uberfire.java.nio.file.Path.class);
+        final org.uberfire.java.nio.file.Path nioPath2 = mock(org.uberfire.java.nio.file.Path.class);
+        final Definitions definitions1 = mock(Definitions.class);
+        final Definitions definitions2 = mock(Definitions.class);
+
+        when(pathsHelper.getDMNModelsPaths(any())).thenReturn(asList(path1, path2));
+        doReturn(nioPath1).when(helper).convertPath(path1);
+        doReturn(nioPath2).when(helper).convertPath(path2);
+        when(ioService.readAllString(nioPath1)).thenReturn("<model1/>");
+        when(ioService.readAllString(nioPath2)).thenReturn("<model2/>");
+        when(marshaller.unmarshal(any(java.io.Reader.class))).thenReturn(definitions1, definitions2, definitions1);
+        when(definitions1.getNamespace()).thenReturn("://namespace1");
+        when(definitions2.getNamespace()).thenReturn("://namespace2");
+        when(import1.getNamespace()).thenReturn("://namespace1");
+
+        assertEquals("<model1/>", helper.getImportXML(metadata, singletonList(import1)).get(import1));
+        assertEquals("<model1/>", helper.getImportXML(metadata, singletonList(import1)).get(import1));
+
+        verify(marshaller, times(3)).unmarshal(any(java.io.Reader.class));
+        verify(helper, never()).loadPath(any());
+    }
+
     @Test
     public void testLoadPath() {
 
@@ -16,6 +16,9 @@
 
 package org.kie.workbench.common.dmn.backend.editors.common;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.stream.Collectors;
@@ -155,6 +158,56 @@ public class PMMLIncludedDocumentFactoryTest {
         assertThat(document.getModels()).isEmpty();
     }
 
+    @Test
+    public void testLoadPMMLInfoIsCachedByContent() throws Exception {
+        final Path path = mock(Path.class);
+        final org.uberfire.java.nio.file.Path nioPath = mock(org.uberfire.java.nio.file.Path.class);
+        final byte[] content = makePMMLContent();
+
+        when(path.toURI()).thenReturn(URI);
+        doReturn(nioPath).when(factory).convertPath(path);
+        when(ioService.readAllBytes(nioPath)).thenReturn(content);
+
+        final PMMLInfo<PMMLModelInfo> pmmlInfo = factory.loadPMMLInfo(path);
+
+        assertThat(pmmlInfo).isNotNull();
+        assertThat(factory.loadPMMLInfo(path)).isSameAs(pmmlInfo);
+
+        when(ioService.readAllBytes(nioPath)).thenReturn((new String(content, StandardCharsets.UTF_8) + "\n").getBytes(StandardCharsets.UTF_8));
+
+        assertThat(factory.loadPMMLInfo(path)).isNotNull().isNotSameAs(pmmlInfo);
+    }
+
+    @Test
+    public void testLoadPMMLInfoWhenCachedDocumentsAreEvicted() throws Exception {
+        factory = spy(new PMMLIncludedDocumentFactory(ioService,
+                                                      1));
+
+        final Path path1 = mock(Path.class);
+        final Path path2 = mock(Path.class);
+        final org.uberfire.java.nio.file.Path nioPath1 = mock(org.uberfire.java.nio.file.Path.class);
+        final org.uberfire.java.nio.file.Path nioPath2 = mock(org.uberfire.java.nio.file.Path.class);
+        final byte[] content = makePMMLContent();
+
+        when(path1.toURI()).thenReturn(URI + "1");
+        when(path2.toURI()).thenReturn(URI + "2");
+        doReturn(nioPath1).when(factory).convertPath(path1);
+        doReturn(nioPath2).when(factory).convertPath(path2);
+        when(ioService.readAllBytes(nioPath1)).thenReturn(content);
+        when(ioService.readAllBytes(nioPath2)).thenReturn(content);
+
+        final PMMLInfo<PMMLModelInfo> pmmlInfo1 = factory.loadPMMLInfo(path1);
+        final PMMLInfo<PMMLModelInfo> pmmlInfo2 = factory.loadPMMLInfo(path2);
+
+        assertThat(pmmlInfo1).isNotNull();
+        assertThat(factory.loadPMMLInfo(path2)).isSameAs(pmmlInfo2);
+        assertThat(factory.loadPMMLInfo(path1)).isNotNull().isNotSameAs(pmmlInfo1);
+    }
+
+    private byte[] makePMMLContent() throws Exception {
+        return Files.readAllBytes(Paths.get(getClass().getResource("/simple-pmml.pmml").toURI()));
+    }
+
     private PMMLInfo<PMMLModelInfo> makePMMLInfo() {
         return new PMMLInfo<>(Collections.singletonList(makePMMLModelInfo()),
                               new PMMLInfo.PMMLHeaderInfo(NAMESPACE,
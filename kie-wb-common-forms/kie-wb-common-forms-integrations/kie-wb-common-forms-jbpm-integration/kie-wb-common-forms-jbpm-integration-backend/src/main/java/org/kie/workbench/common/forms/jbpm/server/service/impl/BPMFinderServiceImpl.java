@@ -35,12 +35,16 @@ import org.eclipse.bpmn2.DocumentRoot;
 import org.eclipse.bpmn2.Process;
 import org.eclipse.bpmn2.util.Bpmn2ResourceFactoryImpl;
 import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
 import org.eclipse.emf.ecore.resource.Resource;
 import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceFactoryRegistryImpl;
 import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLParserPool;
 import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
 import org.jboss.drools.DroolsPackage;
-import org.jboss.drools.util.DroolsResourceFactoryImpl;
 import org.jboss.errai.bus.server.annotations.Service;
 import org.kie.api.io.ResourceType;
 import org.kie.workbench.common.forms.jbpm.model.authoring.JBPMProcessModel;
@@ -62,6 +66,14 @@ public class BPMFinderServiceImpl implements BPMFinderService {
 
     private static final Logger logger = LoggerFactory.getLogger(BPMFinderServiceImpl.class);
 
+    // shared by every parse: the registries are only read once created and the parser pool is thread safe. EMF writes
+    // into the package registry of a resource set, so each set gets a registry of its own delegating to the shared one
+    private static final XMLParserPool PARSER_POOL = new XMLParserPoolImpl();
+
+    private static final EPackage.Registry PACKAGE_REGISTRY = createPackageRegistry();
+
+    private static final Resource.Factory.Registry RESOURCE_FACTORY_REGISTRY = createResourceFactoryRegistry();
+
     private IOService ioService;
 
     private KieModuleService moduleService;
@@ -124,26 +136,34 @@ public class BPMFinderServiceImpl implements BPMFinderService {
         return new JBPMProcessModel(processFormModel, taskModels);
     }
 
+    private static EPackage.Registry createPackageRegistry() {
+        EPackage.Registry registry = new EPackageRegistryImpl(EPackage.Registry.INSTANCE);
+        registry.put(DroolsPackage.eNS_URI,
+                     DroolsPackage.eINSTANCE);
+        registry.put("http://www.omg.org/spec/BPMN/20100524/MODEL",
+                     Bpmn2Package.eINSTANCE);
+        return registry;
+    }
+
+    private static Resource.Factory.Registry createResourceFactoryRegistry() {
+        Resource.Factory.Registry registry = new ResourceFactoryRegistryImpl();
+        registry.getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION,
+                                                new Bpmn2ResourceFactoryImpl());
+        return registry;
+    }
+
     private Definitions toDefinitions(final InputStream in) {
         try {
             ResourceSet resourceSet = new ResourceSetImpl();
-
-            resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap().put
-                    (Resource.Factory.Registry.DEFAULT_EXTENSION,
-                     new DroolsResourceFactoryImpl());
-            resourceSet.getPackageRegistry().put
-                    (DroolsPackage.eNS_URI,
-                     DroolsPackage.eINSTANCE);
-            resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap()
-                    .put(Resource.Factory.Registry.DEFAULT_EXTENSION,
-                         new Bpmn2ResourceFactoryImpl());
-            resourceSet.getPackageRegistry().put("http://www.omg.org/spec/BPMN/20100524/MODEL",
-                                                 Bpmn2Package.eINSTANCE);
+            resourceSet.setPackageRegistry(new EPackageRegistryImpl(PACKAGE_REGISTRY));
+            resourceSet.setResourceFactoryRegistry(RESOURCE_FACTORY_REGISTRY);
 
             XMLResource outResource = (XMLResource) resourceSet.createResource(URI.createURI(
                     "inputStream://dummyUriWithValidSuffix.xml"));
             outResource.getDefaultLoadOptions().put(XMLResource.OPTION_ENCODING,
                                                     "UTF-8");
+            outResource.getDefaultLoadOptions().put(XMLResource.OPTION_USE_PARSER_POOL,
+                                                    PARSER_POOL);
             outResource.setEncoding("UTF-8");
 
             Map<String, Object> options = new HashMap<String, Object>();
@@ -17,7 +17,10 @@ package org.kie.workbench.common.screens.impl;
 
 import static java.lang.String.format;
 
+import java.util.Collection;
 import java.util.Optional;
+import java.util.OptionalInt;
+import java.util.function.Supplier;
 
 import javax.enterprise.context.Dependent;
 import javax.inject.Inject;
@@ -38,16 +41,18 @@ public class IndexStatusOracle {
 
     private final Logger logger;
     private final MetaIndexEngine indexEngine;
+    private final LibraryAssetCounter assetCounter;
 
     // Proxying
     public IndexStatusOracle() {
-        this(null, null);
+        this(null, null, null);
     }
 
     @Inject
-    public IndexStatusOracle(MetadataConfig config, Logger logger) {
+    public IndexStatusOracle(MetadataConfig config, Logger logger, LibraryAssetCounter assetCounter) {
         this.logger = logger;
         this.indexEngine = config.getIndexEngine();
+        this.assetCounter = assetCounter;
     }
 
     public boolean isIndexed(WorkspaceProject project) {
@@ -57,6 +62,18 @@ public class IndexStatusOracle {
                         .orElse(false);
     }
 
+    public OptionalInt getNumberOfAssets(WorkspaceProject project) {
+        if (!isIndexed(project)) {
+            return OptionalInt.empty();
+        }
+
+        return assetCounter.getNumberOfAssets(project.getRootPath().toURI());
+    }
+
+    public int reconcileNumberOfAssets(WorkspaceProject project, Supplier<Collection<String>> indexedAssets) {
+        return assetCounter.reconcile(project.getRootPath().toURI(), indexedAssets);
+    }
+
     private Optional<KCluster> kClusterOf(WorkspaceProject project) {
         try {
             Path rootPath = Paths.convert(project.getRootPath());
@@ -0,0 +1,197 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.impl;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+import javax.enterprise.context.ApplicationScoped;
+import javax.enterprise.event.Observes;
+import javax.inject.Named;
+
+import org.kie.workbench.common.screens.library.api.index.Constants;
+import org.kie.workbench.common.services.refactoring.model.index.events.IndexingFinishedEvent;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.ext.metadata.event.BatchIndexEvent;
+import org.uberfire.ext.metadata.event.IndexEvent;
+import org.uberfire.ext.metadata.event.IndexEvent.DeletedEvent;
+import org.uberfire.ext.metadata.event.IndexEvent.NewlyIndexedEvent;
+import org.uberfire.ext.metadata.event.IndexEvent.RenamedEvent;
+
+/**
+ * Number of assets indexed by the {@link LibraryIndexer} for each repository root, kept up to date with the events of
+ * the library index so the library screens don't query the whole index of a project to count its assets.
+ * A counter is reconciled with the index the first time it is read and every time a batch indexing of its repository
+ * finishes; the changes indexed while it is reconciled are replayed on top of the indexed assets.
+ */
+@ApplicationScoped
+public class LibraryAssetCounter {
+
+    private final ConcurrentMap<String, Counter> counters = new ConcurrentHashMap<>();
+
+    public void onBatchIndexEvent(@Observes @Named(Constants.INDEXER_ID) final BatchIndexEvent event) {
+        for (IndexEvent indexEvent : event.getIndexEvents()) {
+            switch (indexEvent.getKind()) {
+                case Deleted:
+                    remove(((DeletedEvent) indexEvent).getDeleted().getKey());
+                    break;
+                case NewlyIndexed:
+                    add(((NewlyIndexedEvent) indexEvent).getKObject().getKey());
+                    break;
+                case Renamed:
+                    remove(((RenamedEvent) indexEvent).getSource().getKey());
+                    add(((RenamedEvent) indexEvent).getTarget().getKey());
+                    break;
+                default:
+                    break;
+            }
+        }
+    }
+
+    public void onIndexingFinishedEvent(@Observes final IndexingFinishedEvent event) {
+        invalidate(LibraryIndexer.getRootBackendPath(Paths.convert(event.getPath())));
+    }
+
+    /**
+     * @return the number of assets of the repository root, empty when the counter has to be reconciled first
+     */
+    public OptionalInt getNumberOfAssets(final String rootPath) {
+        final Counter counter = counters.get(rootPath);
+        if (counter == null) {
+            return OptionalInt.empty();
+        }
+        synchronized (counter) {
+            return counter.reconciled ? OptionalInt.of(counter.keys.size()) : OptionalInt.empty();
+        }
+    }
+
+    /**
+     * Replaces the assets counted for the repository root by the ones of the index.
+     * @param indexedKeys keys of the assets of the repository root in the library index
+     * @return the number of assets of the repository root
+     */
+    public int reconcile(final String rootPath,
+                         final Supplier<Collection<String>> indexedKeys) {
+        final Counter counter = counters.computeIfAbsent(rootPath,
+                                                         root -> new Counter());
+        final int generation;
+        final int journalStart;
+        synchronized (counter) {
+            generation = counter.generation;
+            journalStart = counter.journal.size();
+            counter.reconciling++;
+        }
+
+        Collection<String> keys = null;
+        try {
+            keys = indexedKeys.get();
+        } finally {
+            synchronized (counter) {
+                if (keys != null) {
+                    counter.keys = new HashSet<>(keys);
+                    for (Change change : counter.journal.subList(journalStart,
+                                                                 counter.journal.size())) {
+                        change.apply(counter.keys);
+                    }
+                    counter.reconciled = generation == counter.generation;
+                }
+                if (--counter.reconciling == 0) {
+                    counter.journal.clear();
+                }
+            }
+        }
+        synchronized (counter) {
+            return counter.keys.size();
+        }
+    }
+
+    void invalidate(final String rootPath) {
+        final Counter counter = counters.get(rootPath);
+        if (counter != null) {
+            synchronized (counter) {
+                counter.generation++;
+                counter.reconciled = false;
+            }
+        }
+    }
+
+    String getRootPath(final String key) {
+        return LibraryIndexer.getRootBackendPath(org.uberfire.java.nio.file.Paths.get(key));
+    }
+
+    private void add(final String key) {
+        record(key,
+               true);
+    }
+
+    private void remove(final String key) {
+        record(key,
+               false);
+    }
+
+    private void record(final String key,
+                        final boolean added) {
+        final Counter counter = counters.get(getRootPath(key));
+        if (counter == null) {
+            return;
+        }
+        final Change change = new Change(key,
+                                         added);
+        synchronized (counter) {
+            change.apply(counter.keys);
+            if (counter.reconciling > 0) {
+                counter.journal.add(change);
+            }
+        }
+    }
+
+    private static class Counter {
+
+        private Set<String> keys = new HashSet<>();
+        private final List<Change> journal = new ArrayList<>();
+        private boolean reconciled;
+        private int reconciling;
+        private int generation;
+    }
+
+    private static class Change {
+
+        private final String key;
+        private final boolean added;
+
+        private Change(final String key,
+                       final boolean added) {
+            this.key = key;
+            this.added = added;
+        }
+
+        private void apply(final Set<String> keys) {
+            if (added) {
+                keys.add(key);
+            } else {
+                keys.remove(key);
+            }
+        }
+    }
+}
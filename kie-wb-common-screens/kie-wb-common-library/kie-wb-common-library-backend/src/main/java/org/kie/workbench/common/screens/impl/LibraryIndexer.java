@@ -118,7 +118,7 @@ public class LibraryIndexer extends AbstractFileIndexer {
         return builder;
     }
 
-    private String getRootBackendPath(final Path path) {
+    static String getRootBackendPath(final Path path) {
         Path root = path;
         while (root.getParent() != null) {
             root = root.getParent();
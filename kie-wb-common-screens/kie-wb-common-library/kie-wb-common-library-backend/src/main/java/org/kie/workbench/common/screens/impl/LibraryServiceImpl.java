@@ -24,6 +24,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalInt;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -525,9 +526,23 @@ public class LibraryServiceImpl implements LibraryService {
 
     @Override
     public int getNumberOfAssets(final WorkspaceProject module) {
+        final OptionalInt numberOfAssets = indexOracle.getNumberOfAssets(module);
+        if (numberOfAssets.isPresent()) {
+            return numberOfAssets.getAsInt();
+        }
+
         final HashSet<ValueIndexTerm> queryTerms = new HashSet<>();
         queryTerms.add(new LibraryValueRepositoryRootIndexTerm(module.getRootPath().toURI()));
 
+        if (indexOracle.isIndexed(module)) {
+            return indexOracle.reconcileNumberOfAssets(module,
+                                                       () -> refactoringQueryService.query(FindAllLibraryAssetsQuery.NAME,
+                                                                                           queryTerms)
+                                                               .stream()
+                                                               .map(row -> ((Path) row.getValue()).toURI())
+                                                               .collect(Collectors.toSet()));
+        }
+
         return refactoringQueryService.queryHitCount(new RefactoringPageRequest(FindAllLibraryAssetsQuery.NAME,
                                                                                 queryTerms,
                                                                                 0,
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.impl;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.OptionalInt;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.uberfire.ext.metadata.event.BatchIndexEvent;
+import org.uberfire.ext.metadata.event.IndexEvent;
+import org.uberfire.ext.metadata.event.IndexEvent.DeletedEvent;
+import org.uberfire.ext.metadata.event.IndexEvent.NewlyIndexedEvent;
+import org.uberfire.ext.metadata.model.KObject;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+
+public class LibraryAssetCounterTest {
+
+    private static final String ROOT = "default://master@space/repo/";
+
+    private LibraryAssetCounter counter;
+
+    @Before
+    public void setUp() {
+        counter = new LibraryAssetCounter() {
+            @Override
+            String getRootPath(final String key) {
+                return ROOT;
+            }
+        };
+    }
+
+    @Test
+    public void testCounterIsReconciledBeforeBeingRead() {
+        assertFalse(counter.getNumberOfAssets(ROOT).isPresent());
+
+        assertEquals(2,
+                     counter.reconcile(ROOT,
+                                       () -> Arrays.asList(ROOT + "a.drl",
+                                                           ROOT + "b.drl")));
+        assertEquals(OptionalInt.of(2),
+                     counter.getNumberOfAssets(ROOT));
+    }
+
+    @Test
+    public void testCounterFollowsTheIndexEvents() {
+        counter.reconcile(ROOT,
+                          () -> Arrays.asList(ROOT + "a.drl",
+                                              ROOT + "b.drl"));
+
+        counter.onBatchIndexEvent(batch(new NewlyIndexedEvent(kObject(ROOT + "c.drl")),
+                                        new NewlyIndexedEvent(kObject(ROOT + "a.drl")),
+                                        new DeletedEvent(kObject(ROOT + "b.drl"))));
+
+        assertEquals(OptionalInt.of(2),
+                     counter.getNumberOfAssets(ROOT));
+    }
+
+    @Test
+    public void testChangesIndexedWhileReconcilingAreReplayed() {
+        assertEquals(0,
+                     counter.reconcile(ROOT,
+                                       () -> Collections.emptyList()));
+
+        assertEquals(2,
+                     counter.reconcile(ROOT,
+                                       () -> {
+                                           counter.onBatchIndexEvent(batch(new NewlyIndexedEvent(kObject(ROOT + "b.drl"))));
+                                           return Collections.singletonList(ROOT + "a.drl");
+                                       }));
+    }
+
+    @Test
+    public void testCounterIsInvalidatedByABatchIndexing() {
+        counter.reconcile(ROOT,
+                          () -> Collections.singletonList(ROOT + "a.drl"));
+
+        counter.invalidate(ROOT);
+
+        assertFalse(counter.getNumberOfAssets(ROOT).isPresent());
+    }
+
+    private BatchIndexEvent batch(final IndexEvent... events) {
+        final List<IndexEvent> indexEvents = Arrays.asList(events);
+        final BatchIndexEvent event = mock(BatchIndexEvent.class);
+        doReturn(indexEvents).when(event).getIndexEvents();
+        return event;
+    }
+
+    private KObject kObject(final String key) {
+        final KObject kObject = mock(KObject.class);
+        doReturn(key).when(kObject).getKey();
+        return kObject;
+    }
+}
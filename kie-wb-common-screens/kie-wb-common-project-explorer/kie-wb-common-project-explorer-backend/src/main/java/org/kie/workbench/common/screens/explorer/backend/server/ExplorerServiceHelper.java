@@ -18,10 +18,14 @@ package org.kie.workbench.common.screens.explorer.backend.server;
 
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutorService;
+import java.util.function.Supplier;
 import javax.inject.Inject;
 import javax.inject.Named;
 
@@ -48,6 +52,7 @@ import org.uberfire.backend.server.UserServicesImpl;
 import org.uberfire.backend.server.VFSLockServiceImpl;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.impl.LockInfo;
 import org.uberfire.commons.async.DescriptiveRunnable;
 import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.ext.editor.commons.service.CopyService;
@@ -62,7 +67,9 @@ import static java.util.Collections.emptyList;
 public class ExplorerServiceHelper {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(ExplorerServiceHelper.class);
+
     private ExecutorService executorService;
+    private NavigationStateStore navigationStateStore;
 
     private LinkedDotFileFilter dotFileFilter = new LinkedDotFileFilter();
     private LinkedRegularFileFilter regularFileFilter = new LinkedRegularFileFilter(dotFileFilter);
@@ -96,6 +103,7 @@ public class ExplorerServiceHelper {
                                  final DeleteService deleteService,
                                  final RenameService renameService,
                                  final CopyService copyService,
+                                 final NavigationStateStore navigationStateStore,
                                  @Managed final ExecutorService executorService) {
         this();
         this.moduleService = moduleService;
@@ -108,6 +116,7 @@ public class ExplorerServiceHelper {
         this.deleteService = deleteService;
         this.renameService = renameService;
         this.copyService = copyService;
+        this.navigationStateStore = navigationStateStore;
         this.executorService = executorService;
     }
 
@@ -201,12 +210,14 @@ public class ExplorerServiceHelper {
             nioPath = nioPath.getParent();
         }
         final Path basePath = Paths.convert(nioPath);
+        final Map<String, String> lockedByFile = getLockedBy(basePath);
+        Collection<LockInfo> otherUsersLocks = null;
         final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream(nioPath,
                                                                                                        dotFileFilter);
         for (org.uberfire.java.nio.file.Path np : nioPaths) {
             if (Files.isRegularFile(np)) {
                 final org.uberfire.backend.vfs.Path p = Paths.convert(np);
-                final String lockedBy = Paths.readLockedBy(p);
+                final String lockedBy = lockedByFile.get(p.toURI());
                 final FolderItem folderItem = new FolderItem(p,
                                                              p.getFileName(),
                                                              FolderItemType.FILE,
@@ -217,8 +228,12 @@ public class ExplorerServiceHelper {
                 folderItems.add(folderItem);
             } else if (Files.isDirectory(np)) {
                 final org.uberfire.backend.vfs.Path p = Paths.convert(np);
-                boolean lockedItems = !lockService.retrieveLockInfos(Paths.convert(np),
-                                                                     true).isEmpty();
+                if (otherUsersLocks == null) {
+                    otherUsersLocks = lockedByFile.isEmpty() ? Collections.emptyList() : lockService.retrieveLockInfos(basePath,
+                                                                                                                         true);
+                }
+                boolean lockedItems = hasLocks(p,
+                                               otherUsersLocks);
                 final FolderItem folderItem = new FolderItem(p,
                                                              p.getFileName(),
                                                              FolderItemType.FOLDER,
@@ -325,6 +340,7 @@ public class ExplorerServiceHelper {
         final boolean includeTags = options.contains(Option.SHOW_TAG_FILTER);
         final org.uberfire.java.nio.file.Path nioPackagePath = Paths.convert(packagePath);
         if (Files.exists(nioPackagePath)) {
+            final Map<String, String> lockedByFile = getLockedBy(packagePath);
             final DirectoryStream<org.uberfire.java.nio.file.Path> nioPaths = ioService.newDirectoryStream(nioPackagePath,
                                                                                                            regularFileFilter);
             for (org.uberfire.java.nio.file.Path nioPath : nioPaths) {
@@ -333,7 +349,7 @@ public class ExplorerServiceHelper {
                     continue;
                 }
 
-                final String lockedBy = Paths.readLockedBy(path);
+                final String lockedBy = lockedByFile.get(path.toURI());
                 final FolderItem folderItem = new FolderItem(path,
                                                              path.getFileName(),
                                                              FolderItemType.FILE,
@@ -400,68 +416,31 @@ public class ExplorerServiceHelper {
                       final Package pkg,
                       final FolderItem item,
                       final ActiveOptions options) {
-        final UserExplorerData content;
-        final UserExplorerData _content = loadUserContent(userNav);
-        if (_content == null) {
-            content = new UserExplorerData();
-        } else {
-            content = _content;
-        }
-        final UserExplorerLastData lastContent = new UserExplorerLastData();
-        if (project != null) {
-            content.addRepository(project.getOrganizationalUnit(),
-                                  project.getRepository());
-        }
-        if (module != null && project != null) {
-            content.addModule(project.getOrganizationalUnit(),
-                              project.getRepository(),
-                              module);
-        }
-        if (item != null && project != null && project.getBranch() != null && module != null) {
-            lastContent.setFolderItem(project.getRepository(),
-                                      project.getBranch().getName(),
-                                      module,
-                                      item);
-            content.addFolderItem(project.getOrganizationalUnit(),
-                                  project.getRepository(),
-                                  module,
-                                  item);
-        }
-        if (pkg != null && project != null && project.getBranch() != null && module != null) {
-            lastContent.setPackage(project.getRepository(),
-                                   project.getBranch().getName(),
+        navigationStateStore.store(userNav,
+                                   lastUserNav,
+                                   project,
                                    module,
-                                   pkg);
-            content.addPackage(project.getOrganizationalUnit(),
-                               project.getRepository(),
-                               module,
-                               pkg);
-        }
-        if (options != null && !options.isEmpty()) {
-            lastContent.setOptions(options);
-        }
-        if (!content.isEmpty()) {
-            try {
-                ioServiceConfig.startBatch(userNav.getFileSystem());
-                ioServiceConfig.write(userNav,
-                                      xs.toXML(content));
-                ioServiceConfig.write(lastUserNav,
-                                      xs.toXML(lastContent));
-            } finally {
-                ioServiceConfig.endBatch();
-            }
-        }
+                                   pkg,
+                                   item,
+                                   options);
+    }
+
+    public void flushNavigation(final org.uberfire.java.nio.file.Path userNav) {
+        navigationStateStore.flushNavigation(userNav);
+    }
+
+    /**
+     * Runs an update of the navigation files of a user, serialized with the writes of the navigation states.
+     */
+    public <T> T updateNavigation(final org.uberfire.java.nio.file.Path userNav,
+                                  final Supplier<T> update) {
+        return navigationStateStore.update(userNav,
+                                           update);
     }
 
     public UserExplorerData loadUserContent(final org.uberfire.java.nio.file.Path path) {
-        try {
-            if (ioServiceConfig.exists(path)) {
-                final String xml = ioServiceConfig.readAllString(path);
-                return (UserExplorerData) xs.fromXML(xml);
-            }
-        } catch (final Exception ignored) {
-        }
-        return null;
+        flushNavigation(path);
+        return navigationStateStore.readUserContent(path);
     }
 
     public UserExplorerData loadUserContent() {
@@ -486,6 +465,7 @@ public class ExplorerServiceHelper {
     }
 
     public UserExplorerLastData getLastContent(final org.uberfire.java.nio.file.Path path) {
+        flushNavigation(path.resolveSibling("user.nav"));
         try {
             if (ioServiceConfig.exists(path)) {
                 final String xml = ioServiceConfig.readAllString(path);
@@ -496,6 +476,31 @@ public class ExplorerServiceHelper {
         return null;
     }
 
+    /**
+     * Users locking the files under a folder, by URI of the locked file. The lock store is scanned once for the whole
+     * folder instead of reading the lock of each file listed.
+     */
+    Map<String, String> getLockedBy(final Path folderPath) {
+        final Map<String, String> lockedBy = new HashMap<>();
+        for (LockInfo lockInfo : lockService.retrieveLockInfos(folderPath,
+                                                               false)) {
+            lockedBy.put(lockInfo.getFile().toURI(),
+                         lockInfo.lockedBy());
+        }
+        return lockedBy;
+    }
+
+    private boolean hasLocks(final Path folderPath,
+                             final Collection<LockInfo> lockInfos) {
+        final String folderUri = folderPath.toURI().endsWith("/") ? folderPath.toURI() : folderPath.toURI() + "/";
+        for (LockInfo lockInfo : lockInfos) {
+            if (lockInfo.getFile().toURI().startsWith(folderUri)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     public List<FolderItemOperation> getRestrictedOperations(final Path path) {
         final List<FolderItemOperation> restrictedOperations = new ArrayList<FolderItemOperation>();
 
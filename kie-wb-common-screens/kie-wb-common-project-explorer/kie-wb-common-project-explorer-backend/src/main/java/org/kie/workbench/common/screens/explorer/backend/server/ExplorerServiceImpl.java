@@ -339,24 +339,33 @@ public class ExplorerServiceImpl
                                                                                                          "user.nav");
         WorkspaceProject project = projectService.resolveProject(module.getRootPath());
         spaceConfigStorageRegistry.getBatch(project.getSpace().getName()).run(context -> {
+            //A navigation state recorded meanwhile is written before the cleanup, never over it
             for (org.uberfire.java.nio.file.Path path : userNavs) {
-                final UserExplorerData userContent = helper.loadUserContent(path);
-                if (userContent != null) {
-                    if (userContent.deleteModule(module)) {
-                        ioServiceConfig.write(path,
-                                              xs.toXML(userContent));
-                    }
-                }
+                helper.updateNavigation(path,
+                                        () -> {
+                                            final UserExplorerData userContent = helper.loadUserContent(path);
+                                            if (userContent != null) {
+                                                if (userContent.deleteModule(module)) {
+                                                    ioServiceConfig.write(path,
+                                                                          xs.toXML(userContent));
+                                                }
+                                            }
+                                            return null;
+                                        });
             }
 
             for (org.uberfire.java.nio.file.Path lastNav : lastNavs) {
-                final UserExplorerLastData lastUserContent = helper.getLastContent(lastNav);
-                if (lastUserContent != null) {
-                    if (lastUserContent.deleteModule(module)) {
-                        ioServiceConfig.write(lastNav,
-                                              xs.toXML(lastUserContent));
-                    }
-                }
+                helper.updateNavigation(lastNav.resolveSibling("user.nav"),
+                                        () -> {
+                                            final UserExplorerLastData lastUserContent = helper.getLastContent(lastNav);
+                                            if (lastUserContent != null) {
+                                                if (lastUserContent.deleteModule(module)) {
+                                                    ioServiceConfig.write(lastNav,
+                                                                          xs.toXML(lastUserContent));
+                                                }
+                                            }
+                                            return null;
+                                        });
             }
             return null;
         });
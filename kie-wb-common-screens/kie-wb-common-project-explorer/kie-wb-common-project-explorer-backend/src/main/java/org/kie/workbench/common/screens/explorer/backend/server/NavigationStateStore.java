@@ -0,0 +1,342 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.screens.explorer.backend.server;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Supplier;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+import javax.inject.Inject;
+import javax.inject.Named;
+
+import com.thoughtworks.xstream.XStream;
+import org.guvnor.common.services.project.model.Module;
+import org.guvnor.common.services.project.model.Package;
+import org.guvnor.common.services.project.model.WorkspaceProject;
+import org.kie.soup.xstream.XStreamUtils;
+import org.kie.workbench.common.screens.explorer.model.FolderItem;
+import org.kie.workbench.common.screens.explorer.service.ActiveOptions;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.commons.concurrent.Managed;
+import org.uberfire.io.IOService;
+
+/**
+ * Navigation states of the users recorded and not written yet. The states recorded in a row are merged in memory and
+ * written at most once per {@link #NAVIGATION_STORE_DELAY} milliseconds, as every write is a commit in the config
+ * repository. The reads and writes of the navigation files of a user are serialized by a lock of the user.
+ */
+@ApplicationScoped
+public class NavigationStateStore {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NavigationStateStore.class);
+
+    static final long NAVIGATION_STORE_DELAY = Long.getLong("org.kie.workbench.explorer.navigation.store.delay",
+                                                            2000L);
+
+    private final ConcurrentMap<String, PendingNavigation> pendingNavigations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Object> userLocks = new ConcurrentHashMap<>();
+    private final AtomicBoolean flusherRunning = new AtomicBoolean();
+
+    private IOService ioServiceConfig;
+    private ExecutorService executorService;
+    private XStream xs;
+
+    public NavigationStateStore() {
+        //CDI proxies
+        xs = XStreamUtils.createTrustingXStream();
+    }
+
+    @Inject
+    public NavigationStateStore(@Named("configIO") final IOService ioServiceConfig,
+                                @Managed final ExecutorService executorService) {
+        this();
+        this.ioServiceConfig = ioServiceConfig;
+        this.executorService = executorService;
+    }
+
+    public void store(final org.uberfire.java.nio.file.Path userNav,
+                      final org.uberfire.java.nio.file.Path lastUserNav,
+                      final WorkspaceProject project,
+                      final Module module,
+                      final Package pkg,
+                      final FolderItem item,
+                      final ActiveOptions options) {
+        final NavigationState state = new NavigationState(project,
+                                                          module,
+                                                          pkg,
+                                                          item,
+                                                          options);
+        if (NAVIGATION_STORE_DELAY <= 0) {
+            final PendingNavigation navigation = new PendingNavigation(userNav,
+                                                                       lastUserNav,
+                                                                       System.currentTimeMillis());
+            navigation.states.add(state);
+            synchronized (userLock(userNav)) {
+                write(navigation);
+            }
+            return;
+        }
+
+        //The user content is read when the navigation is written, no I/O is done while the entry is locked
+        final AtomicBoolean recorded = new AtomicBoolean();
+        pendingNavigations.compute(key(userNav),
+                                   (key, pending) -> {
+                                       final PendingNavigation navigation;
+                                       if (pending == null || pending.writing) {
+                                           navigation = new PendingNavigation(userNav,
+                                                                              lastUserNav,
+                                                                              System.currentTimeMillis() + NAVIGATION_STORE_DELAY);
+                                           recorded.set(true);
+                                       } else {
+                                           navigation = pending;
+                                       }
+                                       navigation.states.add(state);
+                                       return navigation;
+                                   });
+        if (recorded.get()) {
+            startNavigationFlusher();
+        }
+    }
+
+    /**
+     * Writes the navigation state of the user recorded since the last write, if any. The navigation of a user stays
+     * recorded until it is written, so a flush finding none has no write in progress to wait for.
+     */
+    public void flushNavigation(final org.uberfire.java.nio.file.Path userNav) {
+        final String key = key(userNav);
+        if (!pendingNavigations.containsKey(key)) {
+            return;
+        }
+        synchronized (userLock(userNav)) {
+            final PendingNavigation navigation = pendingNavigations.computeIfPresent(key,
+                                                                                    (k, pending) -> {
+                                                                                        pending.writing = true;
+                                                                                        return pending;
+                                                                                    });
+            if (navigation != null) {
+                try {
+                    write(navigation);
+                } catch (final Exception e) {
+                    LOGGER.error("Can't serialize user's state navigation",
+                                 e);
+                } finally {
+                    pendingNavigations.remove(key,
+                                              navigation);
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs an update of the navigation files of a user, with the navigation recorded so far written and no other
+     * navigation written meanwhile.
+     */
+    public <T> T update(final org.uberfire.java.nio.file.Path userNav,
+                        final Supplier<T> update) {
+        synchronized (userLock(userNav)) {
+            flushNavigation(userNav);
+            return update.get();
+        }
+    }
+
+    /**
+     * Writes the navigation states recorded and not written yet.
+     */
+    @PreDestroy
+    public void flushNavigations() {
+        for (PendingNavigation navigation : new ArrayList<>(pendingNavigations.values())) {
+            flushNavigation(navigation.userNav);
+        }
+    }
+
+    public UserExplorerData readUserContent(final org.uberfire.java.nio.file.Path path) {
+        try {
+            if (ioServiceConfig.exists(path)) {
+                final String xml = ioServiceConfig.readAllString(path);
+                return (UserExplorerData) xs.fromXML(xml);
+            }
+        } catch (final Exception ignored) {
+        }
+        return null;
+    }
+
+    private void startNavigationFlusher() {
+        if (flusherRunning.compareAndSet(false,
+                                         true)) {
+            try {
+                executorService.execute(this::flushDueNavigations);
+            } catch (final RejectedExecutionException e) {
+                flusherRunning.set(false);
+                flushNavigations();
+            }
+        }
+    }
+
+    /**
+     * Writes the navigation states as they become due, while there are navigation states recorded. A single task runs
+     * at a time, sleeping until the next navigation state is due.
+     */
+    private void flushDueNavigations() {
+        try {
+            while (true) {
+                final long now = System.currentTimeMillis();
+                long nextDueAt = Long.MAX_VALUE;
+                for (PendingNavigation navigation : new ArrayList<>(pendingNavigations.values())) {
+                    if (navigation.writing) {
+                        continue;
+                    }
+                    if (navigation.dueAt <= now) {
+                        flushNavigation(navigation.userNav);
+                    } else {
+                        nextDueAt = Math.min(nextDueAt,
+                                             navigation.dueAt);
+                    }
+                }
+                if (nextDueAt == Long.MAX_VALUE) {
+                    flusherRunning.set(false);
+                    //A navigation recorded meanwhile might have found this task still running
+                    if (pendingNavigations.isEmpty() || !flusherRunning.compareAndSet(false,
+                                                                                      true)) {
+                        return;
+                    }
+                } else {
+                    Thread.sleep(nextDueAt - now);
+                }
+            }
+        } catch (final InterruptedException e) {
+            flusherRunning.set(false);
+            Thread.currentThread().interrupt();
+            flushNavigations();
+        }
+    }
+
+    private void write(final PendingNavigation navigation) {
+        final UserExplorerData content = readUserContent(navigation.userNav);
+        final UserExplorerData merged = content == null ? new UserExplorerData() : content;
+        UserExplorerLastData lastContent = null;
+        for (NavigationState state : navigation.states) {
+            lastContent = state.applyTo(merged);
+        }
+        if (!merged.isEmpty()) {
+            try {
+                ioServiceConfig.startBatch(navigation.userNav.getFileSystem());
+                ioServiceConfig.write(navigation.userNav,
+                                      xs.toXML(merged));
+                ioServiceConfig.write(navigation.lastUserNav,
+                                      xs.toXML(lastContent));
+            } finally {
+                ioServiceConfig.endBatch();
+            }
+        }
+    }
+
+    private Object userLock(final org.uberfire.java.nio.file.Path userNav) {
+        return userLocks.computeIfAbsent(key(userNav),
+                                         key -> new Object());
+    }
+
+    private static String key(final org.uberfire.java.nio.file.Path userNav) {
+        return userNav.toUri().toString();
+    }
+
+    private static class PendingNavigation {
+
+        private final org.uberfire.java.nio.file.Path userNav;
+        private final org.uberfire.java.nio.file.Path lastUserNav;
+        private final long dueAt;
+        //Only changed while the entry of the navigation is locked
+        private final List<NavigationState> states = new ArrayList<>();
+        //Set while the entry is locked, before the navigation is written; later states are recorded in a new entry
+        private volatile boolean writing;
+
+        private PendingNavigation(final org.uberfire.java.nio.file.Path userNav,
+                                  final org.uberfire.java.nio.file.Path lastUserNav,
+                                  final long dueAt) {
+            this.userNav = userNav;
+            this.lastUserNav = lastUserNav;
+            this.dueAt = dueAt;
+        }
+    }
+
+    private static class NavigationState {
+
+        private final WorkspaceProject project;
+        private final Module module;
+        private final Package pkg;
+        private final FolderItem item;
+        private final ActiveOptions options;
+
+        private NavigationState(final WorkspaceProject project,
+                                final Module module,
+                                final Package pkg,
+                                final FolderItem item,
+                                final ActiveOptions options) {
+            this.project = project;
+            this.module = module;
+            this.pkg = pkg;
+            this.item = item;
+            this.options = options;
+        }
+
+        /**
+         * @return the last navigation data of this state
+         */
+        private UserExplorerLastData applyTo(final UserExplorerData content) {
+            final UserExplorerLastData lastContent = new UserExplorerLastData();
+            if (project != null) {
+                content.addRepository(project.getOrganizationalUnit(),
+                                      project.getRepository());
+            }
+            if (module != null && project != null) {
+                content.addModule(project.getOrganizationalUnit(),
+                                  project.getRepository(),
+                                  module);
+            }
+            if (item != null && project != null && project.getBranch() != null && module != null) {
+                lastContent.setFolderItem(project.getRepository(),
+                                          project.getBranch().getName(),
+                                          module,
+                                          item);
+                content.addFolderItem(project.getOrganizationalUnit(),
+                                      project.getRepository(),
+                                      module,
+                                      item);
+            }
+            if (pkg != null && project != null && project.getBranch() != null && module != null) {
+                lastContent.setPackage(project.getRepository(),
+                                       project.getBranch().getName(),
+                                       module,
+                                       pkg);
+                content.addPackage(project.getOrganizationalUnit(),
+                                   project.getRepository(),
+                                   module,
+                                   pkg);
+            }
+            if (options != null && !options.isEmpty()) {
+                lastContent.setOptions(options);
+            }
+            return lastContent;
+        }
+    }
+}
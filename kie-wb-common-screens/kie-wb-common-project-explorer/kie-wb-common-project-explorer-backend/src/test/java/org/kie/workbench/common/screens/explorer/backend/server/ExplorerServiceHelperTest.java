@@ -16,6 +16,7 @@
 package org.kie.workbench.common.screens.explorer.backend.server;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
@@ -42,6 +43,7 @@ import org.uberfire.backend.server.VFSLockServiceImpl;
 import org.uberfire.backend.server.util.Paths;
 import org.uberfire.backend.vfs.Path;
 import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.backend.vfs.impl.LockInfo;
 import org.uberfire.commons.async.DescriptiveThreadFactory;
 import org.uberfire.ext.editor.commons.service.CopyService;
 import org.uberfire.ext.editor.commons.service.DeleteService;
@@ -91,6 +93,7 @@ public class ExplorerServiceHelperTest {
     @Mock
     private Path testResourcesPath;
     private org.uberfire.java.nio.file.Path path;
+    private NavigationStateStore navigationStateStore;
     private ExplorerServiceHelper helper;
 
     private final List<String> tags = new ArrayList<String>() {{
@@ -132,6 +135,8 @@ public class ExplorerServiceHelperTest {
         });
 
         ExecutorService executorService = Executors.newCachedThreadPool(new DescriptiveThreadFactory());
+        navigationStateStore = new NavigationStateStore(ioServiceConfig,
+                                                        executorService);
 
         helper = spy(new ExplorerServiceHelper(moduleService,
                                                folderListingResolver,
@@ -143,6 +148,7 @@ public class ExplorerServiceHelperTest {
                                                deleteService,
                                                renameService,
                                                copyService,
+                                               navigationStateStore,
                                                executorService));
     }
 
@@ -202,6 +208,125 @@ public class ExplorerServiceHelperTest {
                      fis.get(3).getTags().size());
     }
 
+    @Test
+    public void testLocksAreReadOncePerFolder() {
+        final Path lockedFile = mock(Path.class);
+        final LockInfo lockInfo = mock(LockInfo.class);
+        when(lockedFile.toURI()).thenReturn(path.toUri().toString());
+        when(lockInfo.getFile()).thenReturn(lockedFile);
+        when(lockInfo.lockedBy()).thenReturn("admin");
+        when(lockService.retrieveLockInfos(any(Path.class),
+                                           eq(false))).thenReturn(Collections.singletonList(lockInfo));
+
+        final List<FolderItem> fis = getFolderItems(Option.BUSINESS_CONTENT);
+
+        assertEquals(4,
+                     fis.size());
+        for (FolderItem fi : fis) {
+            assertEquals("admin",
+                         fi.getLockedBy());
+        }
+        verify(lockService,
+               times(4)).retrieveLockInfos(any(Path.class),
+                                           eq(false));
+    }
+
+    @Test
+    public void testNavigationStatesAreMergedUntilFlushed() {
+        final org.uberfire.java.nio.file.Path userNav = path.resolveSibling("user.nav");
+        final org.uberfire.java.nio.file.Path lastUserNav = path.resolveSibling("last.user.nav");
+
+        helper.store(userNav,
+                     lastUserNav,
+                     null,
+                     null,
+                     null,
+                     null,
+                     new ActiveOptions(Option.BUSINESS_CONTENT));
+        helper.store(userNav,
+                     lastUserNav,
+                     null,
+                     null,
+                     null,
+                     null,
+                     new ActiveOptions(Option.TECHNICAL_CONTENT));
+
+        //the user content is only read when the merged states are written
+        verify(ioServiceConfig,
+               never()).exists(userNav);
+
+        helper.flushNavigation(userNav);
+
+        verify(ioServiceConfig,
+               times(1)).exists(userNav);
+
+        helper.store(userNav,
+                     lastUserNav,
+                     null,
+                     null,
+                     null,
+                     null,
+                     new ActiveOptions(Option.BUSINESS_CONTENT));
+        helper.flushNavigation(userNav);
+
+        verify(ioServiceConfig,
+               times(2)).exists(userNav);
+    }
+
+    @Test
+    public void testNavigationStatesAreFlushedOnDestroy() {
+        final org.uberfire.java.nio.file.Path userNav = path.resolveSibling("user.nav");
+        final org.uberfire.java.nio.file.Path lastUserNav = path.resolveSibling("last.user.nav");
+
+        helper.store(userNav,
+                     lastUserNav,
+                     null,
+                     null,
+                     null,
+                     null,
+                     new ActiveOptions(Option.BUSINESS_CONTENT));
+        navigationStateStore.flushNavigations();
+
+        verify(ioServiceConfig,
+               times(1)).exists(userNav);
+
+        //nothing is left to write
+        helper.flushNavigation(userNav);
+
+        verify(ioServiceConfig,
+               times(1)).exists(userNav);
+    }
+
+    @Test
+    public void testNavigationUpdateWritesTheRecordedStatesFirst() {
+        final org.uberfire.java.nio.file.Path userNav = path.resolveSibling("user.nav");
+        final org.uberfire.java.nio.file.Path lastUserNav = path.resolveSibling("last.user.nav");
+
+        helper.store(userNav,
+                     lastUserNav,
+                     null,
+                     null,
+                     null,
+                     null,
+                     new ActiveOptions(Option.BUSINESS_CONTENT));
+
+        //the recorded state is written before the update runs
+        helper.updateNavigation(userNav,
+                                () -> verify(ioServiceConfig,
+                                             times(1)).exists(userNav));
+    }
+
+    @Test
+    public void testFlushWithoutRecordedStatesDoesNotReadTheUserContent() {
+        final org.uberfire.java.nio.file.Path userNav = path.resolveSibling("user.nav");
+
+        helper.flushNavigation(userNav);
+        helper.getLastContent(path.resolveSibling("last.user.nav"));
+
+        verify(ioServiceConfig,
+               never()).exists(userNav);
+    }
+
     protected List<FolderItem> getFolderItems(Option... options) {
         final ActiveOptions activeOptions = new ActiveOptions(options);
         return helper.getItems(pkg,
@@ -122,6 +122,22 @@ public class DefaultKieCompilationResponse implements KieCompilationResponse,
         this.eventsTypeClasses = Optional.ofNullable(res.getEventTypeClasses()).orElse(Collections.emptySet());
     }
 
+    /**
+     * Copy of the response carrying the UUID of another request, for a request served by the same build
+     */
+    public DefaultKieCompilationResponse(KieCompilationResponse res, String requestUUID) {
+        this(res.isSuccessful(),
+             res.getKieModuleMetaInfo().orElse(null),
+             res.getKieModule().orElse(null),
+             res.getProjectClassLoaderStore(),
+             res.getMavenOutput(),
+             res.getTargetContent(),
+             res.getDependencies(),
+             res.getWorkingDir().orElse(null),
+             res.getEventTypeClasses(),
+             requestUUID);
+    }
+
     private Path getWorkingDir(String workingDir){
         if(workingDir!= null){
            return Paths.get("file://"+workingDir);
@@ -74,6 +74,28 @@ public class DefaultKieCompilationResponseOffProcess implements Serializable {
         this.workingDir = res.getWorkingDir().map(Object::toString).orElse("");
     }
 
+    public DefaultKieCompilationResponseOffProcess(Boolean successful,
+                                                   KieModuleMetaInfo kieModuleMetaInfo,
+                                                   KieModule kieModule,
+                                                   Map<String, byte[]> projectClassLoaderStore,
+                                                   List<String> mavenOutput,
+                                                   List<String> targetContent,
+                                                   List<String> projectDependencies,
+                                                   String workingDir,
+                                                   Set<String> eventsTypeClasses,
+                                                   String requestUUID) {
+        this.successful = successful;
+        this.kieModuleMetaInfo = kieModuleMetaInfo;
+        this.kieModule = kieModule;
+        this.projectClassLoaderStore = Optional.ofNullable(projectClassLoaderStore).orElse(Collections.emptyMap());
+        this.mavenOutput = Optional.ofNullable(mavenOutput).orElse(Collections.emptyList());
+        this.targetContent = Optional.ofNullable(targetContent).orElse(Collections.emptyList());
+        this.projectDependencies = Optional.ofNullable(projectDependencies).orElse(Collections.emptyList());
+        this.workingDir = workingDir;
+        this.eventsTypeClasses = Optional.ofNullable(eventsTypeClasses).orElse(Collections.emptySet());
+        this.requestUUID = requestUUID;
+    }
+
     public Optional<KieModuleMetaInfo> getKieModuleMetaInfo() {
         return Optional.ofNullable(kieModuleMetaInfo);
     }
@@ -93,6 +93,7 @@ import org.codehaus.plexus.PlexusConstants;
 import org.codehaus.plexus.PlexusContainer;
 import org.codehaus.plexus.classworlds.ClassWorld;
 import org.codehaus.plexus.classworlds.realm.ClassRealm;
+import org.codehaus.plexus.classworlds.realm.NoSuchRealmException;
 import org.codehaus.plexus.component.repository.exception.ComponentLookupException;
 import org.codehaus.plexus.logging.LoggerManager;
 import org.codehaus.plexus.util.IOUtil;
@@ -1307,9 +1308,11 @@ public class ReusableAFMavenCli {
             reusableEventSpyContext = null;
         }
         if (reusableContainerCoreExtensions != null) {
+            dispose(reusableContainerCoreExtensions);
             reusableContainerCoreExtensions = null;
         }
         if (reusableContainer != null) {
+            dispose(reusableContainer);
             reusableContainer = null;
         }
         if (reusableMaven != null) {
@@ -1326,4 +1329,25 @@ public class ReusableAFMavenCli {
         }
         return Boolean.TRUE;
     }
+
+    /**
+     * Disposes the container and closes the class realms of its class world, releasing the jars they hold open
+     */
+    private void dispose(PlexusContainer container) {
+        ClassWorld classWorld = ((DefaultPlexusContainer) container).getClassWorld();
+        try {
+            container.dispose();
+        } catch (Exception e) {
+            logger.warn("Unable to dispose the Maven container:{}", e.getMessage());
+        }
+        if (classWorld != null) {
+            for (ClassRealm realm : new ArrayList<>(classWorld.getRealms())) {
+                try {
+                    classWorld.disposeRealm(realm.getId());
+                } catch (NoSuchRealmException e) {
+                    // already disposed with the container
+                }
+            }
+        }
+    }
 }
@@ -14,16 +14,13 @@
  * limitations under the License.
  */
 package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
 
-import java.io.ByteArrayInputStream;
-import java.io.IOException;
-import java.io.ObjectInputStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
-import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.queue.ExcerptTailer;
-import net.openhft.chronicle.queue.TailerDirection;
 import net.openhft.chronicle.wire.DocumentContext;
-import net.openhft.chronicle.wire.Wire;
 import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponseOffProcess;
 import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
@@ -32,68 +29,90 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /***
- * Client to access the result of the build executed in a separated process
+ * Client reading the responses from the queue. The excerpts appended after the creation of the client are scanned
+ * only once, reading just the uuid written in front of each response, and their queue index is kept in a map
+ * to retrieve a response by uuid without walking the whole queue.
  */
-
 public class ClientIPCImpl implements ClientIPC {
 
+    static final int MAX_INDEXED_RESPONSES = 50_000;
     private ResponseSharedMap map;
     private QueueProvider provider;
+    private ExcerptTailer indexTailer;
+    private ExcerptTailer readTailer;
+    private Map<String, Long> indexes;
     private Logger logger = LoggerFactory.getLogger(ClientIPCImpl.class);
 
     public ClientIPCImpl(ResponseSharedMap map, QueueProvider provider) {
         this.map = map;
         this.provider = provider;
+        this.indexTailer = provider.getQueue().createTailer().toEnd();
+        this.readTailer = provider.getQueue().createTailer();
+        this.indexes = new LinkedHashMap<String, Long>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                // responses never claimed, e.g. requested by another client on the same queue
+                return size() > MAX_INDEXED_RESPONSES;
+            }
+        };
     }
 
     public KieCompilationResponse getResponse(String uuid) {
-        if(isLoaded(uuid)) {
-            return (KieCompilationResponse)map.getResponse(uuid);
-        }else {
+        if (isLoaded(uuid)) {
+            KieCompilationResponse res = (KieCompilationResponse) map.getResponse(uuid);
+            map.removeResponse(uuid);
+            return res;
+        } else {
             return new DefaultKieCompilationResponse(false, "");
         }
     }
 
     private boolean isLoaded(String uuid) {
-        ExcerptTailer tailer = provider.getQueue().createTailer();
-        DefaultKieCompilationResponseOffProcess res = readThisDocument(tailer);
-        DefaultKieCompilationResponse kres = new DefaultKieCompilationResponse(res);
-        if (uuid.equals(kres.getRequestUUID())) {
-            if (!map.contains(kres.getRequestUUID())) {
-                map.addResponse(uuid, kres);
-                return true;
-            }
-        } else {
-            //we loop in the queue to find our Response by UUID, from the tail of the queue backward
-            tailer.toEnd();
-            tailer.direction(TailerDirection.BACKWARD);
-            res = loopOverQueue(tailer,uuid, 0l);
-        }
-
-        kres = new DefaultKieCompilationResponse(res);
-        if (!map.contains(kres.getRequestUUID())) {
-            map.addResponse(uuid, new DefaultKieCompilationResponse(res));
+        if (map.contains(uuid)) {
             return true;
-        } else {
+        }
+        DefaultKieCompilationResponseOffProcess res = readResponse(uuid);
+        if (res == null) {
             return false;
         }
+        map.addResponse(uuid, new DefaultKieCompilationResponse(res));
+        return true;
     }
 
+    private synchronized DefaultKieCompilationResponseOffProcess readResponse(String uuid) {
+        Long index = lookupIndex(uuid);
+        if (index == null) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("Response with uuid:{} not present in the queue", uuid);
+            }
+            return null;
+        }
+        if (!readTailer.moveToIndex(index)) {
+            logger.warn("Response with uuid:{} no more available at index:{}", uuid, index);
+            return null;
+        }
+        return readThisDocument(readTailer);
+    }
 
-    private DefaultKieCompilationResponseOffProcess loopOverQueue(ExcerptTailer tailer, String uuid, long previousIndex) {
-        long currentIndex = tailer.index();
-        if(logger.isDebugEnabled()) {
-            logger.debug("current index on loopOverQueue:{}", currentIndex);
+    /**
+     * Indexes the excerpts appended since the last lookup until the one with the given uuid is found
+     */
+    private Long lookupIndex(String uuid) {
+        Long index = indexes.remove(uuid);
+        if (index != null) {
+            return index;
         }
-        DefaultKieCompilationResponseOffProcess  res = readThisDocument(tailer);
-        if(uuid.equals(res.getRequestUUID())){
-            return res;
-        }else{
-            if(currentIndex == previousIndex){
-                // No more elements in the queue
-                return new DefaultKieCompilationResponseOffProcess(false, "");
+        while (true) {
+            try (DocumentContext dc = indexTailer.readingDocument()) {
+                if (!dc.isPresent()) {
+                    return null;
+                }
+                String excerptUuid = CompilationResponseWireFormat.readRequestUUID(dc.wire().bytes());
+                if (uuid.equals(excerptUuid)) {
+                    return dc.index();
+                }
+                indexes.put(excerptUuid, dc.index());
             }
-            return loopOverQueue(tailer, uuid, currentIndex);
         }
     }
 
@@ -107,29 +126,13 @@ public class ClientIPCImpl implements ClientIPC {
                 if(logger.isDebugEnabled()) {
                     logger.debug("Document Context index:{}", dc.index());
                 }
-                Wire wire = dc.wire();
-                Bytes bytes = wire.bytes();
-                if (!bytes.isEmpty()) {
-                    try {
-                        Object obj = deserialize(bytes.toByteArray());
-                        res = (DefaultKieCompilationResponseOffProcess) obj;
-                    } catch (Exception e) {
-                        logger.error(e.getMessage(), e);
-                    }
+                try {
+                    res = CompilationResponseWireFormat.read(dc.wire().bytes());
+                } catch (Exception e) {
+                    logger.error(e.getMessage(), e);
                 }
             }
         }
-        if(res == null){
-            res = new DefaultKieCompilationResponseOffProcess(false, "");
-        }
         return res;
     }
-
-    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
-        try (ByteArrayInputStream b = new ByteArrayInputStream(bytes)) {
-            try (ObjectInputStream o = new ObjectInputStream(b)) {
-                return o.readObject();
-            }
-        }
-    }
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.openhft.chronicle.bytes.BytesIn;
+import net.openhft.chronicle.bytes.BytesOut;
+import org.drools.core.rule.KieModuleMetaInfo;
+import org.kie.api.builder.KieModule;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponseOffProcess;
+
+/***
+ * Binary layout of a DefaultKieCompilationResponseOffProcess on the queue.
+ * The request uuid is always the first field, the paths and the class names are written as an index in a table of
+ * their shared prefixes (directories, packages) plus the remaining suffix, the class bytes as length prefixed blobs.
+ * Only the KieModule and the KieModuleMetaInfo are still java serialized.
+ */
+public class CompilationResponseWireFormat {
+
+    private static final byte VERSION = 1;
+
+    private final DefaultKieCompilationResponseOffProcess res;
+    private final Map<String, Integer> prefixes = new LinkedHashMap<>();
+    private final byte[] kieModuleMetaInfo;
+    private final byte[] kieModule;
+    private final Map<String, byte[]> projectClassLoaderStore;
+
+    /**
+     * Prepares the response to be written, the java serialized parts are computed here
+     */
+    public CompilationResponseWireFormat(DefaultKieCompilationResponseOffProcess res) throws IOException {
+        this.res = res;
+        this.kieModuleMetaInfo = serialize(res.getKieModuleMetaInfo().orElse(null));
+        this.kieModule = serialize(res.getKieModule().orElse(null));
+        this.projectClassLoaderStore = res.getProjectClassLoaderStore();
+        addPrefixes(res.getTargetContent());
+        addPrefixes(res.getDependencies());
+        addPrefixes(res.getEventTypeClasses());
+        addPrefixes(projectClassLoaderStore.keySet());
+    }
+
+    public void writeTo(BytesOut<?> out) {
+        out.writeUtf8(res.getRequestUUID());
+        out.writeByte(VERSION);
+        out.writeBoolean(Boolean.TRUE.equals(res.isSuccessful()));
+        out.writeUtf8(res.getWorkingDir());
+
+        out.writeStopBit(prefixes.size());
+        for (String prefix : prefixes.keySet()) {
+            out.writeUtf8(prefix);
+        }
+
+        List<String> mavenOutput = res.getMavenOutput();
+        out.writeStopBit(mavenOutput.size());
+        for (String line : mavenOutput) {
+            out.writeUtf8(line);
+        }
+        writeStrings(out, res.getTargetContent());
+        writeStrings(out, res.getDependencies());
+        writeStrings(out, res.getEventTypeClasses());
+
+        out.writeStopBit(projectClassLoaderStore.size());
+        for (Map.Entry<String, byte[]> entry : projectClassLoaderStore.entrySet()) {
+            writeString(out, entry.getKey());
+            writeBlob(out, entry.getValue());
+        }
+
+        writeBlob(out, kieModuleMetaInfo);
+        writeBlob(out, kieModule);
+    }
+
+    /**
+     * Reads only the uuid, leaving the rest of the response unread
+     */
+    public static String readRequestUUID(BytesIn<?> in) {
+        return in.readUtf8();
+    }
+
+    /**
+     * Reads a whole response straight from the queue bytes
+     */
+    public static DefaultKieCompilationResponseOffProcess read(BytesIn<?> in) throws IOException, ClassNotFoundException {
+        String requestUUID = in.readUtf8();
+        byte version = in.readByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported response format version:" + version);
+        }
+        boolean successful = in.readBoolean();
+        String workingDir = in.readUtf8();
+
+        int prefixesSize = (int) in.readStopBit();
+        String[] prefixTable = new String[prefixesSize];
+        for (int i = 0; i < prefixesSize; i++) {
+            prefixTable[i] = in.readUtf8();
+        }
+
+        int mavenOutputSize = (int) in.readStopBit();
+        List<String> mavenOutput = new ArrayList<>(mavenOutputSize);
+        for (int i = 0; i < mavenOutputSize; i++) {
+            mavenOutput.add(in.readUtf8());
+        }
+        List<String> targetContent = readStrings(in, prefixTable, new ArrayList<>());
+        List<String> dependencies = readStrings(in, prefixTable, new ArrayList<>());
+        Set<String> events = readStrings(in, prefixTable, new HashSet<>());
+
+        int storeSize = (int) in.readStopBit();
+        Map<String, byte[]> store = new HashMap<>(storeSize * 2);
+        for (int i = 0; i < storeSize; i++) {
+            String key = readString(in, prefixTable);
+            store.put(key, readBlob(in));
+        }
+
+        KieModuleMetaInfo kieModuleMetaInfo = (KieModuleMetaInfo) deserialize(readBlob(in));
+        KieModule kieModule = (KieModule) deserialize(readBlob(in));
+
+        return new DefaultKieCompilationResponseOffProcess(successful,
+                                                           kieModuleMetaInfo,
+                                                           kieModule,
+                                                           store,
+                                                           mavenOutput,
+                                                           targetContent,
+                                                           dependencies,
+                                                           workingDir,
+                                                           events,
+                                                           requestUUID);
+    }
+
+    private void addPrefixes(Collection<String> values) {
+        for (String value : values) {
+            prefixes.putIfAbsent(prefixOf(value), prefixes.size());
+        }
+    }
+
+    private static String prefixOf(String value) {
+        int separator = value.lastIndexOf('/');
+        if (separator < 0) {
+            separator = value.lastIndexOf('.');
+        }
+        return value.substring(0, separator + 1);
+    }
+
+    private void writeStrings(BytesOut<?> out, Collection<String> values) {
+        out.writeStopBit(values.size());
+        for (String value : values) {
+            writeString(out, value);
+        }
+    }
+
+    private void writeString(BytesOut<?> out, String value) {
+        String prefix = prefixOf(value);
+        out.writeStopBit(prefixes.get(prefix));
+        out.writeUtf8(value.substring(prefix.length()));
+    }
+
+    private static <C extends Collection<String>> C readStrings(BytesIn<?> in, String[] prefixTable, C values) {
+        int size = (int) in.readStopBit();
+        for (int i = 0; i < size; i++) {
+            values.add(readString(in, prefixTable));
+        }
+        return values;
+    }
+
+    private static String readString(BytesIn<?> in, String[] prefixTable) {
+        String prefix = prefixTable[(int) in.readStopBit()];
+        return prefix.concat(in.readUtf8());
+    }
+
+    private static void writeBlob(BytesOut<?> out, byte[] blob) {
+        if (blob == null) {
+            out.writeStopBit(-1);
+            return;
+        }
+        out.writeStopBit(blob.length);
+        out.write(blob);
+    }
+
+    private static byte[] readBlob(BytesIn<?> in) {
+        int length = (int) in.readStopBit();
+        if (length < 0) {
+            return null;
+        }
+        byte[] blob = new byte[length];
+        in.read(blob);
+        return blob;
+    }
+
+    private static byte[] serialize(Object obj) throws IOException {
+        if (obj == null) {
+            return null;
+        }
+        try (ByteArrayOutputStream b = new ByteArrayOutputStream()) {
+            try (ObjectOutputStream o = new ObjectOutputStream(b)) {
+                o.writeObject(obj);
+            }
+            return b.toByteArray();
+        }
+    }
+
+    private static Object deserialize(byte[] bytes) throws IOException, ClassNotFoundException {
+        if (bytes == null) {
+            return null;
+        }
+        try (ByteArrayInputStream b = new ByteArrayInputStream(bytes)) {
+            try (ObjectInputStream o = new ObjectInputStream(b)) {
+                return o.readObject();
+            }
+        }
+    }
+}
@@ -20,7 +20,10 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.apache.commons.io.IOUtils;
 import org.guvnor.common.services.project.backend.server.utils.configuration.ConfigurationKey;
@@ -36,7 +39,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /**
- * Coordinator of the build executed in a separate process and the cleint to read the result
+ * Coordinator of the build executed in a separate process and the cleint to read the result.
+ * With a worker pool size greater than zero the builds are dispatched to long lived worker processes
+ * instead of starting a new JVM for every build.
  */
 public class CompilerIPCCoordinatorImpl implements CompilerIPCCoordinator {
 
@@ -52,8 +57,31 @@ public class CompilerIPCCoordinatorImpl implements CompilerIPCCoordinator {
     private QueueProvider provider;
     private String queueName;
     private String kieVersion;
+    private int workerPoolSize;
+    private int maxBuildsPerWorker;
+    private double maxHeapUsageRatio;
+    private long buildTimeoutMillis;
+    private Map<String, CompilerWorkerPool> workerPools = new ConcurrentHashMap<>();
 
     public CompilerIPCCoordinatorImpl(QueueProvider provider) {
+        this(provider, 0, 0, 0, 0);
+    }
+
+    public CompilerIPCCoordinatorImpl(QueueProvider provider, int workerPoolSize, int maxBuildsPerWorker, double maxHeapUsageRatio) {
+        this(provider, workerPoolSize, maxBuildsPerWorker, maxHeapUsageRatio, 0);
+    }
+
+    /**
+     * @param workerPoolSize number of long lived worker processes per maven repo, zero to start a new process for every build
+     * @param maxBuildsPerWorker number of builds after which a worker process is replaced
+     * @param maxHeapUsageRatio heap usage ratio (0..1) of a worker process above which it is replaced
+     * @param buildTimeoutMillis time after which a build still running on a worker is abandoned and the worker killed, zero to wait without limit
+     */
+    public CompilerIPCCoordinatorImpl(QueueProvider provider, int workerPoolSize, int maxBuildsPerWorker, double maxHeapUsageRatio, long buildTimeoutMillis) {
+        this.workerPoolSize = workerPoolSize;
+        this.maxBuildsPerWorker = maxBuildsPerWorker;
+        this.maxHeapUsageRatio = maxHeapUsageRatio;
+        this.buildTimeoutMillis = buildTimeoutMillis;
         this.kieVersion = getKieVersion();
         this.queueName = provider.getAbsolutePath();
         this.provider = provider;
@@ -95,7 +123,13 @@ public class CompilerIPCCoordinatorImpl implements CompilerIPCCoordinator {
     private CompilationResponse internalBuild(String mavenRepo, String projectPath, String alternateSettingsAbsPath, String uuid) {
         String classpath = classpathTemplate.replace(placeholder, mavenRepo);
         try {
-            invokeServerBuild(mavenRepo, projectPath, uuid, classpath, alternateSettingsAbsPath, queueName);
+            if (workerPoolSize > 0) {
+                if (!getWorkerPool(mavenRepo, classpath).build(uuid, projectPath, mavenRepo, alternateSettingsAbsPath)) {
+                    return new DefaultKieCompilationResponse(false, "");
+                }
+            } else {
+                invokeServerBuild(mavenRepo, projectPath, uuid, classpath, alternateSettingsAbsPath, queueName);
+            }
             if(logger.isDebugEnabled()) {
                 logger.debug("invokeServerBuild completed");
             }
@@ -106,6 +140,49 @@ public class CompilerIPCCoordinatorImpl implements CompilerIPCCoordinator {
         }
     }
 
+    private CompilerWorkerPool getWorkerPool(String mavenRepo, String classpath) {
+        return workerPools.computeIfAbsent(mavenRepo,
+                                           repo -> new CompilerWorkerPool(queueName,
+                                                                          workerPoolSize,
+                                                                          controlQueuePath -> startWorker(repo, classpath, controlQueuePath),
+                                                                          buildTimeoutMillis));
+    }
+
+    /**
+     * Worker pools by maven repo, to read the pool size, queue depth and build latency
+     */
+    public Collection<CompilerWorkerPool> getWorkerPools() {
+        return Collections.unmodifiableCollection(workerPools.values());
+    }
+
+    public void shutdown() {
+        workerPools.values().forEach(CompilerWorkerPool::shutdown);
+        workerPools.clear();
+    }
+
+    private Process startWorker(String mavenRepo, String classpath, String controlQueuePath) throws IOException {
+        String[] commandArrayWorker =
+                {
+                        javaBin,
+                        "-cp",
+                        getClasspathIncludedCurrentModuleDep(mavenRepo, classpath),
+                        "-Dorg.uberfire.nio.git.daemon.enabled=false",
+                        "-Dorg.uberfire.nio.ssh.daemon.enabled=false",
+                        ServerIPCImpl.class.getCanonicalName(),
+                        ServerIPCImpl.WORKER_MODE,
+                        controlQueuePath,
+                        queueName,
+                        String.valueOf(maxBuildsPerWorker),
+                        String.valueOf(maxHeapUsageRatio)
+                };
+        if (logger.isDebugEnabled()) {
+            logger.debug("Starting worker process on control queue:{}", controlQueuePath);
+        }
+        ProcessBuilder workerPb = new ProcessBuilder(commandArrayWorker);
+        workerPb.inheritIO();
+        return workerPb.start();
+    }
+
     private CompilationResponse getCompilationResponse(String uuid) {
         KieCompilationResponse res = clientIPC.getResponse(uuid);
         if (res != null) {
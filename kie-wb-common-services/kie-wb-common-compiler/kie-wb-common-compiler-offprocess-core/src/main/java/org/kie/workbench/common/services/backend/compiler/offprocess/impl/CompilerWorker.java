@@ -0,0 +1,108 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.util.concurrent.TimeUnit;
+
+import net.openhft.chronicle.core.io.IOTools;
+import net.openhft.chronicle.queue.ExcerptTailer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * Coordinator side handle of a long lived ServerIPCImpl process started in worker mode.
+ * Requests and completion notifications are exchanged on a control queue owned by this worker,
+ * the responses are written by the process on the shared response queue.
+ */
+class CompilerWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompilerWorker.class);
+    static final long POLL_INTERVAL_MILLIS = 10;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private final QueueProvider control;
+    private final ExcerptTailer tailer;
+    private final Process process;
+    private final long buildTimeoutMillis;
+    private int builds;
+    private volatile boolean retired;
+
+    /**
+     * @param buildTimeoutMillis time after which a build still running is abandoned and the worker process killed, zero to wait without limit
+     */
+    CompilerWorker(QueueProvider control, Process process, long buildTimeoutMillis) {
+        this.control = control;
+        this.process = process;
+        this.buildTimeoutMillis = buildTimeoutMillis;
+        this.tailer = control.getQueue().createTailer();
+    }
+
+    boolean isAvailable() {
+        return !retired && process.isAlive();
+    }
+
+    int getBuilds() {
+        return builds;
+    }
+
+    /**
+     * Sends a build request to the worker process and blocks until the worker notifies the completion or the build times out
+     * @return false if the worker process died or was killed before completing the build
+     */
+    boolean build(String uuid, String projectPath, String mavenRepo, String alternateSettingsAbsPath) throws InterruptedException {
+        WorkerMessage.request(uuid, projectPath, mavenRepo, alternateSettingsAbsPath).write(control.getQueue());
+        long deadline = System.currentTimeMillis() + buildTimeoutMillis;
+        while (true) {
+            WorkerMessage msg = WorkerMessage.read(tailer);
+            if (msg == null) {
+                if (!process.isAlive()) {
+                    logger.error("Worker process on queue {} exited before completing the build {}", control.getAbsolutePath(), uuid);
+                    retired = true;
+                    return false;
+                }
+                if (buildTimeoutMillis > 0 && System.currentTimeMillis() > deadline) {
+                    logger.error("Build {} on the worker queue {} not completed in {} ms, killing the worker process", uuid, control.getAbsolutePath(), buildTimeoutMillis);
+                    retired = true;
+                    process.destroyForcibly();
+                    return false;
+                }
+                Thread.sleep(POLL_INTERVAL_MILLIS);
+            } else if (msg.getType() == WorkerMessage.Type.DONE && uuid.equals(msg.getUuid())) {
+                builds++;
+                retired = msg.isRetire();
+                return true;
+            }
+        }
+    }
+
+    void shutdown() {
+        retired = true;
+        try {
+            if (process.isAlive()) {
+                WorkerMessage.shutdown().write(control.getQueue());
+                if (!process.waitFor(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                    process.destroyForcibly();
+                }
+            }
+        } catch (InterruptedException e) {
+            process.destroyForcibly();
+            Thread.currentThread().interrupt();
+        } finally {
+            control.cleanQueue();
+            IOTools.shallowDeleteDirWithFiles(control.getAbsolutePath());
+        }
+    }
+}
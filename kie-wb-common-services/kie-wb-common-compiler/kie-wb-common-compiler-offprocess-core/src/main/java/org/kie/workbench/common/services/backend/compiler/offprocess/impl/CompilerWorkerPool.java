@@ -0,0 +1,212 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.io.IOException;
+import java.util.UUID;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import net.openhft.chronicle.core.io.IOTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/***
+ * Pool of long lived ServerIPCImpl worker processes, each worker keeps its Maven container between builds
+ * and is replaced after a fixed number of builds or when its heap usage is too high.
+ */
+public class CompilerWorkerPool {
+
+    private static final Logger logger = LoggerFactory.getLogger(CompilerWorkerPool.class);
+    private static final long ACQUIRE_RETRY_MILLIS = 100;
+
+    /**
+     * Starts a worker process listening on the given control queue
+     */
+    public interface WorkerLauncher {
+
+        Process launch(String controlQueuePath) throws IOException;
+    }
+
+    private final String queueBasePath;
+    private final int size;
+    private final WorkerLauncher launcher;
+    private final long buildTimeoutMillis;
+    private final BlockingDeque<CompilerWorker> idleWorkers = new LinkedBlockingDeque<>();
+    private final AtomicInteger liveWorkers = new AtomicInteger();
+    private final AtomicInteger waitingRequests = new AtomicInteger();
+    private final AtomicLong completedBuilds = new AtomicLong();
+    private final AtomicLong failedBuilds = new AtomicLong();
+    private final AtomicLong totalBuildMillis = new AtomicLong();
+    private final AtomicLong lastBuildMillis = new AtomicLong();
+    private volatile boolean shutdown;
+
+    public CompilerWorkerPool(String queueBasePath, int size, WorkerLauncher launcher) {
+        this(queueBasePath, size, launcher, 0);
+    }
+
+    /**
+     * @param buildTimeoutMillis time after which a build still running is abandoned and its worker killed, zero to wait without limit
+     */
+    public CompilerWorkerPool(String queueBasePath, int size, WorkerLauncher launcher, long buildTimeoutMillis) {
+        if (size < 1) {
+            throw new IllegalArgumentException("The worker pool size must be greater than zero:" + size);
+        }
+        this.queueBasePath = queueBasePath;
+        this.size = size;
+        this.launcher = launcher;
+        this.buildTimeoutMillis = buildTimeoutMillis;
+    }
+
+    /**
+     * Runs the build on an idle worker, waiting for one if all the workers are busy
+     * @return false if the build couldn't be completed by a worker
+     */
+    public boolean build(String uuid, String projectPath, String mavenRepo, String alternateSettingsAbsPath) {
+        CompilerWorker worker = null;
+        long start = System.currentTimeMillis();
+        try {
+            worker = acquire();
+            boolean completed = worker.build(uuid, projectPath, mavenRepo, alternateSettingsAbsPath);
+            if (!completed) {
+                failedBuilds.incrementAndGet();
+                return false;
+            }
+            long elapsed = System.currentTimeMillis() - start;
+            lastBuildMillis.set(elapsed);
+            totalBuildMillis.addAndGet(elapsed);
+            completedBuilds.incrementAndGet();
+            if (logger.isDebugEnabled()) {
+                logger.debug("Build {} completed in {} ms, pool size:{} queue depth:{}", uuid, elapsed, getPoolSize(), getQueueDepth());
+            }
+            return true;
+        } catch (IOException e) {
+            logger.error(e.getMessage(), e);
+            failedBuilds.incrementAndGet();
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            failedBuilds.incrementAndGet();
+            return false;
+        } finally {
+            if (worker != null) {
+                release(worker);
+            }
+        }
+    }
+
+    private CompilerWorker acquire() throws IOException, InterruptedException {
+        while (true) {
+            if (shutdown) {
+                throw new IllegalStateException("The worker pool is shut down");
+            }
+            CompilerWorker worker = idleWorkers.poll();
+            if (worker != null) {
+                return worker;
+            }
+            if (liveWorkers.incrementAndGet() <= size) {
+                try {
+                    return startWorker();
+                } catch (IOException e) {
+                    liveWorkers.decrementAndGet();
+                    throw e;
+                }
+            }
+            liveWorkers.decrementAndGet();
+            waitingRequests.incrementAndGet();
+            try {
+                // a recycled worker frees its slot without going back in the idle queue, so we check again periodically
+                worker = idleWorkers.poll(ACQUIRE_RETRY_MILLIS, TimeUnit.MILLISECONDS);
+            } finally {
+                waitingRequests.decrementAndGet();
+            }
+            if (worker != null) {
+                return worker;
+            }
+        }
+    }
+
+    private void release(CompilerWorker worker) {
+        if (!shutdown && worker.isAvailable()) {
+            idleWorkers.offer(worker);
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("Recycling worker after {} builds", worker.getBuilds());
+        }
+        worker.shutdown();
+        liveWorkers.decrementAndGet();
+    }
+
+    private CompilerWorker startWorker() throws IOException {
+        String controlQueuePath = queueBasePath + "-worker-" + UUID.randomUUID().toString();
+        IOTools.shallowDeleteDirWithFiles(controlQueuePath);
+        QueueProvider control = new QueueProvider(controlQueuePath, true);
+        try {
+            return new CompilerWorker(control, launcher.launch(controlQueuePath), buildTimeoutMillis);
+        } catch (IOException e) {
+            control.cleanQueue();
+            IOTools.shallowDeleteDirWithFiles(controlQueuePath);
+            throw e;
+        }
+    }
+
+    public void shutdown() {
+        shutdown = true;
+        CompilerWorker worker;
+        while ((worker = idleWorkers.poll()) != null) {
+            worker.shutdown();
+            liveWorkers.decrementAndGet();
+        }
+    }
+
+    /**
+     * @return the number of the worker processes currently alive
+     */
+    public int getPoolSize() {
+        return liveWorkers.get();
+    }
+
+    /**
+     * @return the number of the build requests waiting for an idle worker
+     */
+    public int getQueueDepth() {
+        return waitingRequests.get();
+    }
+
+    public long getCompletedBuilds() {
+        return completedBuilds.get();
+    }
+
+    /**
+     * @return the number of the builds not completed because their worker died, timed out or couldn't be started
+     */
+    public long getFailedBuilds() {
+        return failedBuilds.get();
+    }
+
+    public long getLastBuildMillis() {
+        return lastBuildMillis.get();
+    }
+
+    public long getAverageBuildMillis() {
+        long builds = completedBuilds.get();
+        return builds == 0 ? 0 : totalBuildMillis.get() / builds;
+    }
+}
@@ -19,15 +19,18 @@ import java.io.File;
 
 import net.openhft.chronicle.queue.ChronicleQueue;
 import net.openhft.chronicle.queue.ChronicleQueueBuilder;
+import net.openhft.chronicle.queue.RollCycles;
 import net.openhft.chronicle.queue.impl.single.SingleChronicleQueue;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 /***
- * Provider of the Chronicle Queue
+ * Provider of the Chronicle Queue, the queue rolls daily and the files of the cycles older than the retention
+ * are deleted when released
  */
 public class QueueProvider {
 
+    static final int RETENTION_CYCLES = 7;
     private SingleChronicleQueue queue;
     private String basePath;
     private String queueName;
@@ -49,16 +52,33 @@ public class QueueProvider {
 
     private void initName(String name) {
         basePath = name;
-        queue = ChronicleQueueBuilder.single(basePath).build();
+        queue = buildQueue(basePath);
         logger.info(queue.toString());
     }
 
     private void init(String name) {
         basePath = System.getProperty("java.io.tmpdir") + File.separator + name;
-        queue = ChronicleQueueBuilder.single(basePath).build();
+        queue = buildQueue(basePath);
         logger.info(queue.toString());
     }
 
+    private SingleChronicleQueue buildQueue(String path) {
+        return ChronicleQueueBuilder.single(path)
+                .rollCycle(RollCycles.DAILY)
+                .storeFileListener(this::onReleased)
+                .build();
+    }
+
+    private void onReleased(int cycle, File file) {
+        if (queue != null && cycle <= queue.cycle() - RETENTION_CYCLES && file.exists()) {
+            if (!file.delete()) {
+                logger.warn("Unable to delete the expired queue file:{}", file.getAbsolutePath());
+            } else if (logger.isDebugEnabled()) {
+                logger.debug("Deleted the expired queue file:{}", file.getAbsolutePath());
+            }
+        }
+    }
+
     public ChronicleQueue getQueue() {
         return queue;
     }
@@ -15,14 +15,11 @@
  */
 package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
 
-import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.IOException;
-import java.io.ObjectOutputStream;
 import java.util.EnumSet;
 
-import net.openhft.chronicle.bytes.Bytes;
 import net.openhft.chronicle.queue.ExcerptAppender;
+import net.openhft.chronicle.queue.ExcerptTailer;
 import org.apache.commons.lang3.StringUtils;
 import org.kie.workbench.common.services.backend.compiler.AFCompiler;
 import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
@@ -38,13 +35,20 @@ import org.slf4j.LoggerFactory;
 import org.uberfire.java.nio.file.Paths;
 
 /***
- * Class invoked through the main method, by the CompilerIPCCoordinatorImpl when the compile method is called to run a offProcess build
+ * Class invoked through the main method, by the CompilerIPCCoordinatorImpl when the compile method is called to run a offProcess build.
+ * When started with the worker mode flag the process stays alive and serves the build requests read from its control queue,
+ * reusing the same compiler (and its Maven container) between builds.
  */
 public class ServerIPCImpl {
 
+    public static final String WORKER_MODE = "--worker";
     private static Logger logger = LoggerFactory.getLogger(ServerIPCImpl.class);
 
     public static void main(String[] args) throws Exception {
+        if (args.length > 0 && WORKER_MODE.equals(args[0])) {
+            runWorker(args);
+            return;
+        }
         checksParamsNumber(args);
         String uuid = args[0];
         checksUUIDLength(uuid);
@@ -62,6 +66,63 @@ public class ServerIPCImpl {
         Thread.currentThread().setName(threadName);// restore the previous name to avoid the override of the maven output
     }
 
+    private static void runWorker(String[] args) throws Exception {
+        checksParamsNumber(args);
+        String controlQueueName = args[1];
+        checksQueueNameLenght(controlQueueName);
+        String queueName = args[2];
+        checksQueueNameLenght(queueName);
+        int maxBuilds = Integer.parseInt(args[3]);
+        double maxHeapUsageRatio = Double.parseDouble(args[4]);
+        String threadName = Thread.currentThread().getName();
+        QueueProvider control = new QueueProvider(controlQueueName, true);
+        QueueProvider provider = new QueueProvider(queueName, true);
+        try {
+            serve(control, provider, maxBuilds, maxHeapUsageRatio);
+        } finally {
+            Thread.currentThread().setName(threadName);
+            control.cleanQueue();
+            provider.cleanQueue();
+        }
+    }
+
+    private static void serve(QueueProvider control, QueueProvider provider, int maxBuilds, double maxHeapUsageRatio) throws Exception {
+        final AFCompiler compiler = getCompiler();
+        ExcerptTailer tailer = control.getQueue().createTailer();
+        int builds = 0;
+        while (true) {
+            WorkerMessage msg = WorkerMessage.read(tailer);
+            if (msg == null) {
+                Thread.sleep(CompilerWorker.POLL_INTERVAL_MILLIS);
+                continue;
+            }
+            if (msg.getType() == WorkerMessage.Type.SHUTDOWN) {
+                return;
+            }
+            if (msg.getType() != WorkerMessage.Type.REQUEST) {
+                continue;
+            }
+            try {
+                execute(compiler, msg.getProjectPath(), msg.getMavenRepo(), msg.getAlternateSettingsAbsPath(), msg.getUuid(), provider);
+            } catch (Exception e) {
+                logger.error(e.getMessage(), e);
+            }
+            builds++;
+            boolean retire = builds >= maxBuilds || isHeapUsageAbove(maxHeapUsageRatio);
+            WorkerMessage.done(msg.getUuid(), retire).write(control.getQueue());
+            if (retire) {
+                logger.info("Worker retired after {} builds", builds);
+                return;
+            }
+        }
+    }
+
+    private static boolean isHeapUsageAbove(double maxHeapUsageRatio) {
+        Runtime runtime = Runtime.getRuntime();
+        long used = runtime.totalMemory() - runtime.freeMemory();
+        return ((double) used / runtime.maxMemory()) > maxHeapUsageRatio;
+    }
+
     private static void checksQueueNameLenght(String queueName) {
         if(StringUtils.isEmpty(queueName) || queueName.length() < 5){
             logger.error("uuid too short, less than 5 chars:{}", queueName);
@@ -105,28 +166,30 @@ public class ServerIPCImpl {
     }
 
     public static void execute(String workingDir, String mavenRepo, String alternateSettingsAbsPath, String uuid, QueueProvider provider) throws Exception {
-        DefaultKieCompilationResponseOffProcess res = build(workingDir, mavenRepo, alternateSettingsAbsPath, uuid);
-        byte[] bytez = serialize(res);
-        if (bytez == null) {
-            logger.warn("The serialized response is null, working dir:{}\n mavenrepo:{} \n alternateSettingsAbsPath:{} \n uuid:{}", workingDir, mavenRepo, alternateSettingsAbsPath, uuid);
-            return;
-        }
-        writeOnQueue(bytez, provider);
+        execute(getCompiler(), workingDir, mavenRepo, alternateSettingsAbsPath, uuid, provider);
+    }
+
+    private static void execute(AFCompiler compiler, String workingDir, String mavenRepo, String alternateSettingsAbsPath, String uuid, QueueProvider provider) throws Exception {
+        DefaultKieCompilationResponseOffProcess res = build(compiler, workingDir, mavenRepo, alternateSettingsAbsPath, uuid);
+        writeOnQueue(new CompilationResponseWireFormat(res), provider);
     }
 
-    private static void writeOnQueue(byte[] bytez, QueueProvider provider) {
+    private static void writeOnQueue(CompilationResponseWireFormat format, QueueProvider provider) {
         if(logger.isDebugEnabled()) {
             logger.debug("write On Queue");
         }
         ExcerptAppender appender = provider.getQueue().acquireAppender();
-        appender.writeBytes(Bytes.allocateDirect(bytez));
+        appender.writeBytes(format::writeTo);
         if(logger.isDebugEnabled()) {
             logger.debug("last index appended:{}", appender.lastIndexAppended());
         }
     }
 
-    private static DefaultKieCompilationResponseOffProcess build(String prjPath, String mavenRepo, String alternateSettingsAbsPath, String uuid) {
-        final AFCompiler compiler = KieMavenCompilerFactory.getCompiler(EnumSet.of(KieDecorator.ENABLE_LOGGING, KieDecorator.STORE_KIE_OBJECTS ));
+    private static AFCompiler getCompiler() {
+        return KieMavenCompilerFactory.getCompiler(EnumSet.of(KieDecorator.ENABLE_LOGGING, KieDecorator.STORE_KIE_OBJECTS ));
+    }
+
+    private static DefaultKieCompilationResponseOffProcess build(AFCompiler compiler, String prjPath, String mavenRepo, String alternateSettingsAbsPath, String uuid) {
         WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(Paths.get("file://"+prjPath));
         CompilationRequest req;
         if (StringUtils.isNotEmpty(alternateSettingsAbsPath)) {
@@ -152,13 +215,4 @@ public class ServerIPCImpl {
         KieCompilationResponse res = (KieCompilationResponse) compiler.compile(req);
         return new DefaultKieCompilationResponseOffProcess(res);
     }
-
-    private static byte[] serialize(Object obj) throws IOException {
-        try (ByteArrayOutputStream b = new ByteArrayOutputStream()) {
-            try (ObjectOutputStream o = new ObjectOutputStream(b)) {
-                o.writeObject(obj);
-            }
-            return b.toByteArray();
-        }
-    }
 }
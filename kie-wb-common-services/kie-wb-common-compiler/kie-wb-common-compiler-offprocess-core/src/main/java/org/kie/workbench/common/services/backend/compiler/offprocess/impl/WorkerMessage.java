@@ -0,0 +1,118 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import net.openhft.chronicle.queue.ChronicleQueue;
+import net.openhft.chronicle.queue.ExcerptTailer;
+
+/***
+ * Message exchanged on the control queue between the CompilerWorker (coordinator side)
+ * and a long lived ServerIPCImpl worker process
+ */
+class WorkerMessage {
+
+    enum Type {
+        REQUEST,
+        DONE,
+        SHUTDOWN
+    }
+
+    private static final String TYPE = "type";
+    private static final String UUID = "uuid";
+    private static final String PROJECT_PATH = "projectPath";
+    private static final String MAVEN_REPO = "mavenRepo";
+    private static final String SETTINGS = "settings";
+    private static final String RETIRE = "retire";
+
+    private final Type type;
+    private final String uuid;
+    private final String projectPath;
+    private final String mavenRepo;
+    private final String alternateSettingsAbsPath;
+    private final boolean retire;
+
+    private WorkerMessage(Type type, String uuid, String projectPath, String mavenRepo, String alternateSettingsAbsPath, boolean retire) {
+        this.type = type;
+        this.uuid = nullToEmpty(uuid);
+        this.projectPath = nullToEmpty(projectPath);
+        this.mavenRepo = nullToEmpty(mavenRepo);
+        this.alternateSettingsAbsPath = nullToEmpty(alternateSettingsAbsPath);
+        this.retire = retire;
+    }
+
+    static WorkerMessage request(String uuid, String projectPath, String mavenRepo, String alternateSettingsAbsPath) {
+        return new WorkerMessage(Type.REQUEST, uuid, projectPath, mavenRepo, alternateSettingsAbsPath, false);
+    }
+
+    static WorkerMessage done(String uuid, boolean retire) {
+        return new WorkerMessage(Type.DONE, uuid, "", "", "", retire);
+    }
+
+    static WorkerMessage shutdown() {
+        return new WorkerMessage(Type.SHUTDOWN, "", "", "", "", true);
+    }
+
+    /**
+     * Reads the next message from the tailer, returns null if there is no message available yet
+     */
+    static WorkerMessage read(ExcerptTailer tailer) {
+        final WorkerMessage[] holder = new WorkerMessage[1];
+        tailer.readDocument(wire -> holder[0] = new WorkerMessage(Type.valueOf(wire.read(TYPE).text()),
+                                                                  wire.read(UUID).text(),
+                                                                  wire.read(PROJECT_PATH).text(),
+                                                                  wire.read(MAVEN_REPO).text(),
+                                                                  wire.read(SETTINGS).text(),
+                                                                  wire.read(RETIRE).bool()));
+        return holder[0];
+    }
+
+    void write(ChronicleQueue queue) {
+        queue.acquireAppender().writeDocument(wire -> wire.write(TYPE).text(type.name())
+                .write(UUID).text(uuid)
+                .write(PROJECT_PATH).text(projectPath)
+                .write(MAVEN_REPO).text(mavenRepo)
+                .write(SETTINGS).text(alternateSettingsAbsPath)
+                .write(RETIRE).bool(retire));
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+
+    Type getType() {
+        return type;
+    }
+
+    String getUuid() {
+        return uuid;
+    }
+
+    String getProjectPath() {
+        return projectPath;
+    }
+
+    String getMavenRepo() {
+        return mavenRepo;
+    }
+
+    String getAlternateSettingsAbsPath() {
+        return alternateSettingsAbsPath;
+    }
+
+    boolean isRetire() {
+        return retire;
+    }
+}
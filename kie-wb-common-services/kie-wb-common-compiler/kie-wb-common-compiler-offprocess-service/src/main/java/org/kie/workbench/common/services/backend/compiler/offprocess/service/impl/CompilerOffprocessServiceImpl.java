@@ -18,9 +18,11 @@ package org.kie.workbench.common.services.backend.compiler.offprocess.service.im
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
 
 import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
-import org.kie.workbench.common.services.backend.compiler.offprocess.CompilerIPCCoordinator;
 import org.kie.workbench.common.services.backend.compiler.offprocess.impl.CompilerIPCCoordinatorImpl;
 import org.kie.workbench.common.services.backend.compiler.offprocess.impl.QueueProvider;
 import org.kie.workbench.common.services.backend.compiler.offprocess.service.CompilerOffprocessService;
@@ -28,8 +30,12 @@ import org.kie.workbench.common.services.backend.compiler.offprocess.service.Com
 public class CompilerOffprocessServiceImpl implements CompilerOffprocessService {
 
     private ExecutorService executor;
-    private CompilerIPCCoordinator compilerCoordinator;
+    private CompilerIPCCoordinatorImpl compilerCoordinator;
     private static final String defaultQueueName = "offprocess-queue";
+    static final String WORKER_POOL_SIZE = "org.kie.workbench.compiler.offprocess.workers";
+    static final String WORKER_MAX_BUILDS = "org.kie.workbench.compiler.offprocess.worker.maxBuilds";
+    static final String WORKER_MAX_HEAP_RATIO = "org.kie.workbench.compiler.offprocess.worker.maxHeapRatio";
+    static final String WORKER_BUILD_TIMEOUT = "org.kie.workbench.compiler.offprocess.worker.buildTimeout";
 
     public CompilerOffprocessServiceImpl(){
         this(Executors.newCachedThreadPool(), defaultQueueName);
@@ -41,7 +47,16 @@ public class CompilerOffprocessServiceImpl implements CompilerOffprocessService
 
     public CompilerOffprocessServiceImpl(ExecutorService executor, QueueProvider queueProvider){
         this.executor = executor;
-        compilerCoordinator = new CompilerIPCCoordinatorImpl(queueProvider);
+        compilerCoordinator = new CompilerIPCCoordinatorImpl(queueProvider,
+                                                             Integer.getInteger(WORKER_POOL_SIZE, 0),
+                                                             Integer.getInteger(WORKER_MAX_BUILDS, 100),
+                                                             Double.parseDouble(System.getProperty(WORKER_MAX_HEAP_RATIO, "0.8")),
+                                                             Long.getLong(WORKER_BUILD_TIMEOUT, TimeUnit.MINUTES.toMillis(10)));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        compilerCoordinator.shutdown();
     }
 
     @Override
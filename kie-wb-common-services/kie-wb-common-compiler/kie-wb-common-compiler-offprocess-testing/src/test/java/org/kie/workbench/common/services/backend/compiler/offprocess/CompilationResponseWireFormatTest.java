@@ -0,0 +1,111 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess;
+
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import net.openhft.chronicle.bytes.Bytes;
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponseOffProcess;
+import org.kie.workbench.common.services.backend.compiler.offprocess.impl.CompilationResponseWireFormat;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompilationResponseWireFormatTest {
+
+    private static final String TARGET = "/home/user/projects/myproject/target/classes/org/kie/example/";
+    private static final String REPO = "/home/user/.m2/repository/org/kie/example/dependency/1.0/";
+
+    @Test
+    public void roundTripTest() throws Exception {
+        DefaultKieCompilationResponseOffProcess res = createResponse(50);
+        Bytes<?> bytes = Bytes.elasticHeapByteBuffer(1024);
+        new CompilationResponseWireFormat(res).writeTo(bytes);
+
+        assertThat(CompilationResponseWireFormat.readRequestUUID(bytes)).isEqualTo("uuid-1234567890");
+        bytes.readPosition(0);
+        DefaultKieCompilationResponseOffProcess read = CompilationResponseWireFormat.read(bytes);
+
+        assertThat(read.getRequestUUID()).isEqualTo(res.getRequestUUID());
+        assertThat(read.isSuccessful()).isTrue();
+        assertThat(read.getWorkingDir()).isEqualTo(res.getWorkingDir());
+        assertThat(read.getMavenOutput()).isEqualTo(res.getMavenOutput());
+        assertThat(read.getTargetContent()).isEqualTo(res.getTargetContent());
+        assertThat(read.getDependencies()).isEqualTo(res.getDependencies());
+        assertThat(read.getEventTypeClasses()).isEqualTo(res.getEventTypeClasses());
+        assertThat(read.getProjectClassLoaderStore()).containsOnlyKeys(res.getProjectClassLoaderStore().keySet());
+        assertThat(read.getProjectClassLoaderStore().get("org/kie/example/Class1.class")).containsExactly(1, 2, 3);
+        assertThat(read.getKieModule()).isEmpty();
+        assertThat(read.getKieModuleMetaInfo()).isEmpty();
+    }
+
+    @Test
+    public void emptyResponseTest() throws Exception {
+        DefaultKieCompilationResponseOffProcess res = new DefaultKieCompilationResponseOffProcess(false, "uuid-1234567890");
+        Bytes<?> bytes = Bytes.elasticHeapByteBuffer(1024);
+        new CompilationResponseWireFormat(res).writeTo(bytes);
+        DefaultKieCompilationResponseOffProcess read = CompilationResponseWireFormat.read(bytes);
+
+        assertThat(read.getRequestUUID()).isEqualTo("uuid-1234567890");
+        assertThat(read.isSuccessful()).isFalse();
+        assertThat(read.getWorkingDir()).isNull();
+        assertThat(read.getMavenOutput()).isEmpty();
+        assertThat(read.getProjectClassLoaderStore()).isEmpty();
+    }
+
+    @Test
+    public void smallerThanJavaSerializationTest() throws Exception {
+        DefaultKieCompilationResponseOffProcess res = createResponse(2000);
+        Bytes<?> bytes = Bytes.elasticHeapByteBuffer(1024);
+        new CompilationResponseWireFormat(res).writeTo(bytes);
+        ByteArrayOutputStream serialized = new ByteArrayOutputStream();
+        try (ObjectOutputStream o = new ObjectOutputStream(serialized)) {
+            o.writeObject(res);
+        }
+        assertThat(bytes.readRemaining()).isLessThan(serialized.size());
+    }
+
+    private DefaultKieCompilationResponseOffProcess createResponse(int size) {
+        List<String> targetContent = new ArrayList<>();
+        List<String> dependencies = new ArrayList<>();
+        Set<String> events = new HashSet<>();
+        Map<String, byte[]> store = new HashMap<>();
+        for (int i = 0; i < size; i++) {
+            targetContent.add(TARGET + "Class" + i + ".class");
+            dependencies.add(REPO + "dependency-" + i + ".jar");
+            events.add("org.kie.example.Event" + i);
+            store.put("org/kie/example/Class" + i + ".class", new byte[]{1, 2, 3});
+        }
+        return new DefaultKieCompilationResponseOffProcess(true,
+                                                           null,
+                                                           null,
+                                                           store,
+                                                           Arrays.asList("[INFO] BUILD SUCCESS", "[INFO] Total time: 1 s"),
+                                                           targetContent,
+                                                           dependencies,
+                                                           "/home/user/projects/myproject",
+                                                           events,
+                                                           "uuid-1234567890");
+    }
+}
@@ -29,6 +29,7 @@ import org.kie.workbench.common.services.backend.compiler.impl.DefaultCompilatio
 import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.impl.WorkspaceCompilationInfo;
 import org.kie.workbench.common.services.backend.compiler.offprocess.impl.CompilerIPCCoordinatorImpl;
+import org.kie.workbench.common.services.backend.compiler.offprocess.impl.CompilerWorkerPool;
 import org.kie.workbench.common.services.backend.compiler.offprocess.impl.QueueProvider;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -123,4 +124,35 @@ public class CompilerChronicleCoordinatorTest {
         DefaultKieCompilationResponse secondKres = (DefaultKieCompilationResponse) secondRes;
         assertThat(secondUuid).isEqualToIgnoringCase(secondKres.getRequestUUID());
     }
-}
\ No newline at end of file
+
+    @Test
+    public void offProcessWorkerPoolBuildsTest() {
+        CompilerIPCCoordinatorImpl compiler = new CompilerIPCCoordinatorImpl(queueProvider, 1, 1, 0.9);
+        WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(prjPath);
+        try {
+            for (int i = 0; i < 2; i++) {
+                String uuid = UUID.randomUUID().toString();
+                CompilationRequest req = new DefaultCompilationRequest(mavenRepo,
+                                                                       info,
+                                                                       new String[]{
+                                                                               MavenCLIArgs.COMPILE,
+                                                                               MavenCLIArgs.ALTERNATE_USER_SETTINGS + alternateSettingsAbsPath
+                                                                       },
+                                                                       Boolean.FALSE, uuid);
+                CompilationResponse res = compiler.compile(req);
+                assertThat(res).isNotNull();
+                assertThat(res.isSuccessful()).isTrue();
+                DefaultKieCompilationResponse kres = (DefaultKieCompilationResponse) res;
+                assertThat(uuid).isEqualToIgnoringCase(kres.getRequestUUID());
+            }
+            assertThat(compiler.getWorkerPools()).hasSize(1);
+            CompilerWorkerPool pool = compiler.getWorkerPools().iterator().next();
+            assertThat(pool.getCompletedBuilds()).isEqualTo(2);
+            // each worker is recycled after one build
+            assertThat(pool.getPoolSize()).isEqualTo(0);
+            assertThat(pool.getQueueDepth()).isEqualTo(0);
+        } finally {
+            compiler.shutdown();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.offprocess.impl.CompilerWorkerPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompilerWorkerPoolTest {
+
+    private String queueBasePath;
+    private List<Process> processes;
+
+    @Before
+    public void setup() {
+        queueBasePath = System.getProperty("java.io.tmpdir") + File.separator + "offprocess-worker-pool-test-" + UUID.randomUUID().toString();
+        processes = new ArrayList<>();
+    }
+
+    @Test
+    public void hungWorkerIsKilledAfterTheBuildTimeoutTest() throws Exception {
+        CompilerWorkerPool pool = new CompilerWorkerPool(queueBasePath, 1, controlQueuePath -> launch("sleep", "60"), 500);
+        try {
+            assertThat(pool.build(UUID.randomUUID().toString(), "prj", "repo", "")).isFalse();
+            assertThat(processes).hasSize(1);
+            assertThat(processes.get(0).waitFor(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(pool.getFailedBuilds()).isEqualTo(1);
+            assertThat(pool.getCompletedBuilds()).isEqualTo(0);
+            assertThat(pool.getAverageBuildMillis()).isEqualTo(0);
+            assertThat(pool.getPoolSize()).isEqualTo(0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void deadWorkerIsCountedAsFailedBuildTest() throws Exception {
+        CompilerWorkerPool pool = new CompilerWorkerPool(queueBasePath, 1, controlQueuePath -> launch("true"), 60000);
+        try {
+            assertThat(pool.build(UUID.randomUUID().toString(), "prj", "repo", "")).isFalse();
+            assertThat(pool.getFailedBuilds()).isEqualTo(1);
+            assertThat(pool.getCompletedBuilds()).isEqualTo(0);
+            assertThat(pool.getLastBuildMillis()).isEqualTo(0);
+            assertThat(pool.getPoolSize()).isEqualTo(0);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private Process launch(String... command) throws IOException {
+        Process process = new ProcessBuilder(command).start();
+        processes.add(process);
+        return process;
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.offprocess.impl;
+
+import java.io.IOException;
+
+import net.openhft.chronicle.queue.ExcerptAppender;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponseOffProcess;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class ClientIPCImplTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private QueueProvider provider;
+    private ClientIPCImpl client;
+
+    @Before
+    public void setup() throws Exception {
+        provider = new QueueProvider(temporaryFolder.newFolder("queue").getAbsolutePath(), true);
+        client = new ClientIPCImpl(new ResponseSharedMap(), provider);
+    }
+
+    @After
+    public void tearDown() {
+        provider.cleanQueue();
+    }
+
+    @Test
+    public void responseFoundByUUIDTest() throws Exception {
+        writeResponse("uuid-1");
+        writeResponse("uuid-2");
+        writeResponse("uuid-3");
+
+        assertThat(client.getResponse("uuid-2").isSuccessful()).isTrue();
+        // uuid-1 was indexed while looking for uuid-2, uuid-3 is read after it
+        assertThat(client.getResponse("uuid-1").isSuccessful()).isTrue();
+        assertThat(client.getResponse("uuid-3").isSuccessful()).isTrue();
+    }
+
+    @Test
+    public void responseNotFoundTest() throws Exception {
+        writeResponse("uuid-1");
+
+        assertThat(client.getResponse("uuid-unknown").isSuccessful()).isFalse();
+        assertThat(client.getResponse("uuid-1").isSuccessful()).isTrue();
+        // a response is returned only once
+        assertThat(client.getResponse("uuid-1").isSuccessful()).isFalse();
+    }
+
+    @Test
+    public void eldestResponsesEvictedPastTheMaxIndexedTest() throws Exception {
+        writeResponse("uuid-eldest");
+        for (int i = 0; i < ClientIPCImpl.MAX_INDEXED_RESPONSES; i++) {
+            writeResponse("uuid-" + i);
+        }
+        writeResponse("uuid-last");
+
+        assertThat(client.getResponse("uuid-last").isSuccessful()).isTrue();
+        assertThat(client.getResponse("uuid-eldest").isSuccessful()).isFalse();
+        assertThat(client.getResponse("uuid-0").isSuccessful()).isTrue();
+    }
+
+    private void writeResponse(String uuid) throws IOException {
+        CompilationResponseWireFormat format = new CompilationResponseWireFormat(new DefaultKieCompilationResponseOffProcess(true, uuid));
+        ExcerptAppender appender = provider.getQueue().acquireAppender();
+        appender.writeBytes(format::writeTo);
+    }
+}
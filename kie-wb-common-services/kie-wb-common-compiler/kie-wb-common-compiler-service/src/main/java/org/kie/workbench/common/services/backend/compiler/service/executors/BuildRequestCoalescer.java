@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.service.executors;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * Runs at most one build at a time for the same key (project, goals, settings).
+ * A request arriving before the build of its key is started shares the result of that build,
+ * a request arriving while the build is running is queued as a single trailing build shared by all the requests
+ * arriving in the meantime, so the changes saved during a build are always compiled.
+ * A request sharing the build of another request gets the result of that build passed through its own
+ * forRequest function, e.g. to carry its own request UUID.
+ */
+class BuildRequestCoalescer<K, R> {
+
+    private final ExecutorService executor;
+    private final Map<K, Flight> flights = new HashMap<>();
+    private final AtomicLong executedBuilds = new AtomicLong();
+    private final AtomicLong coalescedBuilds = new AtomicLong();
+
+    BuildRequestCoalescer(ExecutorService executor) {
+        this.executor = executor;
+    }
+
+    CompletableFuture<R> submit(K key, Supplier<R> build) {
+        return submit(key, build, null);
+    }
+
+    /**
+     * @param forRequest applied to the result of the build of another request, when this request shares it,
+     * null to share the same result
+     */
+    CompletableFuture<R> submit(K key, Supplier<R> build, UnaryOperator<R> forRequest) {
+        synchronized (flights) {
+            Flight flight = flights.get(key);
+            if (flight == null) {
+                flight = new Flight(build);
+                flights.put(key, flight);
+                start(key, flight);
+                return flight.result;
+            }
+            if (!flight.started) {
+                coalescedBuilds.incrementAndGet();
+                return share(flight, forRequest);
+            }
+            if (flight.trailing == null) {
+                flight.trailing = new Flight(build);
+                return flight.trailing.result;
+            }
+            coalescedBuilds.incrementAndGet();
+            return share(flight.trailing, forRequest);
+        }
+    }
+
+    private CompletableFuture<R> share(Flight flight, UnaryOperator<R> forRequest) {
+        return forRequest == null ? flight.result : flight.result.thenApply(forRequest);
+    }
+
+    private void start(K key, Flight flight) {
+        executedBuilds.incrementAndGet();
+        try {
+            CompletableFuture.supplyAsync(() -> {
+                synchronized (flights) {
+                    flight.started = true;
+                }
+                return flight.build.get();
+            }, executor).whenComplete((res, error) -> complete(key, flight, res, error));
+        } catch (RuntimeException e) {
+            complete(key, flight, null, e);
+        }
+    }
+
+    private void complete(K key, Flight flight, R res, Throwable error) {
+        Flight next;
+        synchronized (flights) {
+            next = flight.trailing;
+            if (next == null) {
+                flights.remove(key);
+            } else {
+                flights.put(key, next);
+                start(key, next);
+            }
+        }
+        if (error != null) {
+            flight.result.completeExceptionally(error);
+        } else {
+            flight.result.complete(res);
+        }
+    }
+
+    /**
+     * Number of the builds executed
+     */
+    long getExecutedBuilds() {
+        return executedBuilds.get();
+    }
+
+    /**
+     * Number of the requests served by a build executed for another request
+     */
+    long getCoalescedBuilds() {
+        return coalescedBuilds.get();
+    }
+
+    private class Flight {
+
+        private final Supplier<R> build;
+        private final CompletableFuture<R> result = new CompletableFuture<>();
+        private boolean started;
+        private Flight trailing;
+
+        private Flight(Supplier<R> build) {
+            this.build = build;
+        }
+    }
+}
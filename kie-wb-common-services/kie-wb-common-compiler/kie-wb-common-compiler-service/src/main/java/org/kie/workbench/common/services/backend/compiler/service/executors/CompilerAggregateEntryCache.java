@@ -15,16 +15,25 @@
  */
 package org.kie.workbench.common.services.backend.compiler.service.executors;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import org.kie.workbench.common.services.backend.compiler.AFCompiler;
 import org.kie.workbench.common.services.backend.compiler.impl.WorkspaceCompilationInfo;
 
 /**
- * Used to store in a cache related objects
+ * Used to store in a cache related objects.
+ * When evicted the internal caches of the compiler are released, as soon as no build is running on it
  */
 class CompilerAggregateEntryCache {
 
     private AFCompiler compiler;
     private WorkspaceCompilationInfo info;
+    private volatile long weight;
+    private volatile long lastAccess = System.currentTimeMillis();
+    private final AtomicInteger runningBuilds = new AtomicInteger();
+    private final AtomicBoolean released = new AtomicBoolean();
+    private volatile boolean evicted;
 
     public CompilerAggregateEntryCache(AFCompiler compiler,
                                        WorkspaceCompilationInfo info) {
@@ -43,4 +52,43 @@ class CompilerAggregateEntryCache {
     public void setInfo(WorkspaceCompilationInfo info) {
         this.info = info;
     }
+
+    long getWeight() {
+        return weight;
+    }
+
+    void setWeight(long weight) {
+        this.weight = weight;
+    }
+
+    long getLastAccess() {
+        return lastAccess;
+    }
+
+    void touch(long now) {
+        lastAccess = now;
+    }
+
+    void buildStarted() {
+        runningBuilds.incrementAndGet();
+    }
+
+    void buildCompleted() {
+        if (runningBuilds.decrementAndGet() == 0 && evicted) {
+            release();
+        }
+    }
+
+    void evict() {
+        evicted = true;
+        if (runningBuilds.get() == 0) {
+            release();
+        }
+    }
+
+    private void release() {
+        if (released.compareAndSet(false, true)) {
+            compiler.cleanInternalCache();
+        }
+    }
 }
@@ -0,0 +1,218 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.service.executors;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * LRU cache of the compilers bounded by the estimated retained bytes of the entries instead of their number.
+ * The weight of an entry is estimated from its last build (generated classes, dependencies, target content),
+ * the entries not used for longer than the idle time are expired on the next access.
+ */
+public class CompilerCache<K> {
+
+    public static final long DEFAULT_MAX_WEIGHT = 512L * 1024 * 1024;
+    public static final long DEFAULT_MAX_IDLE_MILLIS = 30L * 60 * 1000;
+
+    /**
+     * Estimated size of the Maven container and models kept by a compiler between the builds
+     */
+    static final long COMPILER_BASE_WEIGHT = 8L * 1024 * 1024;
+    static final long DEPENDENCY_WEIGHT = 2 * 1024;
+    static final long TARGET_CONTENT_WEIGHT = 512;
+
+    private static final Logger logger = LoggerFactory.getLogger(CompilerCache.class);
+
+    private final long maxWeight;
+    private final long maxIdleMillis;
+    private final LinkedHashMap<K, CompilerAggregateEntryCache> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long residentWeight;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    public CompilerCache() {
+        this(DEFAULT_MAX_WEIGHT, DEFAULT_MAX_IDLE_MILLIS);
+    }
+
+    public CompilerCache(long maxWeight, long maxIdleMillis) {
+        this.maxWeight = maxWeight;
+        this.maxIdleMillis = maxIdleMillis;
+    }
+
+    synchronized CompilerAggregateEntryCache getEntry(K key) {
+        long now = System.currentTimeMillis();
+        expireIdleEntries(now);
+        CompilerAggregateEntryCache entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        hits++;
+        entry.touch(now);
+        return entry;
+    }
+
+    /**
+     * Returns the entry of the key, created when missing, with a build already started on it under the cache lock,
+     * so an eviction can't release its compiler before the caller calls {@link CompilerAggregateEntryCache#buildCompleted()}
+     */
+    synchronized CompilerAggregateEntryCache acquireEntry(K key, Function<K, CompilerAggregateEntryCache> factory) {
+        CompilerAggregateEntryCache entry = getEntry(key);
+        if (entry == null || entry.getCompiler() == null) {
+            entry = factory.apply(key);
+            setEntry(key, entry);
+        }
+        entry.buildStarted();
+        return entry;
+    }
+
+    synchronized void setEntry(K key, CompilerAggregateEntryCache entry) {
+        entry.setWeight(COMPILER_BASE_WEIGHT);
+        entry.touch(System.currentTimeMillis());
+        CompilerAggregateEntryCache previous = entries.put(key, entry);
+        if (previous != null) {
+            residentWeight -= previous.getWeight();
+            if (previous != entry) {
+                evict(key, previous);
+            }
+        }
+        residentWeight += entry.getWeight();
+        evictOverweightEntries(key);
+    }
+
+    /**
+     * Updates the weight of the entry with the content of its last build
+     */
+    synchronized void updateWeight(K key, CompilerAggregateEntryCache entry, KieCompilationResponse res) {
+        if (entries.get(key) != entry) {
+            return;
+        }
+        long weight = estimateWeight(res);
+        residentWeight += weight - entry.getWeight();
+        entry.setWeight(weight);
+        evictOverweightEntries(key);
+    }
+
+    public synchronized void invalidateCache(K key) {
+        CompilerAggregateEntryCache entry = entries.remove(key);
+        if (entry != null) {
+            residentWeight -= entry.getWeight();
+            evict(key, entry);
+        }
+    }
+
+    public synchronized void invalidateCache() {
+        for (K key : new ArrayList<>(entries.keySet())) {
+            invalidateCache(key);
+        }
+    }
+
+    static long estimateWeight(KieCompilationResponse res) {
+        long weight = COMPILER_BASE_WEIGHT;
+        Map<String, byte[]> store = res.getProjectClassLoaderStore();
+        if (store != null) {
+            for (Map.Entry<String, byte[]> item : store.entrySet()) {
+                weight += item.getKey().length() * 2L + (item.getValue() != null ? item.getValue().length : 0);
+            }
+        }
+        List<String> dependencies = res.getDependencies();
+        if (dependencies != null) {
+            weight += dependencies.size() * DEPENDENCY_WEIGHT;
+        }
+        List<String> targetContent = res.getTargetContent();
+        if (targetContent != null) {
+            weight += targetContent.size() * TARGET_CONTENT_WEIGHT;
+        }
+        return weight;
+    }
+
+    private void expireIdleEntries(long now) {
+        Iterator<Map.Entry<K, CompilerAggregateEntryCache>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<K, CompilerAggregateEntryCache> item = it.next();
+            if (now - item.getValue().getLastAccess() <= maxIdleMillis) {
+                // access ordered, the following entries are more recent
+                return;
+            }
+            it.remove();
+            residentWeight -= item.getValue().getWeight();
+            evict(item.getKey(), item.getValue());
+        }
+    }
+
+    private void evictOverweightEntries(K keep) {
+        Iterator<Map.Entry<K, CompilerAggregateEntryCache>> it = entries.entrySet().iterator();
+        while (residentWeight > maxWeight && it.hasNext()) {
+            Map.Entry<K, CompilerAggregateEntryCache> item = it.next();
+            if (item.getKey().equals(keep)) {
+                continue;
+            }
+            it.remove();
+            residentWeight -= item.getValue().getWeight();
+            evict(item.getKey(), item.getValue());
+        }
+    }
+
+    private void evict(K key, CompilerAggregateEntryCache entry) {
+        evictions++;
+        if (logger.isDebugEnabled()) {
+            logger.debug("Evicting compiler of {} with estimated weight {} bytes", key, entry.getWeight());
+        }
+        try {
+            entry.evict();
+        } catch (Exception e) {
+            logger.error(e.getMessage(), e);
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    /**
+     * @return the estimated retained bytes of the cached compilers
+     */
+    public synchronized long getResidentWeight() {
+        return residentWeight;
+    }
+
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    public synchronized double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
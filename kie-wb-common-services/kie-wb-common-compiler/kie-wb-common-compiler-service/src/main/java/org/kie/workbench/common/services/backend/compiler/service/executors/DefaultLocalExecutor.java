@@ -16,43 +16,57 @@
 package org.kie.workbench.common.services.backend.compiler.service.executors;
 
 import java.io.InputStream;
+import java.util.Arrays;
 import java.util.EnumSet;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 
-import org.guvnor.common.services.backend.cache.LRUCache;
 import org.kie.workbench.common.services.backend.compiler.AFCompiler;
 import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
 import org.kie.workbench.common.services.backend.compiler.configuration.KieDecorator;
 import org.kie.workbench.common.services.backend.compiler.configuration.MavenCLIArgs;
 import org.kie.workbench.common.services.backend.compiler.impl.DefaultCompilationRequest;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.impl.WorkspaceCompilationInfo;
 import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.impl.kie.KieMavenCompilerFactory;
 import org.uberfire.java.nio.file.Path;
 
 /**
- * Implementation for a local build requested by a local execution (Contains NIO Objects)
+ * Implementation for a local build requested by a local execution (Contains NIO Objects).
+ * Concurrent identical builds of the same project are coalesced, see {@link BuildRequestCoalescer}
  */
 public class DefaultLocalExecutor implements CompilerExecutor {
 
     private ExecutorService executor;
-    private LRUCache<Path, CompilerAggregateEntryCache> compilerCacheForLocalInvocation;
+    private CompilerCache<Path> compilerCacheForLocalInvocation;
+    private BuildRequestCoalescer<List<Object>, KieCompilationResponse> coalescer;
 
     public DefaultLocalExecutor(ExecutorService executorService) {
+        this(executorService,
+             new CompilerCache<>());
+    }
+
+    public DefaultLocalExecutor(ExecutorService executorService,
+                                CompilerCache<Path> compilerCache) {
         executor = executorService;
-        compilerCacheForLocalInvocation = new LRUCache<Path, CompilerAggregateEntryCache>() {
-        };
+        coalescer = new BuildRequestCoalescer<>(executorService);
+        compilerCacheForLocalInvocation = compilerCache;
     }
 
-    private AFCompiler getCompiler(Path projectPath) {
-        CompilerAggregateEntryCache info = compilerCacheForLocalInvocation.getEntry(projectPath);
-        if (info != null && info.getCompiler() != null) {
-            return info.getCompiler();
-        } else {
-            return getNewCachedAFCompiler(projectPath);
-        }
+    /**
+     * @return the cached compiler of the project with a build started on it, completed by {@link #releaseWhenDone}
+     */
+    private CompilerAggregateEntryCache getCompiler(Path projectPath) {
+        return compilerCacheForLocalInvocation.acquireEntry(projectPath,
+                                                           this::setupCompileInfo);
+    }
+
+    private CompletableFuture<KieCompilationResponse> releaseWhenDone(CompilerAggregateEntryCache entry,
+                                                                      CompletableFuture<KieCompilationResponse> result) {
+        return result.whenComplete((res, error) -> entry.buildCompleted());
     }
 
     private CompilationRequest getDefaultRequest(String mavenRepoPath,
@@ -65,11 +79,18 @@ public class DefaultLocalExecutor implements CompilerExecutor {
                                              skipProjectDepCreation);
     }
 
-    private AFCompiler getNewCachedAFCompiler(Path projectPath) {
-        CompilerAggregateEntryCache info = setupCompileInfo(projectPath);
-        compilerCacheForLocalInvocation.setEntry(projectPath,
-                                                 info);
-        return info.getCompiler();
+    private KieCompilationResponse compile(Path projectPath,
+                                           CompilerAggregateEntryCache entry,
+                                           CompilationRequest req,
+                                           Map<Path, InputStream> override) {
+        KieCompilationResponse res = (KieCompilationResponse) (override == null ?
+                entry.getCompiler().compile(req) :
+                entry.getCompiler().compile(req,
+                                            override));
+        compilerCacheForLocalInvocation.updateWeight(projectPath,
+                                                     entry,
+                                                     res);
+        return res;
     }
 
     private CompilerAggregateEntryCache setupCompileInfo(Path workingDir) {
@@ -89,7 +110,7 @@ public class DefaultLocalExecutor implements CompilerExecutor {
                                                                     boolean skipProjectDepCreation,
                                                                     String goal) {
         WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(projectPath);
-        AFCompiler compiler = getCompiler(projectPath);
+        CompilerAggregateEntryCache entry = getCompiler(projectPath);
         CompilationRequest req;
         if (settingXML != null) {
             req = getDefaultRequest(mavenRepoPath,
@@ -102,8 +123,7 @@ public class DefaultLocalExecutor implements CompilerExecutor {
                                     skipProjectDepCreation,
                                     new String[]{goal});
         }
-        return CompletableFuture.supplyAsync(() -> ((KieCompilationResponse) compiler.compile(req)),
-                                             executor);
+        return coalesce(projectPath, mavenRepoPath, skipProjectDepCreation, req, entry);
     }
 
     private CompletableFuture<KieCompilationResponse> internalBuild(Path projectPath,
@@ -111,13 +131,52 @@ public class DefaultLocalExecutor implements CompilerExecutor {
                                                                     boolean skipProjectDepCreation,
                                                                     String[] args) {
         WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(projectPath);
-        AFCompiler compiler = getCompiler(projectPath);
+        CompilerAggregateEntryCache entry = getCompiler(projectPath);
         CompilationRequest req = getDefaultRequest(mavenRepoPath,
                                                    info,
                                                    skipProjectDepCreation,
                                                    args);
-        return CompletableFuture.supplyAsync(() -> ((KieCompilationResponse) compiler.compile(req)),
-                                             executor);
+        return coalesce(projectPath, mavenRepoPath, skipProjectDepCreation, req, entry);
+    }
+
+    private CompletableFuture<KieCompilationResponse> coalesce(Path projectPath,
+                                                               String mavenRepoPath,
+                                                               boolean skipProjectDepCreation,
+                                                               CompilationRequest req,
+                                                               CompilerAggregateEntryCache entry) {
+        List<Object> key = Arrays.asList(projectPath,
+                                         mavenRepoPath,
+                                         skipProjectDepCreation,
+                                         Arrays.asList(req.getOriginalArgs()));
+        return releaseWhenDone(entry,
+                               coalescer.submit(key,
+                                                () -> compile(projectPath,
+                                                              entry,
+                                                              req,
+                                                              null),
+                                                res -> new DefaultKieCompilationResponse(res,
+                                                                                         req.getRequestUUID())));
+    }
+
+    /**
+     * @return the cache of the compilers, to read its hit rate and estimated resident size
+     */
+    public CompilerCache<Path> getCompilerCache() {
+        return compilerCacheForLocalInvocation;
+    }
+
+    /**
+     * @return the number of the builds executed, excluding the builds with overridden resources
+     */
+    public long getExecutedBuilds() {
+        return coalescer.getExecutedBuilds();
+    }
+
+    /**
+     * @return the number of the build requests served by a build executed for another identical request
+     */
+    public long getCoalescedBuilds() {
+        return coalescer.getCoalescedBuilds();
     }
 
     private CompletableFuture<KieCompilationResponse> internalBuild(Path projectPath,
@@ -127,7 +186,7 @@ public class DefaultLocalExecutor implements CompilerExecutor {
                                                                     String goal,
                                                                     Map<Path, InputStream> override) {
         WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(projectPath);
-        AFCompiler compiler = getCompiler(projectPath);
+        CompilerAggregateEntryCache entry = getCompiler(projectPath);
         CompilationRequest req;
         if (settingXML != null) {
             req = getDefaultRequest(mavenRepoPath,
@@ -140,9 +199,12 @@ public class DefaultLocalExecutor implements CompilerExecutor {
                                     skipProjectDepCreation,
                                     new String[]{goal});
         }
-        return CompletableFuture.supplyAsync(() -> ((KieCompilationResponse) compiler.compile(req,
-                                                                                              override)),
-                                             executor);
+        return releaseWhenDone(entry,
+                               CompletableFuture.supplyAsync(() -> compile(projectPath,
+                                                                           entry,
+                                                                           req,
+                                                                           override),
+                                                             executor));
     }
 
     /************************************ Suitable for the Local Builds ***********************************************/
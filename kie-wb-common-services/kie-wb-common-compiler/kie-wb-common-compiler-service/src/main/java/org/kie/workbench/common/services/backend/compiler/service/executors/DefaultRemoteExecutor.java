@@ -15,16 +15,18 @@
  */
 package org.kie.workbench.common.services.backend.compiler.service.executors;
 
+import java.util.Arrays;
+import java.util.List;
 import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ExecutorService;
 
-import org.guvnor.common.services.backend.cache.LRUCache;
 import org.kie.workbench.common.services.backend.compiler.AFCompiler;
 import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
 import org.kie.workbench.common.services.backend.compiler.configuration.KieDecorator;
 import org.kie.workbench.common.services.backend.compiler.configuration.MavenCLIArgs;
 import org.kie.workbench.common.services.backend.compiler.impl.BaseMavenCompiler;
 import org.kie.workbench.common.services.backend.compiler.impl.DefaultCompilationRequest;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
 import org.kie.workbench.common.services.backend.compiler.impl.WorkspaceCompilationInfo;
 import org.kie.workbench.common.services.backend.compiler.impl.decorators.ClasspathDepsAfterDecorator;
 import org.kie.workbench.common.services.backend.compiler.impl.decorators.KieAfterDecorator;
@@ -33,32 +35,36 @@ import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilatio
 import org.uberfire.java.nio.file.Paths;
 
 /**
- * Implementation for a local build requested by a remote execution
+ * Implementation for a local build requested by a remote execution.
+ * Concurrent identical builds of the same project are coalesced, see {@link BuildRequestCoalescer}
  */
 public class DefaultRemoteExecutor implements RemoteExecutor {
 
     private ExecutorService executor;
-    private LRUCache<String, CompilerAggregateEntryCache> compilerCacheForRemoteInvocation;
+    private CompilerCache<String> compilerCacheForRemoteInvocation;
+    private BuildRequestCoalescer<List<Object>, KieCompilationResponse> coalescer;
 
     public DefaultRemoteExecutor(ExecutorService executorService) {
+        this(executorService, new CompilerCache<>());
+    }
+
+    public DefaultRemoteExecutor(ExecutorService executorService, CompilerCache<String> compilerCache) {
         executor = executorService;
-        compilerCacheForRemoteInvocation = new LRUCache<String, CompilerAggregateEntryCache>() {
-        };
+        coalescer = new BuildRequestCoalescer<>(executorService);
+        compilerCacheForRemoteInvocation = compilerCache;
     }
 
-    private AFCompiler getCompiler(String projectPath) {
-        CompilerAggregateEntryCache info = compilerCacheForRemoteInvocation.getEntry(projectPath);
-        if (info != null && info.getCompiler() != null) {
-            return info.getCompiler();
-        } else {
-            return getNewCachedAFCompiler(projectPath);
-        }
+    /**
+     * @return the cached compiler of the project with a build started on it, completed when the build of the request is done
+     */
+    private CompilerAggregateEntryCache getCompiler(String projectPath) {
+        return compilerCacheForRemoteInvocation.acquireEntry(projectPath, this::setupCompileInfo);
     }
 
-    private AFCompiler getNewCachedAFCompiler(String projectPath) {
-        CompilerAggregateEntryCache info = setupCompileInfo(projectPath);
-        compilerCacheForRemoteInvocation.setEntry(projectPath, info);
-        return info.getCompiler();
+    private KieCompilationResponse compile(String projectPath, CompilerAggregateEntryCache entry, CompilationRequest req) {
+        KieCompilationResponse res = (KieCompilationResponse) entry.getCompiler().compile(req);
+        compilerCacheForRemoteInvocation.updateWeight(projectPath, entry, res);
+        return res;
     }
 
     private CompilerAggregateEntryCache setupCompileInfo(String workingDir) {
@@ -70,7 +76,7 @@ public class DefaultRemoteExecutor implements RemoteExecutor {
     private CompletableFuture<KieCompilationResponse> internalBuild(String projectPath, String mavenRepoPath, String settingsXmlPath,
                                                                     boolean skipProjectDepCreation, String goal) {
         WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(Paths.get(projectPath));
-        AFCompiler compiler = getCompiler(projectPath);
+        CompilerAggregateEntryCache entry = getCompiler(projectPath);
         CompilationRequest req;
         if(settingsXmlPath != null) {
             req = new DefaultCompilationRequest(mavenRepoPath,
@@ -83,23 +89,48 @@ public class DefaultRemoteExecutor implements RemoteExecutor {
                                                 new String[]{goal},
                                                 skipProjectDepCreation);
         }
-        return runInItsOwnThread(compiler, req);
+        return runInItsOwnThread(projectPath, mavenRepoPath, skipProjectDepCreation, entry, req);
     }
 
     private CompletableFuture<KieCompilationResponse> internalBuild(String projectPath, String mavenRepoPath,
                                                                     boolean skipProjectDepCreation, String[] args) {
         WorkspaceCompilationInfo info = new WorkspaceCompilationInfo(Paths.get(projectPath));
-        AFCompiler compiler = getCompiler(projectPath);
+        CompilerAggregateEntryCache entry = getCompiler(projectPath);
         CompilationRequest req = new DefaultCompilationRequest(mavenRepoPath,
                                                                info,
                                                                args,
                                                                skipProjectDepCreation);
 
-        return runInItsOwnThread(compiler, req);
+        return runInItsOwnThread(projectPath, mavenRepoPath, skipProjectDepCreation, entry, req);
+    }
+
+    private CompletableFuture<KieCompilationResponse> runInItsOwnThread(String projectPath, String mavenRepoPath, boolean skipProjectDepCreation,
+                                                                        CompilerAggregateEntryCache entry, CompilationRequest req) {
+        List<Object> key = Arrays.asList(projectPath, mavenRepoPath, skipProjectDepCreation, Arrays.asList(req.getOriginalArgs()));
+        return coalescer.submit(key, () -> compile(projectPath, entry, req),
+                                res -> new DefaultKieCompilationResponse(res, req.getRequestUUID()))
+                .whenComplete((res, error) -> entry.buildCompleted());
+    }
+
+    /**
+     * @return the cache of the compilers, to read its hit rate and estimated resident size
+     */
+    public CompilerCache<String> getCompilerCache() {
+        return compilerCacheForRemoteInvocation;
+    }
+
+    /**
+     * @return the number of the builds executed
+     */
+    public long getExecutedBuilds() {
+        return coalescer.getExecutedBuilds();
     }
 
-    private CompletableFuture<KieCompilationResponse> runInItsOwnThread(AFCompiler compiler, CompilationRequest req) {
-        return CompletableFuture.supplyAsync(() -> ((KieCompilationResponse) compiler.compile(req)), executor);
+    /**
+     * @return the number of the build requests served by a build executed for another identical request
+     */
+    public long getCoalescedBuilds() {
+        return coalescer.getCoalescedBuilds();
     }
 
     /************************************ Suitable for the REST Builds ************************************************/
@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.service.executors;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+public class BuildRequestCoalescerTest {
+
+    private ExecutorService executorService;
+    private BuildRequestCoalescer<String, Integer> coalescer;
+    private AtomicInteger builds;
+
+    @Before
+    public void setUp() {
+        executorService = Executors.newSingleThreadExecutor();
+        coalescer = new BuildRequestCoalescer<>(executorService);
+        builds = new AtomicInteger();
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void requestsBeforeTheBuildStartsShareTheBuild() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+        executorService.submit(() -> awaitQuietly(blocker));
+
+        CompletableFuture<Integer> first = coalescer.submit("prj", builds::incrementAndGet);
+        CompletableFuture<Integer> second = coalescer.submit("prj", builds::incrementAndGet);
+        CompletableFuture<Integer> other = coalescer.submit("other", builds::incrementAndGet);
+        blocker.countDown();
+
+        assertThat(second).isSameAs(first);
+        assertThat(other).isNotSameAs(first);
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(other.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(coalescer.getExecutedBuilds()).isEqualTo(2);
+        assertThat(coalescer.getCoalescedBuilds()).isEqualTo(1);
+    }
+
+    @Test
+    public void requestsDuringTheBuildAreQueuedAsOneTrailingBuild() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        CompletableFuture<Integer> running = coalescer.submit("prj", () -> {
+            started.countDown();
+            awaitQuietly(release);
+            return builds.incrementAndGet();
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<Integer> trailing = coalescer.submit("prj", builds::incrementAndGet);
+        CompletableFuture<Integer> secondTrailing = coalescer.submit("prj", builds::incrementAndGet);
+        release.countDown();
+
+        assertThat(trailing).isNotSameAs(running);
+        assertThat(secondTrailing).isSameAs(trailing);
+        assertThat(running.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(trailing.get(5, TimeUnit.SECONDS)).isEqualTo(2);
+        assertThat(coalescer.getExecutedBuilds()).isEqualTo(2);
+        assertThat(coalescer.getCoalescedBuilds()).isEqualTo(1);
+    }
+
+    @Test
+    public void sharedResultIsPassedThroughTheRequestFunction() throws Exception {
+        CountDownLatch blocker = new CountDownLatch(1);
+        executorService.submit(() -> awaitQuietly(blocker));
+
+        CompletableFuture<Integer> first = coalescer.submit("prj", builds::incrementAndGet, res -> res + 100);
+        CompletableFuture<Integer> second = coalescer.submit("prj", builds::incrementAndGet, res -> res + 200);
+        blocker.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo(201);
+        assertThat(coalescer.getExecutedBuilds()).isEqualTo(1);
+        assertThat(coalescer.getCoalescedBuilds()).isEqualTo(1);
+    }
+
+    @Test
+    public void failedBuildIsNotReused() throws Exception {
+        CompletableFuture<Integer> failed = coalescer.submit("prj", () -> {
+            throw new IllegalStateException("failed");
+        });
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS)).isInstanceOf(ExecutionException.class);
+
+        CompletableFuture<Integer> next = coalescer.submit("prj", builds::incrementAndGet);
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
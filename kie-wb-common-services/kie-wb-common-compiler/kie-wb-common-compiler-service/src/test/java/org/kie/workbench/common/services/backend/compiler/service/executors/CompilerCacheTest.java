@@ -0,0 +1,148 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.compiler.service.executors;
+
+import java.io.InputStream;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+import org.kie.workbench.common.services.backend.compiler.AFCompiler;
+import org.kie.workbench.common.services.backend.compiler.CompilationRequest;
+import org.kie.workbench.common.services.backend.compiler.impl.DefaultKieCompilationResponse;
+import org.kie.workbench.common.services.backend.compiler.impl.kie.KieCompilationResponse;
+import org.uberfire.java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+public class CompilerCacheTest {
+
+    private static final long BASE = CompilerCache.COMPILER_BASE_WEIGHT;
+
+    @Test
+    public void evictsLeastRecentlyUsedEntriesAboveMaxWeight() {
+        CompilerCache<String> cache = new CompilerCache<>(BASE * 2, Long.MAX_VALUE);
+        CompilerAggregateEntryCache first = newEntry();
+        CompilerAggregateEntryCache second = newEntry();
+        cache.setEntry("first", first);
+        cache.setEntry("second", second);
+        assertThat(cache.getResidentWeight()).isEqualTo(BASE * 2);
+
+        cache.updateWeight("second", second, responseWithClasses(1024));
+
+        assertThat(cache.getEntry("first")).isNull();
+        assertThat(cache.getEntry("second")).isSameAs(second);
+        assertThat(cache.getResidentWeight()).isEqualTo(second.getWeight());
+        assertThat(cache.getEvictions()).isEqualTo(1);
+        assertThat(((CleanTrackingCompiler) first.getCompiler()).cleaned).isTrue();
+    }
+
+    @Test
+    public void evictionOfARunningCompilerIsDeferred() {
+        CompilerCache<String> cache = new CompilerCache<>(Long.MAX_VALUE, Long.MAX_VALUE);
+        CompilerAggregateEntryCache entry = newEntry();
+        cache.setEntry("prj", entry);
+        entry.buildStarted();
+
+        cache.invalidateCache("prj");
+        assertThat(((CleanTrackingCompiler) entry.getCompiler()).cleaned).isFalse();
+
+        entry.buildCompleted();
+        assertThat(((CleanTrackingCompiler) entry.getCompiler()).cleaned).isTrue();
+        assertThat(cache.getResidentWeight()).isZero();
+    }
+
+    @Test
+    public void acquiredEntryIsNotReleasedBeforeItsBuildCompletes() {
+        CompilerCache<String> cache = new CompilerCache<>(Long.MAX_VALUE, Long.MAX_VALUE);
+        CompilerAggregateEntryCache entry = cache.acquireEntry("prj", key -> newEntry());
+        assertThat(cache.acquireEntry("prj", key -> newEntry())).isSameAs(entry);
+
+        cache.invalidateCache("prj");
+        entry.buildCompleted();
+        assertThat(((CleanTrackingCompiler) entry.getCompiler()).cleaned).isFalse();
+
+        entry.buildCompleted();
+        assertThat(((CleanTrackingCompiler) entry.getCompiler()).cleaned).isTrue();
+        assertThat(cache.acquireEntry("prj", key -> newEntry())).isNotSameAs(entry);
+    }
+
+    @Test
+    public void expiresIdleEntries() throws Exception {
+        CompilerCache<String> cache = new CompilerCache<>(Long.MAX_VALUE, 1);
+        cache.setEntry("prj", newEntry());
+        Thread.sleep(10);
+
+        assertThat(cache.getEntry("prj")).isNull();
+        assertThat(cache.size()).isZero();
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    public void hitRate() {
+        CompilerCache<String> cache = new CompilerCache<>();
+        cache.setEntry("prj", newEntry());
+        cache.getEntry("prj");
+        cache.getEntry("other");
+
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getHitRate()).isEqualTo(0.5);
+    }
+
+    private CompilerAggregateEntryCache newEntry() {
+        return new CompilerAggregateEntryCache(new CleanTrackingCompiler(), null);
+    }
+
+    private KieCompilationResponse responseWithClasses(int classes) {
+        Map<String, byte[]> store = new HashMap<>();
+        for (int i = 0; i < classes; i++) {
+            store.put("org/kie/Class" + i + ".class", new byte[8 * 1024]);
+        }
+        return new DefaultKieCompilationResponse(true,
+                                                 null,
+                                                 null,
+                                                 store,
+                                                 Collections.emptyList(),
+                                                 Collections.emptyList(),
+                                                 Collections.emptyList(),
+                                                 null,
+                                                 Collections.emptySet(),
+                                                 "uuid");
+    }
+
+    private static class CleanTrackingCompiler implements AFCompiler<KieCompilationResponse> {
+
+        private boolean cleaned;
+
+        @Override
+        public KieCompilationResponse compile(CompilationRequest req) {
+            return null;
+        }
+
+        @Override
+        public KieCompilationResponse compile(CompilationRequest req, Map<Path, InputStream> override) {
+            return null;
+        }
+
+        @Override
+        public Boolean cleanInternalCache() {
+            cleaned = true;
+            return true;
+        }
+    }
+}
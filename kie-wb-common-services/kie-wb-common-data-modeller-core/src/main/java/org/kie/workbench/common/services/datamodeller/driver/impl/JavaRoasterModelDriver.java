@@ -26,6 +26,8 @@ import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
 
 import org.apache.commons.lang3.StringUtils;
 import org.jboss.forge.roaster.ParserException;
@@ -46,6 +48,7 @@ import org.jboss.forge.roaster.model.source.JavaSource;
 import org.jboss.forge.roaster.model.source.MethodSource;
 import org.jboss.forge.roaster.model.source.ParameterSource;
 import org.kie.soup.project.datamodel.commons.types.ClassTypeResolver;
+import org.kie.workbench.common.services.backend.concurrent.BackendTaskPool;
 import org.kie.workbench.common.services.datamodeller.codegen.GenerationContext;
 import org.kie.workbench.common.services.datamodeller.codegen.GenerationEngine;
 import org.kie.workbench.common.services.datamodeller.codegen.GenerationTools;
@@ -177,7 +180,6 @@ public class JavaRoasterModelDriver implements ModelDriver {
 
         ModelDriverResult result = new ModelDriverResult();
         DataModel dataModel;
-        String fileContent;
         dataModel = createModel();
         result.setDataModel(dataModel);
 
@@ -189,47 +191,51 @@ public class JavaRoasterModelDriver implements ModelDriver {
                                                                                     ".java",
                                                                                     true);
         if (scanResults != null) {
-            for (FileUtils.ScanResult scanResult : scanResults) {
+            //Files are read and parsed concurrently, then loaded into the model in scan order
+            for (ParsedFile parsedFile : parseFiles(new ArrayList<>(scanResults))) {
+                final Path file = parsedFile.file;
 
-                logger.debug("Starting file loading into model, file: " + scanResult.getFile());
-                fileContent = ioService.readAllString(scanResult.getFile());
-                if (fileContent == null || "".equals(fileContent)) {
-                    logger.debug("file: " + scanResult.getFile() + " is empty.");
+                logger.debug("Starting file loading into model, file: " + file);
+                if (parsedFile.javaType == null && parsedFile.failure == null) {
+                    logger.debug("file: " + file + " is empty.");
                     result.addError(new DriverError("File has no content",
-                                                    Paths.convert(scanResult.getFile())));
+                                                    Paths.convert(file)));
                     continue;
                 }
                 try {
-                    JavaType<?> javaType = Roaster.parse(fileContent);
+                    if (parsedFile.failure != null) {
+                        throw parsedFile.failure;
+                    }
+                    JavaType<?> javaType = parsedFile.javaType;
                     final boolean isManaged = isManagedJavaType(javaType);
                     final boolean vetoed = (isManaged ? isVetoed(javaType) : false);
                     if (isManaged && !vetoed) {
                         if (javaType.getSyntaxErrors() != null && !javaType.getSyntaxErrors().isEmpty()) {
                             //if a file has parsing errors it will be skipped.
                             addSyntaxErrors(result,
-                                            scanResult.getFile(),
+                                            file,
                                             javaType.getSyntaxErrors());
                         } else if (javaType.isEnum()) {
                             loadFromJavaEnum((JavaEnumSource) javaType,
-                                             scanResult.getFile(),
+                                             file,
                                              dataModel,
                                              result);
                         } else {
                             loadFromJavaClass((JavaClassSource) javaType,
-                                              scanResult.getFile(),
+                                              file,
                                               dataModel,
                                               result);
                         }
                     } else if (vetoed) {
                         logger.debug("The class, {}, in the file, {}, was vetoed and will be skipped.",
                                      javaType.getQualifiedName(),
-                                     scanResult.getFile());
+                                     file);
                     } else {
-                        logger.debug("File: " + scanResult.getFile() + " do not contain a managed java type, it will be skipped.");
+                        logger.debug("File: " + file + " do not contain a managed java type, it will be skipped.");
                     }
                 } catch (ParserException e) {
                     result.addError(new DriverError(e.getMessage(),
-                                                    Paths.convert(scanResult.getFile())));
+                                                    Paths.convert(file)));
                 } catch (Exception e) {
                     //Unexpected error.
                     logger.error(errorMessage(MODEL_LOAD_GENERIC_ERROR,
@@ -244,6 +250,41 @@ public class JavaRoasterModelDriver implements ModelDriver {
         return result;
     }
 
+    private List<ParsedFile> parseFiles(final List<FileUtils.ScanResult> scanResults) throws ModelDriverException {
+        try {
+            return BackendTaskPool.get().submit(() -> scanResults.parallelStream()
+                    .map(scanResult -> parseFile(scanResult.getFile()))
+                    .collect(Collectors.toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ModelDriverException(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                                        javaRootPath.toUri()),
+                                           e);
+        } catch (ExecutionException e) {
+            throw new ModelDriverException(errorMessage(MODEL_LOAD_GENERIC_ERROR,
+                                                        javaRootPath.toUri()),
+                                           e.getCause());
+        }
+    }
+
+    private ParsedFile parseFile(final Path file) {
+        try {
+            final String fileContent = ioService.readAllString(file);
+            if (fileContent == null || "".equals(fileContent)) {
+                return new ParsedFile(file,
+                                      null,
+                                      null);
+            }
+            return new ParsedFile(file,
+                                  JavaTypeParseCache.getInstance().parse(fileContent),
+                                  null);
+        } catch (Exception e) {
+            return new ParsedFile(file,
+                                  null,
+                                  e);
+        }
+    }
+
     private boolean isVetoed(final JavaType<?> javaType) {
         return filterHolder.getSourceFilters().stream().anyMatch(filter -> filter.veto(javaType));
     }
@@ -2177,4 +2218,19 @@ public class JavaRoasterModelDriver implements ModelDriver {
         return MessageFormat.format(message,
                                     params);
     }
+
+    private static class ParsedFile {
+
+        private final Path file;
+        private final JavaType<?> javaType;
+        private final Exception failure;
+
+        private ParsedFile(final Path file,
+                           final JavaType<?> javaType,
+                           final Exception failure) {
+            this.file = file;
+            this.javaType = javaType;
+            this.failure = failure;
+        }
+    }
 }
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodeller.driver.impl;
+
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.jboss.forge.roaster.Roaster;
+import org.jboss.forge.roaster.model.JavaType;
+import org.kie.workbench.common.services.datamodeller.util.FileHashingUtils;
+
+/**
+ * Java types parsed by Roaster when a data model is loaded, by hash of their source, so loading again a model whose
+ * files didn't change doesn't parse them again. The parsed types are shared: they must only be read, the sources
+ * being modified go through {@link Roaster#parse(String)} directly.
+ * The parsed types are softly referenced, the memory pressure can release them before the cache is full.
+ */
+public final class JavaTypeParseCache {
+
+    private static final int MAX_ENTRIES = Integer.getInteger("org.kie.datamodeller.parse.cache.size",
+                                                              5000);
+
+    private static final JavaTypeParseCache INSTANCE = new JavaTypeParseCache(MAX_ENTRIES);
+
+    private final Map<String, SoftReference<JavaType<?>>> parsedTypes;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    JavaTypeParseCache(final int maxEntries) {
+        this.parsedTypes = Collections.synchronizedMap(new LinkedHashMap<String, SoftReference<JavaType<?>>>(16,
+                                                                                                             0.75f,
+                                                                                                             true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, SoftReference<JavaType<?>>> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    public static JavaTypeParseCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the type parsed from the source, to be read only
+     * @throws org.jboss.forge.roaster.ParserException when the source can't be parsed, failures are not cached
+     */
+    public JavaType<?> parse(final String source) {
+        final String hash = FileHashingUtils.md5Hex(source);
+        final SoftReference<JavaType<?>> reference = parsedTypes.get(hash);
+        final JavaType<?> cached = reference != null ? reference.get() : null;
+        if (cached != null) {
+            hits.incrementAndGet();
+            return cached;
+        }
+        misses.incrementAndGet();
+        final JavaType<?> javaType = Roaster.parse(source);
+        parsedTypes.put(hash,
+                        new SoftReference<>(javaType));
+        return javaType;
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public void clear() {
+        parsedTypes.clear();
+    }
+}
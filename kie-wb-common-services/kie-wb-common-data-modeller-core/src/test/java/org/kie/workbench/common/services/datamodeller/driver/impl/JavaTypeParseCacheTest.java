@@ -0,0 +1,93 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodeller.driver.impl;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.jboss.forge.roaster.model.JavaType;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class JavaTypeParseCacheTest {
+
+    private static final int MODEL_SIZE = 500;
+
+    private JavaTypeParseCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new JavaTypeParseCache(MODEL_SIZE);
+    }
+
+    @Test
+    public void testUnchangedModelIsParsedOnce() {
+        final List<String> sources = generateModel();
+
+        final long start = System.nanoTime();
+        sources.forEach(cache::parse);
+        final long firstLoad = System.nanoTime() - start;
+        sources.forEach(cache::parse);
+        final long secondLoad = System.nanoTime() - start - firstLoad;
+
+        assertEquals(MODEL_SIZE,
+                     cache.getMisses());
+        assertEquals(MODEL_SIZE,
+                     cache.getHits());
+        assertTrue("Second load took " + secondLoad + "ns, first load " + firstLoad + "ns",
+                   secondLoad < firstLoad);
+    }
+
+    @Test
+    public void testChangedSourceIsParsedAgain() {
+        final JavaType<?> bean = cache.parse("package org.test; public class Bean { private String name; }");
+        final JavaType<?> changed = cache.parse("package org.test; public class Bean { private String name; private int age; }");
+
+        assertNotSame(bean,
+                      changed);
+        assertSame(bean,
+                   cache.parse("package org.test; public class Bean { private String name; }"));
+        assertEquals(2,
+                     cache.getMisses());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedTypesAreEvicted() {
+        final JavaTypeParseCache small = new JavaTypeParseCache(1);
+        small.parse("package org.test; public class A { }");
+        small.parse("package org.test; public class B { }");
+        small.parse("package org.test; public class A { }");
+
+        assertEquals(3,
+                     small.getMisses());
+    }
+
+    private List<String> generateModel() {
+        final List<String> sources = new ArrayList<>();
+        for (int i = 0; i < MODEL_SIZE; i++) {
+            final StringBuilder source = new StringBuilder("package org.test.model;\n\npublic class DataObject" + i + " implements java.io.Serializable {\n");
+            for (int j = 0; j < 10; j++) {
+                source.append("    private String field").append(j).append(";\n");
+                source.append("    public String getField").append(j).append("() { return field").append(j).append("; }\n");
+                source.append("    public void setField").append(j).append("(String field").append(j).append(") { this.field").append(j).append(" = field").append(j).append("; }\n");
+            }
+            sources.add(source.append("}\n").toString());
+        }
+        return sources;
+    }
+}
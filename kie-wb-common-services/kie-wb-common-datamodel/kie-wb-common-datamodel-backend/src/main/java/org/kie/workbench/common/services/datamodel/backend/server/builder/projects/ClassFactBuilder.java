@@ -32,7 +32,6 @@ import org.kie.soup.project.datamodel.oracle.Annotation;
 import org.kie.soup.project.datamodel.oracle.MethodInfo;
 import org.kie.soup.project.datamodel.oracle.ModelField;
 import org.kie.soup.project.datamodel.oracle.TypeSource;
-import org.kie.workbench.common.services.datamodel.backend.server.builder.util.AnnotationUtils;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.util.BlackLists;
 
 /**
@@ -70,7 +69,7 @@ public class ClassFactBuilder extends BaseFactBuilder {
               isEvent,
               typeSourceResolver);
         this.superTypes = getSuperTypes(clazz);
-        this.annotations.addAll(AnnotationUtils.getClassAnnotations(clazz));
+        this.annotations.addAll(ClassMetadataCache.getClassAnnotations(clazz));
         loadClassFields(clazz, discoveredFieldFactBuilders);
     }
 
@@ -106,7 +105,7 @@ public class ClassFactBuilder extends BaseFactBuilder {
         //Get all getters and setters for the class. This does not handle delegated properties
         //- FIELDS need a getter ("getXXX", "isXXX") or setter ("setXXX") or are public properties
         //- METHODS are any accessor that does not have a getter or setter
-        final ClassFieldInspector inspector = new ClassFieldInspector(clazz);
+        final ClassFieldInspector inspector = ClassMetadataCache.getFieldInspector(clazz);
         final Set<String> fieldNames = inspector.getFieldNames();
 
         for (final String fieldName : fieldNames) {
@@ -161,10 +160,7 @@ public class ClassFactBuilder extends BaseFactBuilder {
         }
 
         //Methods for use in Expressions and ActionCallMethod's
-        ClassMethodInspector methodInspector = new ClassMethodInspector(clazz,
-                                                                        typeSystemConverter);
-
-        final List<MethodInfo> methodInformation = methodInspector.getMethodInfos();
+        final List<MethodInfo> methodInformation = new ArrayList<MethodInfo>(ClassMetadataCache.getMethodInfos(clazz));
         for (final MethodInfo mi : methodInformation) {
             final String genericType = mi.getParametricReturnType();
             if (genericType != null) {
@@ -22,6 +22,7 @@ import java.lang.reflect.Modifier;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -36,6 +37,7 @@ import org.kie.workbench.common.services.datamodel.backend.server.builder.util.B
 
 /**
  * Find information for all "fields" on a class. A "field" is either a public property or a non-public property for which there is a "getter" and/or a "setter"
+ * The information is not modified once inspected, see {@link ClassMetadataCache} for the inspectors shared by the builds.
  */
 public class ClassFieldInspector {
 
@@ -192,11 +194,11 @@ public class ClassFieldInspector {
     }
 
     public Set<String> getFieldNames() {
-        return this.fieldTypesFieldInfo.keySet();
+        return Collections.unmodifiableSet(this.fieldTypesFieldInfo.keySet());
     }
 
     public Map<String, FieldInfo> getFieldTypesFieldInfo() {
-        return this.fieldTypesFieldInfo;
+        return Collections.unmodifiableMap(this.fieldTypesFieldInfo);
     }
 
     //class.getDeclaredField(String) doesn't walk the inheritance tree; this does
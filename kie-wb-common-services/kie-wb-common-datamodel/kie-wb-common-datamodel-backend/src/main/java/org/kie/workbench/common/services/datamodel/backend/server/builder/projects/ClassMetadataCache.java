@@ -0,0 +1,104 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+
+import org.kie.soup.project.datamodel.oracle.Annotation;
+import org.kie.soup.project.datamodel.oracle.MethodInfo;
+import org.kie.workbench.common.services.backend.concurrent.BackendTaskPool;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.util.AnnotationUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Reflection metadata of the classes added to the module oracles, shared by all the builds of the oracles.
+ * The metadata is attached to the Class itself so it is released with its ClassLoader, a class of a dependency or
+ * of the JDK is only inspected once for all the modules, while a rebuilt class of a module is a new Class.
+ */
+public final class ClassMetadataCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(ClassMetadataCache.class);
+
+    private static final ClassValue<ClassFieldInspector> FIELDS = new ClassValue<ClassFieldInspector>() {
+        @Override
+        protected ClassFieldInspector computeValue(final Class<?> type) {
+            return new ClassFieldInspector(type);
+        }
+    };
+
+    private static final ClassValue<List<MethodInfo>> METHODS = new ClassValue<List<MethodInfo>>() {
+        @Override
+        protected List<MethodInfo> computeValue(final Class<?> type) {
+            return Collections.unmodifiableList(new ClassMethodInspector(type,
+                                                                         new JavaTypeSystemTranslator()).getMethodInfos());
+        }
+    };
+
+    private static final ClassValue<Set<Annotation>> ANNOTATIONS = new ClassValue<Set<Annotation>>() {
+        @Override
+        protected Set<Annotation> computeValue(final Class<?> type) {
+            return Collections.unmodifiableSet(AnnotationUtils.getClassAnnotations(type));
+        }
+    };
+
+    private ClassMetadataCache() {
+    }
+
+    public static ClassFieldInspector getFieldInspector(final Class<?> clazz) {
+        return FIELDS.get(clazz);
+    }
+
+    /**
+     * @return the methods that are not getters or setters, with the types translated by {@link JavaTypeSystemTranslator}
+     */
+    public static List<MethodInfo> getMethodInfos(final Class<?> clazz) {
+        return METHODS.get(clazz);
+    }
+
+    public static Set<Annotation> getClassAnnotations(final Class<?> clazz) {
+        return ANNOTATIONS.get(clazz);
+    }
+
+    /**
+     * Inspects the classes in parallel, so adding them to a {@link ModuleDataModelOracleBuilder} finds their metadata
+     */
+    public static void inspect(final Collection<Class<?>> classes) {
+        try {
+            BackendTaskPool.get().submit(() -> classes.parallelStream().forEach(ClassMetadataCache::inspect)).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            logger.debug(e.getMessage(),
+                         e);
+        }
+    }
+
+    private static void inspect(final Class<?> clazz) {
+        try {
+            getFieldInspector(clazz);
+            getMethodInfos(clazz);
+            getClassAnnotations(clazz);
+        } catch (Throwable e) {
+            //Reported when the class is added to the oracle
+            logger.debug(e.getMessage());
+        }
+    }
+}
@@ -16,6 +16,7 @@
 package org.kie.workbench.common.services.datamodel.backend.server.cache;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 
@@ -28,6 +29,7 @@ import org.kie.soup.project.datamodel.oracle.ModuleDataModelOracle;
 import org.kie.soup.project.datamodel.oracle.TypeSource;
 import org.kie.workbench.common.services.backend.builder.core.TypeSourceResolver;
 import org.kie.workbench.common.services.backend.builder.service.BuildInfo;
+import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ClassMetadataCache;
 import org.kie.workbench.common.services.datamodel.backend.server.builder.projects.ModuleDataModelOracleBuilder;
 import org.kie.workbench.common.services.shared.project.KieModule;
 import org.kie.workbench.common.services.shared.project.ProjectImportsService;
@@ -104,13 +106,35 @@ public class ModuleDataModelOracleBuilderProvider {
         }
 
         private void addFromKieModuleMetadata() {
-            for (final String packageName : getFilteredPackageNames()) {
+            final WhiteList packageNames = getFilteredPackageNames();
+            //Classes are inspected in parallel, then added to the oracle in order
+            ClassMetadataCache.inspect(loadClasses(packageNames));
+            for (final String packageName : packageNames) {
                 pdBuilder.addPackage(packageName);
                 addClasses(packageName,
                            kieModuleMetaData.getClasses(packageName));
             }
         }
 
+        private List<Class<?>> loadClasses(final Collection<String> packageNames) {
+            final List<Class<?>> classes = new ArrayList<>();
+            for (final String packageName : packageNames) {
+                for (final String className : kieModuleMetaData.getClasses(packageName)) {
+                    try {
+                        final Class<?> clazz = kieModuleMetaData.getClass(packageName,
+                                                                          className);
+                        if (clazz != null) {
+                            classes.add(clazz);
+                        }
+                    } catch (Throwable e) {
+                        //Reported when the class is added to the oracle
+                        log.debug(e.getMessage());
+                    }
+                }
+            }
+            return classes;
+        }
+
         /**
          * @return A "white list" of package names that are available for authoring
          */
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Predicate;
 
 import javax.enterprise.event.Event;
@@ -298,7 +299,8 @@ public class DataModelServiceConstructorTest {
                                                            dependenciesClassLoaderCache,
                                                            pomModelCache,
                                                            packageNameWhiteListService,
-                                                           classFilterBeans
+                                                           classFilterBeans,
+                                                           mock(ExecutorService.class)
         );
 
         Instance<PostBuildHandler> handlerInstance = mock(Instance.class);
@@ -0,0 +1,69 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.datamodel.backend.server.builder.projects;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.kie.soup.project.datamodel.oracle.MethodInfo;
+
+import static org.junit.Assert.*;
+
+public class ClassMetadataCacheTest {
+
+    @Test
+    public void testInspectedOnce() {
+        final ClassFieldInspector inspector = ClassMetadataCache.getFieldInspector(Bean.class);
+
+        assertSame(inspector,
+                   ClassMetadataCache.getFieldInspector(Bean.class));
+        assertSame(ClassMetadataCache.getMethodInfos(Bean.class),
+                   ClassMetadataCache.getMethodInfos(Bean.class));
+        assertEquals(new ClassFieldInspector(Bean.class).getFieldTypesFieldInfo(),
+                     inspector.getFieldTypesFieldInfo());
+    }
+
+    @Test
+    public void testInspect() {
+        ClassMetadataCache.inspect(Arrays.asList(Bean.class,
+                                                 String.class));
+
+        assertTrue(ClassMetadataCache.getFieldInspector(Bean.class).getFieldNames().contains("name"));
+        assertTrue(ClassMetadataCache.getMethodInfos(Bean.class).stream().map(MethodInfo::getName).anyMatch("greet"::equals));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testSharedInspectorIsNotModifiable() {
+        ClassMetadataCache.getFieldInspector(Bean.class).getFieldTypesFieldInfo().clear();
+    }
+
+    public static class Bean {
+
+        private String name;
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(final String name) {
+            this.name = name;
+        }
+
+        public String greet(final String other) {
+            return name + other;
+        }
+    }
+}
@@ -23,9 +23,7 @@ import java.util.List;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.function.Function;
-import java.util.function.IntFunction;
 import java.util.function.Predicate;
-import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import javax.annotation.PostConstruct;
 import javax.enterprise.context.ApplicationScoped;
@@ -107,16 +105,17 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final Sort sort = namedQuery.getSortOrder();
 
         try {
-            List<KObject> found = config.getIndexProvider().findByQuery(Collections.EMPTY_LIST,
-                                                                        query,
-                                                                        sort,
-                                                                        0);
-
-            if (request.distinctResults()) {
-                found = distinct(found);
+            if (!Boolean.TRUE.equals(request.distinctResults())) {
+                //Only counted by the index, the documents are not loaded
+                return (int) config.getIndexProvider().findHitsByQuery(Collections.EMPTY_LIST,
+                                                                       query);
             }
 
-            return found.size();
+            final List<KObject> found = config.getIndexProvider().findByQuery(Collections.EMPTY_LIST,
+                                                                               query,
+                                                                               sort,
+                                                                               0);
+            return distinct(found).size();
         } catch (final Exception ex) {
             String message = "Error during Query!";
             logger.error(message,
@@ -166,12 +165,9 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         List<KObject> kObjects
                 = search(query,
                          sort,
-                         () -> (startIndex),
-                         // start index of docs to get
-                         (numHits) -> (numHits - startIndex > pageSize ? pageSize : numHits - startIndex),
-                         request.distinctResults()
-                         // num docs to add to response
-        );
+                         startIndex,
+                         pageSize,
+                         Boolean.TRUE.equals(request.distinctResults()));
 
         if (!kObjects.isEmpty()) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
@@ -202,12 +198,9 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         final List<KObject> kObjects
                 = search(query,
                          sort,
-                         () -> (0),
-                         // start index of docs to get
-                         (numHits) -> (numHits),
-                         false
-                         // num docs to add to response
-        );
+                         0,
+                         null,
+                         false);
 
         if (!kObjects.isEmpty()) {
             final ResponseBuilder responseBuilder = namedQuery.getResponseBuilder();
@@ -217,10 +210,14 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
         }
     }
 
+    /**
+     * @param pageSize number of documents to return from the start index, or null for all of them
+     * @return the page of documents, the index only loads the documents up to the end of the page
+     */
     private List<KObject> search(final Query query,
                                  final Sort sort,
-                                 final Supplier<Integer> startIndexSupplier,
-                                 final IntFunction<Integer> numOfHitsToReturnSupplier,
+                                 final int startIndex,
+                                 final Integer pageSize,
                                  final boolean distinct,
                                  final ClusterSegment... clusterSegments) {
 
@@ -229,19 +226,32 @@ public class RefactoringQueryServiceImpl implements RefactoringQueryService {
                     .map(clusterSegment -> clusterSegment.getClusterId())
                     .collect(Collectors.toList());
 
-            List<KObject> found = config.getIndexProvider().findByQuery(indices,
-                                                                        query,
-                                                                        sort,
-                                                                        0);
-
-            if (distinct) {
-                found = distinct(found);
+            if (pageSize != null && pageSize <= 0) {
+                return Collections.emptyList();
+            }
+            final int endIndex = pageSize == null ? Integer.MAX_VALUE : (int) Math.min((long) startIndex + pageSize,
+                                                                                        Integer.MAX_VALUE);
+            //A limit of 0 returns all the hits
+            int limit = pageSize == null ? 0 : endIndex;
+            while (true) {
+                List<KObject> found = config.getIndexProvider().findByQuery(indices,
+                                                                            query,
+                                                                            sort,
+                                                                            limit);
+                final boolean allHits = limit == 0 || found.size() < limit;
+
+                if (distinct) {
+                    found = distinct(found);
+                }
+                if (allHits || found.size() >= endIndex) {
+                    return new ArrayList<>(found.subList(Math.min(startIndex,
+                                                                  found.size()),
+                                                         Math.min(endIndex,
+                                                                  found.size())));
+                }
+                //Duplicated documents took the place of some of the page, more hits are needed
+                limit = limit > Integer.MAX_VALUE / 2 ? 0 : limit * 2;
             }
-            final int startIndex = startIndexSupplier.get();
-            final int numOfHitsToReturn = numOfHitsToReturnSupplier.apply(found.size());
-
-            return found.subList(startIndex,
-                                 startIndex + numOfHitsToReturn);
         } catch (
                 final Exception ex)
 
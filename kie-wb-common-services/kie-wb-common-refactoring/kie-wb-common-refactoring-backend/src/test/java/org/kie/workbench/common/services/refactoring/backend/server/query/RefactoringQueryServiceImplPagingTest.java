@@ -0,0 +1,168 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.refactoring.backend.server.query;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.apache.lucene.search.MatchAllDocsQuery;
+import org.apache.lucene.search.Sort;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.refactoring.backend.server.query.response.ResponseBuilder;
+import org.kie.workbench.common.services.refactoring.model.query.RefactoringPageRequest;
+import org.mockito.Answers;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.uberfire.ext.metadata.MetadataConfig;
+import org.uberfire.ext.metadata.model.KObject;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class RefactoringQueryServiceImplPagingTest {
+
+    private static final String QUERY_NAME = "query";
+
+    @Mock(answer = Answers.RETURNS_DEEP_STUBS)
+    private MetadataConfig config;
+
+    @Mock
+    private NamedQueries namedQueries;
+
+    @Mock
+    private NamedQuery namedQuery;
+
+    @Mock
+    private ResponseBuilder responseBuilder;
+
+    @Captor
+    private ArgumentCaptor<List<KObject>> kObjectsCaptor;
+
+    private RefactoringQueryServiceImpl service;
+
+    @Before
+    public void setUp() {
+        when(namedQueries.findNamedQuery(QUERY_NAME)).thenReturn(namedQuery);
+        when(namedQuery.toQuery(any())).thenReturn(new MatchAllDocsQuery());
+        when(namedQuery.getSortOrder()).thenReturn(new Sort());
+
+        service = new RefactoringQueryServiceImpl(config,
+                                                  namedQueries);
+        service.init();
+    }
+
+    @Test
+    public void testOnlyTheHitsUpToThePageAreLoaded() {
+        when(namedQuery.getResponseBuilder()).thenReturn(responseBuilder);
+        when(config.getIndexProvider().findByQuery(anyList(),
+                                                   any(),
+                                                   any(),
+                                                   eq(4))).thenReturn(kObjects("a",
+                                                                               "b",
+                                                                               "c",
+                                                                               "d"));
+
+        service.query(new RefactoringPageRequest(QUERY_NAME,
+                                                 Collections.emptySet(),
+                                                 2,
+                                                 2));
+
+        verify(responseBuilder).buildResponse(eq(2),
+                                              eq(2),
+                                              kObjectsCaptor.capture());
+        assertEquals(Arrays.asList("c",
+                                   "d"),
+                     keys(kObjectsCaptor.getValue()));
+    }
+
+    @Test
+    public void testMoreHitsAreLoadedWhenDuplicatesAreRemoved() {
+        when(namedQuery.getResponseBuilder()).thenReturn(responseBuilder);
+        when(config.getIndexProvider().findByQuery(anyList(),
+                                                   any(),
+                                                   any(),
+                                                   eq(4))).thenReturn(kObjects("a",
+                                                                               "a",
+                                                                               "b",
+                                                                               "c"));
+        when(config.getIndexProvider().findByQuery(anyList(),
+                                                   any(),
+                                                   any(),
+                                                   eq(8))).thenReturn(kObjects("a",
+                                                                               "a",
+                                                                               "b",
+                                                                               "c",
+                                                                               "d",
+                                                                               "e"));
+
+        service.query(new RefactoringPageRequest(QUERY_NAME,
+                                                 Collections.emptySet(),
+                                                 2,
+                                                 2,
+                                                 Boolean.TRUE));
+
+        verify(responseBuilder).buildResponse(eq(2),
+                                              eq(2),
+                                              kObjectsCaptor.capture());
+        assertEquals(Arrays.asList("c",
+                                   "d"),
+                     keys(kObjectsCaptor.getValue()));
+    }
+
+    @Test
+    public void testHitCountDoesNotLoadTheHits() {
+        when(config.getIndexProvider().findHitsByQuery(anyList(),
+                                                       any())).thenReturn(42L);
+
+        assertEquals(42,
+                     service.queryHitCount(new RefactoringPageRequest(QUERY_NAME,
+                                                                      Collections.emptySet(),
+                                                                      0,
+                                                                      null)));
+        verify(config.getIndexProvider(),
+               never()).findByQuery(anyList(),
+                                    any(),
+                                    any(),
+                                    anyInt());
+    }
+
+    private List<KObject> kObjects(final String... keys) {
+        return Arrays.stream(keys).map(key -> {
+            final KObject kObject = mock(KObject.class);
+            when(kObject.getClusterId()).thenReturn("cluster");
+            when(kObject.getKey()).thenReturn(key);
+            return kObject;
+        }).collect(Collectors.toList());
+    }
+
+    private List<String> keys(final List<KObject> kObjects) {
+        return kObjects.stream().map(KObject::getKey).collect(Collectors.toList());
+    }
+}
@@ -17,26 +17,40 @@
 package org.kie.workbench.common.services.backend.builder.core;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.io.Serializable;
+import java.net.URI;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 
+import org.apache.commons.io.IOUtils;
 import org.appformer.maven.support.DependencyFilter;
 import org.appformer.maven.support.PomModel;
+import org.drools.compiler.commons.jci.problems.CompilationProblem;
+import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
 import org.drools.compiler.kie.builder.impl.InternalKieModule;
 import org.drools.compiler.kie.builder.impl.KieBuilderImpl;
 import org.drools.compiler.kie.builder.impl.KieContainerImpl;
 import org.drools.compiler.kie.builder.impl.KieFileSystemImpl;
 import org.drools.compiler.kie.builder.impl.KieModuleKieProject;
 import org.drools.compiler.kie.builder.impl.MemoryKieModule;
+import org.drools.compiler.kproject.models.KieModuleModelImpl;
 import org.guvnor.common.services.backend.file.DotFileFilter;
 import org.guvnor.common.services.backend.file.JavaFileFilter;
 import org.guvnor.common.services.project.builder.model.BuildMessage;
@@ -81,6 +95,7 @@ import static org.kie.soup.commons.validation.PortablePreconditions.checkNotNull
 import static org.kie.workbench.common.services.backend.builder.core.BaseFileNameResolver.getBaseFileName;
 import static org.kie.workbench.common.services.backend.builder.core.BuildMessageBuilder.makeErrorMessage;
 import static org.kie.workbench.common.services.backend.builder.core.BuildMessageBuilder.makeWarningMessage;
+import static org.kie.workbench.common.services.backend.builder.core.MessageConverter.convertCompilationProblem;
 import static org.kie.workbench.common.services.backend.builder.core.MessageConverter.convertMessages;
 import static org.kie.workbench.common.services.backend.builder.core.MessageConverter.convertValidationMessages;
 
@@ -88,9 +103,13 @@ public class Builder implements Serializable {
 
     private static final Logger logger = LoggerFactory.getLogger(Builder.class);
 
+    //Key of the errors of the builds that failed with an exception, kept until the next full build
+    private final static String BUILD_FAILURE = "build failure";
     private final static String ERROR_CLASS_NOT_FOUND = "Definition of class \"{0}\" was not found.\n" +
             "Please check the necessary external dependencies for this project are configured correctly.";
 
+    private static final int MAX_OVERLAY_CHANGES = 256;
+
     private final GAV projectGAV;
     private final KieServices kieServices;
     private final KieFileSystem kieFileSystem;
@@ -114,6 +133,27 @@ public class Builder implements Serializable {
     private LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache;
     private LRUPomModelCache pomModelCache;
     private PackageNameWhiteListService packageNameWhiteListService;
+    private final transient BuilderSnapshotStore snapshotStore;
+    //Reads the files of the module, the calling thread when the Builder isn't created by the cache
+    private final transient Executor ioExecutor;
+    //KieModule of a snapshot taken at the same commit, used until a full build is required
+    private volatile MemoryKieModule restoredKieModule;
+    private volatile boolean resourcesLoaded;
+    //Writers (full and incremental builds) are serialized by the build lock
+    private final ReentrantLock buildLock = new ReentrantLock();
+    private final Queue<IncrementalChange> pendingChanges = new ConcurrentLinkedQueue<>();
+    private final BuilderLockMetrics lockMetrics = new BuilderLockMetrics();
+    private long lockAcquiredAt;
+    //Copy of the KieModule of the last full or incremental build without errors, published to readers without the
+    //build lock. Builds change the KieModule of the KieBuilder in place, never this copy
+    private volatile MemoryKieModule builtKieModule;
+    //Errors of the KieBuilder, by location and text, guarded by the build lock
+    private final Set<String> kieErrors = new HashSet<>();
+    //Copy of the KieFileSystem shared by the overlays of the clones, the files changed since are layered on each overlay
+    private transient MemoryFileSystem overlayBase;
+    private final Set<String> changedSinceOverlayBase = new HashSet<>();
+    //Incremented by every change of the KieFileSystem, guarded by the build lock
+    private long fileSystemVersion;
 
     public Builder(final Module project,
                    final IOService ioService,
@@ -126,6 +166,64 @@ public class Builder implements Serializable {
                    final Predicate<String> classFilter,
                    final KieBuilder kieBuilder,
                    final KieFileSystem kieFileSystem) {
+        this(project,
+             ioService,
+             moduleService,
+             importsService,
+             buildValidationHelpers,
+             dependenciesClassLoaderCache,
+             pomModelCache,
+             packageNameWhiteListService,
+             classFilter,
+             kieBuilder,
+             kieFileSystem,
+             null,
+             null,
+             Runnable::run);
+    }
+
+    Builder(final Module project,
+            final IOService ioService,
+            final KieModuleService moduleService,
+            final ProjectImportsService importsService,
+            final List<BuildValidationHelper> buildValidationHelpers,
+            final LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache,
+            final LRUPomModelCache pomModelCache,
+            final PackageNameWhiteListService packageNameWhiteListService,
+            final Predicate<String> classFilter,
+            final BuilderSnapshotStore snapshotStore,
+            final BuilderSnapshotStore.Snapshot snapshot,
+            final Executor ioExecutor) {
+        this(project,
+             ioService,
+             moduleService,
+             importsService,
+             buildValidationHelpers,
+             dependenciesClassLoaderCache,
+             pomModelCache,
+             packageNameWhiteListService,
+             classFilter,
+             null,
+             KieServices.Factory.get().newKieFileSystem(),
+             snapshotStore,
+             snapshot,
+             ioExecutor);
+    }
+
+    private Builder(final Module project,
+                    final IOService ioService,
+                    final KieModuleService moduleService,
+                    final ProjectImportsService importsService,
+                    final List<BuildValidationHelper> buildValidationHelpers,
+                    final LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache,
+                    final LRUPomModelCache pomModelCache,
+                    final PackageNameWhiteListService packageNameWhiteListService,
+                    final Predicate<String> classFilter,
+                    final KieBuilder kieBuilder,
+                    final KieFileSystem kieFileSystem,
+                    final BuilderSnapshotStore snapshotStore,
+                    final BuilderSnapshotStore.Snapshot snapshot,
+                    final Executor ioExecutor) {
         this.project = project;
         this.ioService = ioService;
         this.moduleService = moduleService;
@@ -142,9 +240,13 @@ public class Builder implements Serializable {
         this.kieFileSystem = kieFileSystem;
         this.dependenciesClassLoaderCache = dependenciesClassLoaderCache;
         this.pomModelCache = pomModelCache;
+        this.snapshotStore = snapshotStore;
+        this.ioExecutor = ioExecutor;
 
-        DirectoryStream<Path> directoryStream = Files.newDirectoryStream(projectRoot);
-        visitPaths(directoryStream);
+        //A restored snapshot makes the walk of the module unnecessary until a full build is required
+        if (snapshot == null || !restore(snapshot)) {
+            loadResources();
+        }
     }
 
     public Builder(final Module project,
@@ -169,25 +271,73 @@ public class Builder implements Serializable {
              KieServices.Factory.get().newKieFileSystem());
     }
 
+    private Builder(final Builder origin,
+                    final KieBuilder kieBuilder,
+                    final KieFileSystem kieFileSystem) {
+        this.project = origin.project;
+        this.ioService = origin.ioService;
+        this.moduleService = origin.moduleService;
+        this.importsService = origin.importsService;
+        this.buildValidationHelpers = origin.buildValidationHelpers;
+        this.packageNameWhiteListService = origin.packageNameWhiteListService;
+        this.classFilter = origin.classFilter;
+
+        this.projectGAV = origin.projectGAV;
+        this.projectRoot = origin.projectRoot;
+        this.projectPrefix = origin.projectPrefix;
+        this.kieServices = origin.kieServices;
+        this.kieBuilder = kieBuilder;
+        this.kieFileSystem = kieFileSystem;
+        this.dependenciesClassLoaderCache = origin.dependenciesClassLoaderCache;
+        this.pomModelCache = origin.pomModelCache;
+        this.snapshotStore = null;
+        this.ioExecutor = origin.ioExecutor;
+
+        //The KieFileSystem already holds the resources of the module, only the state derived from them is copied
+        for (Map.Entry<String, org.uberfire.backend.vfs.Path> handle : origin.handles.entries()) {
+            handles.put(handle.getKey(),
+                        handle.getValue());
+        }
+        javaResources.addAll(origin.javaResources);
+        nonKieResourceValidationHelpers.putAll(origin.nonKieResourceValidationHelpers);
+        nonKieResourceValidationHelperMessages.putAll(origin.nonKieResourceValidationHelperMessages);
+        resourcesLoaded = true;
+    }
+
+    /**
+     * @return a Builder whose changes don't affect this one. Its KieFileSystem is an overlay of a copy shared by the
+     * clones taken between two changes of this Builder, so cloning doesn't copy the resources of the module.
+     */
     public Builder clone() {
-        final KieFileSystem kieFileSystemClone = kieFileSystemClone();
-        final KieBuilderImpl kieBuilder = kieBuilderClone(kieFileSystemClone);
-
-        return new Builder(project,
-                           ioService,
-                           moduleService,
-                           importsService,
-                           buildValidationHelpers,
-                           dependenciesClassLoaderCache,
-                           pomModelCache,
-                           packageNameWhiteListService,
-                           classFilter,
-                           kieBuilder,
-                           kieFileSystemClone);
+        //The clone needs the KieBuilder of a full build for its incremental builds
+        ensureFullBuild();
+
+        lock();
+        try {
+            final KieFileSystem kieFileSystemClone = kieFileSystemClone();
+            return new Builder(this,
+                               kieBuilderClone(kieFileSystemClone),
+                               kieFileSystemClone);
+        } finally {
+            unlock();
+        }
     }
 
     private KieFileSystem kieFileSystemClone() {
-        return ((KieFileSystemImpl) this.kieFileSystem).clone();
+        if (overlayBase == null) {
+            overlayBase = ((KieFileSystemImpl) this.kieFileSystem).getMfs().clone();
+        }
+        final KieFileSystem kieFileSystemClone = new KieFileSystemImpl(new OverlayMemoryFileSystem(overlayBase));
+        for (final String destinationPath : changedSinceOverlayBase) {
+            final byte[] content = kieFileSystem.read(destinationPath);
+            if (content != null) {
+                kieFileSystemClone.write(destinationPath,
+                                         content);
+            } else {
+                kieFileSystemClone.delete(destinationPath);
+            }
+        }
+        return kieFileSystemClone;
     }
 
     private KieBuilderImpl kieBuilderClone(final KieFileSystem kieFileSystemClone) {
@@ -204,25 +354,35 @@ public class Builder implements Serializable {
 
     public BuildResults build() {
         final BuildResults results = new BuildResults(projectGAV);
-        synchronized (kieFileSystem) {
+        final long builtVersion;
+        lock();
+        try {
+            loadResourcesIfRestored();
+            builtVersion = fileSystemVersion;
+
             //KieBuilder is not re-usable for successive "full" builds
             kieBuilder = createKieBuilder(kieFileSystem);
+            restoredKieModule = null;
 
             //Record RTEs from KieBuilder - that can fail if a rule uses an inaccessible class
+            kieErrors.clear();
             try {
                 final Results kieResults = ((InternalKieBuilder) kieBuilder).buildAll(classFilter).getResults();
                 results.addAllBuildMessages(convertMessages(kieResults.getMessages(),
                                                             handles));
+                addKieErrors(kieResults.getMessages());
             } catch (LinkageError e) {
                 final String msg = MessageFormat.format(ERROR_CLASS_NOT_FOUND,
                                                         e.getLocalizedMessage());
                 logger.warn(msg);
                 results.addBuildMessage(makeWarningMessage(msg));
+                kieErrors.add(BUILD_FAILURE);
             } catch (Throwable e) {
                 final String msg = e.getLocalizedMessage();
                 logger.error(msg,
                              e);
                 results.addBuildMessage(makeErrorMessage(msg));
+                kieErrors.add(BUILD_FAILURE);
             } finally {
                 final PomModel pomModel = ((KieBuilderImpl) kieBuilder).getPomModel();
                 if (pomModel != null) {
@@ -230,6 +390,9 @@ public class Builder implements Serializable {
                                            pomModel);
                 }
             }
+            publishKieModule();
+        } finally {
+            unlock();
         }
 
         //Add validate messages from external helpers
@@ -268,22 +431,102 @@ public class Builder implements Serializable {
 
         results.addAllBuildMessages(verifyClasses(kieModuleMetaData));
 
+        if (snapshotStore != null && results.getErrorMessages().isEmpty()) {
+            snapshotStore.saveLater(() -> saveSnapshot(builtVersion));
+        }
+
         return results;
     }
 
     public BuildResults build(final Path resource,
                               final InputStream inputStream) {
-        synchronized (kieFileSystem) {
+        lock();
+        try {
+            loadResourcesIfRestored();
             final String destinationPath = destinationPath(resource);
             final Resource inputStreamResource = KieServices.Factory.get().getResources().newInputStreamResource(new BufferedInputStream(inputStream));
 
             kieFileSystem.write(destinationPath,
                                 inputStreamResource);
+            fileSystemChanged(destinationPath);
+        } finally {
+            unlock();
         }
 
         return build();
     }
 
+    /**
+     * Validates a Java source by compiling it, with the sources of the module referring to its class, against the
+     * classes of the last build; the other resources of the module are not built. A clone of the Builder is built
+     * instead when the classes of the module are not available.
+     */
+    public BuildResults validateJava(final Path resource,
+                                     final InputStream inputStream) {
+        final byte[] content;
+        try {
+            content = IOUtils.toByteArray(inputStream);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        final String destinationPath = destinationPath(resource);
+        final IncrementalJavaCompiler compiler = incrementalJavaCompiler();
+        if (compiler == null || !IncrementalJavaCompiler.accepts(destinationPath)) {
+            return clone().build(resource,
+                                 new ByteArrayInputStream(content));
+        }
+
+        final BuildResults results = new BuildResults(projectGAV);
+        final Map<String, byte[]> sources = new HashMap<>();
+        //Compiled under the build lock, incremental builds change the classes of the last build in place
+        lock();
+        try {
+            loadResourcesIfRestored();
+            final MemoryFileSystem mfs = ((KieFileSystemImpl) kieFileSystem).getMfs();
+            for (String fileName : mfs.getFileNames()) {
+                if (IncrementalJavaCompiler.accepts(fileName)) {
+                    sources.put(fileName,
+                                mfs.getBytes(fileName));
+                }
+            }
+
+            final List<CompilationProblem> problems = compiler.compile(IncrementalJavaCompiler.withDependents(destinationPath,
+                                                                                                              content,
+                                                                                                              sources),
+                                                                       IncrementalJavaCompiler.javaVersion(mfs.getBytes("pom.xml")));
+            for (CompilationProblem problem : problems) {
+                final BuildMessage message = convertCompilationProblem(problem,
+                                                                       handles);
+                if (destinationPath.equals(problem.getFileName())) {
+                    //The validated source might not be part of the module yet
+                    message.setPath(Paths.convert(resource));
+                }
+                results.addBuildMessage(message);
+            }
+        } catch (LinkageError e) {
+            final String msg = MessageFormat.format(ERROR_CLASS_NOT_FOUND,
+                                                    e.getLocalizedMessage());
+            logger.warn(msg);
+            results.addBuildMessage(makeWarningMessage(msg));
+        } finally {
+            unlock();
+        }
+        return results;
+    }
+
+    private IncrementalJavaCompiler incrementalJavaCompiler() {
+        if (!isBuilt()) {
+            return null;
+        }
+        final org.kie.api.builder.KieModule kieModule = getKieModuleIgnoringErrors();
+        final KieModule module = moduleService.resolveModule(project.getPomXMLPath());
+        if (!(kieModule instanceof MemoryKieModule) || module == null) {
+            return null;
+        }
+        return new IncrementalJavaCompiler(((MemoryKieModule) kieModule).getMemoryFileSystem(),
+                                           dependenciesClassLoaderCache.assertDependenciesClassLoader(module));
+    }
+
     private List<BuildMessage> verifyClasses(final KieModuleMetaData kieModuleMetaData) {
         //At the end we are interested to ensure that external .jar files referenced as dependencies don't have
         // referential inconsistencies. We will at least provide a basic algorithm to ensure that if an external class
@@ -355,12 +598,13 @@ public class Builder implements Serializable {
                                                        addedValidationMessages);
         }
 
-        synchronized (kieFileSystem) {
-            addNewResource(resource,
-                           inputStream);
-            buildIncrementally(results,
-                               destinationPath(resource));
-        }
+        buildIncrementally(new IncrementalChange(Collections.singleton(Paths.convert(resource)),
+                                                 results,
+                                                 destinationPaths -> {
+                                                     addNewResource(resource,
+                                                                    inputStream);
+                                                     destinationPaths.add(destinationPath(resource));
+                                                 }));
 
         return results;
     }
@@ -372,6 +616,24 @@ public class Builder implements Serializable {
 
         kieFileSystem.write(destinationPath,
                             inputStreamResource);
+        fileSystemChanged(destinationPath);
+        addHandle(path,
+                  destinationPath);
+    }
+
+    private void addNewResource(final Path path,
+                                final byte[] content) {
+        final String destinationPath = destinationPath(path);
+
+        kieFileSystem.write(destinationPath,
+                            content);
+        fileSystemChanged(destinationPath);
+        addHandle(path,
+                  destinationPath);
+    }
+
+    private void addHandle(final Path path,
+                           final String destinationPath) {
         handles.put(getBaseFileName(destinationPath),
                     Paths.convert(path));
         addJavaClass(path);
@@ -391,17 +653,32 @@ public class Builder implements Serializable {
             results.addAllRemovedMessages(convertValidationMessages(nonKieResourceValidationHelperMessages.remove(resource)));
         }
 
-        synchronized (kieFileSystem) {
-            removeResource(resource);
-            buildIncrementally(results,
-                               destinationPath(resource));
-        }
+        buildIncrementally(new IncrementalChange(Collections.singleton(Paths.convert(resource)),
+                                                 results,
+                                                 destinationPaths -> {
+                                                     removeResource(resource);
+                                                     destinationPaths.add(destinationPath(resource));
+                                                 }));
 
         return results;
     }
 
+    private void fileSystemChanged(final String destinationPath) {
+        fileSystemVersion++;
+        if (overlayBase != null) {
+            changedSinceOverlayBase.add(destinationPath);
+            //Past a number of changes a new copy is cheaper than layering the changes on every clone
+            if (changedSinceOverlayBase.size() > MAX_OVERLAY_CHANGES) {
+                overlayBase = null;
+                changedSinceOverlayBase.clear();
+            }
+        }
+    }
+
     private void removeResource(final Path resource) {
-        kieFileSystem.delete(destinationPath(resource));
+        final String destinationPath = destinationPath(resource);
+        kieFileSystem.delete(destinationPath);
+        fileSystemChanged(destinationPath);
         removeJavaClass(resource);
     }
 
@@ -434,49 +711,47 @@ public class Builder implements Serializable {
         checkAFullBuildHasBeenPerformed();
 
         //Add all changes to KieFileSystem before executing the build
-        final List<String> changedFilesKieBuilderPaths = new ArrayList<String>();
         final List<ValidationMessage> nonKieResourceValidatorAddedMessages = new ArrayList<ValidationMessage>();
         final List<ValidationMessage> nonKieResourceValidatorRemovedMessages = new ArrayList<ValidationMessage>();
         final IncrementalBuildResults results = new IncrementalBuildResults(projectGAV);
 
-        synchronized (kieFileSystem) {
-            for (final Map.Entry<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> pathCollectionEntry : changes.entrySet()) {
-                for (final ResourceChange change : pathCollectionEntry.getValue()) {
-                    final ResourceChangeType type = change.getType();
-                    final Path resource = Paths.convert(pathCollectionEntry.getKey());
-
-                    checkNotNull("type",
-                                 type);
-                    checkNotNull("Builder.resource§",
-                                 resource);
-
-                    final String destinationPath = destinationPath(resource);
-                    changedFilesKieBuilderPaths.add(destinationPath);
-                    switch (type) {
-                        case ADD:
-                        case UPDATE:
-                            //Only files can be processed
-                            if (!Files.isRegularFile(resource)) {
-                                continue;
-                            }
-
-                            update(nonKieResourceValidatorAddedMessages,
-                                   nonKieResourceValidatorRemovedMessages,
-                                   resource);
-
-                            break;
-                        case DELETE:
-                        case RENAME:
-                            delete(nonKieResourceValidatorRemovedMessages,
-                                   resource);
-                    }
-                }
-            }
-
-            //Perform the Incremental build and get messages from incremental build
-            buildIncrementally(results,
-                               toArray(changedFilesKieBuilderPaths));
-        }
+        //Perform the Incremental build and get messages from incremental build
+        buildIncrementally(new IncrementalChange(changes.keySet(),
+                                                 results,
+                                                 changedFilesKieBuilderPaths -> {
+                                                     for (final Map.Entry<org.uberfire.backend.vfs.Path, Collection<ResourceChange>> pathCollectionEntry : changes.entrySet()) {
+                                                         for (final ResourceChange change : pathCollectionEntry.getValue()) {
+                                                             final ResourceChangeType type = change.getType();
+                                                             final Path resource = Paths.convert(pathCollectionEntry.getKey());
+
+                                                             checkNotNull("type",
+                                                                          type);
+                                                             checkNotNull("Builder.resource§",
+                                                                          resource);
+
+                                                             final String destinationPath = destinationPath(resource);
+                                                             changedFilesKieBuilderPaths.add(destinationPath);
+                                                             switch (type) {
+                                                                 case ADD:
+                                                                 case UPDATE:
+                                                                     //Only files can be processed
+                                                                     if (!Files.isRegularFile(resource)) {
+                                                                         continue;
+                                                                     }
+
+                                                                     update(nonKieResourceValidatorAddedMessages,
+                                                                            nonKieResourceValidatorRemovedMessages,
+                                                                            resource);
+
+                                                                     break;
+                                                                 case DELETE:
+                                                                 case RENAME:
+                                                                     delete(nonKieResourceValidatorRemovedMessages,
+                                                                            resource);
+                                                             }
+                                                         }
+                                                     }
+                                                 }));
 
         //Copy in BuildMessages for non-KIE resources
         results.addAllAddedMessages(convertValidationMessages(nonKieResourceValidatorAddedMessages));
@@ -535,6 +810,81 @@ public class Builder implements Serializable {
         removeResource(resource);
     }
 
+    /**
+     * Applies the change to the KieFileSystem and builds it incrementally. The changes queued while another writer
+     * holds the build lock are applied and built together by the next writer, each one receiving the messages of its
+     * resources (the messages of the other resources go to the first change).
+     */
+    private void buildIncrementally(final IncrementalChange change) {
+        pendingChanges.add(change);
+        lock();
+        try {
+            if (change.built) {
+                //Built by the writer that held the lock
+                return;
+            }
+            final List<IncrementalChange> batch = new ArrayList<>();
+            for (IncrementalChange pending = pendingChanges.poll(); pending != null; pending = pendingChanges.poll()) {
+                batch.add(pending);
+            }
+
+            final List<String> destinationPaths = new ArrayList<>();
+            try {
+                for (IncrementalChange pending : batch) {
+                    try {
+                        pending.apply.accept(destinationPaths);
+                    } catch (RuntimeException e) {
+                        pending.failure = e;
+                    }
+                }
+
+                final IncrementalBuildResults results = new IncrementalBuildResults(projectGAV);
+                buildIncrementally(results,
+                                   toArray(destinationPaths));
+                lockMetrics.incrementalBuild(batch.size());
+                distribute(results,
+                           batch);
+            } finally {
+                batch.forEach(pending -> pending.built = true);
+            }
+        } finally {
+            unlock();
+            if (change.failure != null) {
+                throw change.failure;
+            }
+        }
+    }
+
+    private void distribute(final IncrementalBuildResults results,
+                            final List<IncrementalChange> batch) {
+        final Map<IncrementalChange, List<BuildMessage>> addedMessages = new HashMap<>();
+        final Map<IncrementalChange, List<BuildMessage>> removedMessages = new HashMap<>();
+        for (BuildMessage message : results.getAddedMessages()) {
+            addedMessages.computeIfAbsent(ownerOf(message,
+                                                  batch),
+                                          c -> new ArrayList<>()).add(message);
+        }
+        for (BuildMessage message : results.getRemovedMessages()) {
+            removedMessages.computeIfAbsent(ownerOf(message,
+                                                    batch),
+                                            c -> new ArrayList<>()).add(message);
+        }
+        addedMessages.forEach((change, messages) -> change.results.addAllAddedMessages(messages));
+        removedMessages.forEach((change, messages) -> change.results.addAllRemovedMessages(messages));
+    }
+
+    private IncrementalChange ownerOf(final BuildMessage message,
+                                      final List<IncrementalChange> batch) {
+        if (batch.size() > 1 && message.getPath() != null) {
+            for (IncrementalChange change : batch) {
+                if (change.resources.contains(message.getPath())) {
+                    return change;
+                }
+            }
+        }
+        return batch.get(0);
+    }
+
     private void buildIncrementally(final IncrementalBuildResults results,
                                     final String... destinationPath) {
         try {
@@ -543,6 +893,10 @@ public class Builder implements Serializable {
                                                         handles));
             results.addAllRemovedMessages(convertMessages(incrementalResults.getRemovedMessages(),
                                                           handles));
+            for (Message message : incrementalResults.getRemovedMessages()) {
+                kieErrors.remove(errorKey(message));
+            }
+            addKieErrors(incrementalResults.getAddedMessages());
 
             //Tidy-up removed message handles
             for (Message message : incrementalResults.getRemovedMessages()) {
@@ -553,18 +907,62 @@ public class Builder implements Serializable {
                                                     e.getLocalizedMessage());
             logger.warn(msg);
             results.addAddedMessage(makeWarningMessage(msg));
+            kieErrors.add(BUILD_FAILURE);
         } catch (Throwable e) {
             final String msg = e.getLocalizedMessage();
             logger.error(msg,
                          e);
             results.addAddedMessage(makeErrorMessage(msg));
+            kieErrors.add(BUILD_FAILURE);
+        }
+        publishKieModule();
+    }
+
+    private void addKieErrors(final Collection<Message> messages) {
+        for (Message message : messages) {
+            if (message.getLevel() == Message.Level.ERROR) {
+                kieErrors.add(errorKey(message));
+            }
+        }
+    }
+
+    private static String errorKey(final Message message) {
+        return message.getPath() + ":" + message.getLine() + ":" + message.getColumn() + ":" + message.getText();
+    }
+
+    /**
+     * Publishes a copy of the KieModule of the KieBuilder when the build has no errors, otherwise the copy of the last
+     * build without errors stays published. Called with the build lock held.
+     */
+    private void publishKieModule() {
+        if (!kieErrors.isEmpty()) {
+            return;
         }
+        final MemoryKieModule kieModule = (MemoryKieModule) ((InternalKieBuilder) kieBuilder).getKieModuleIgnoringErrors();
+        builtKieModule = kieModule.cloneForIncrementalCompilation(kieModule.getReleaseId(),
+                                                                  kieModule.getKieModuleModel(),
+                                                                  kieModule.getMemoryFileSystem().clone());
     }
 
     private void checkAFullBuildHasBeenPerformed() {
         if (!isBuilt()) {
             throw new IllegalStateException("A full build needs to be performed before any incremental operations.");
         }
+        ensureFullBuild();
+    }
+
+    private void ensureFullBuild() {
+        //A restored KieModule has no KnowledgeBuilders, incremental builds need the KieBuilder of a full build
+        if (restoredKieModule != null) {
+            lock();
+            try {
+                if (restoredKieModule != null) {
+                    build();
+                }
+            } finally {
+                unlock();
+            }
+        }
     }
 
     public org.kie.api.builder.KieModule getKieModule() {
@@ -572,19 +970,62 @@ public class Builder implements Serializable {
         if (!isBuilt()) {
             build();
         }
-        synchronized (kieFileSystem) {
+        //Snapshots are only taken of builds without errors
+        final MemoryKieModule restored = restoredKieModule;
+        if (restored != null) {
+            return restored;
+        }
+        lock();
+        try {
             return kieBuilder.getKieModule();
+        } finally {
+            unlock();
         }
     }
 
+    /**
+     * @return a copy of the KieModule of the last build without errors, without waiting for the builds in progress;
+     * the KieModule of the KieBuilder when no build succeeded yet
+     */
     public org.kie.api.builder.KieModule getKieModuleIgnoringErrors() {
+        final MemoryKieModule restored = restoredKieModule;
+        if (restored != null) {
+            return restored;
+        }
+        final org.kie.api.builder.KieModule kieModule = builtKieModule;
+        if (kieModule != null) {
+            return kieModule;
+        }
         //Kie classes are only available once built
         if (!isBuilt()) {
             build();
         }
-        synchronized (kieFileSystem) {
+        lock();
+        try {
             return ((InternalKieBuilder) kieBuilder).getKieModuleIgnoringErrors();
+        } finally {
+            unlock();
+        }
+    }
+
+    public BuilderLockMetrics getLockMetrics() {
+        return lockMetrics;
+    }
+
+    private void lock() {
+        final long requestedAt = System.nanoTime();
+        buildLock.lock();
+        if (buildLock.getHoldCount() == 1) {
+            lockAcquiredAt = System.nanoTime();
+            lockMetrics.acquired(lockAcquiredAt - requestedAt);
+        }
+    }
+
+    private void unlock() {
+        if (buildLock.getHoldCount() == 1) {
+            lockMetrics.released(System.nanoTime() - lockAcquiredAt);
         }
+        buildLock.unlock();
     }
 
     public KieModuleMetaData getKieModuleMetaDataIgnoringErrors() {
@@ -598,6 +1039,11 @@ public class Builder implements Serializable {
     }
 
     public KieContainer getKieContainer() {
+        final MemoryKieModule restored = restoredKieModule;
+        if (restored != null) {
+            return newKieContainer(restored);
+        }
+
         BuildResults results = null;
 
         //Kie classes are only available once built
@@ -614,42 +1060,118 @@ public class Builder implements Serializable {
             // create the KieContainer from KieRepository. This holds the most recent KieModule (for the ReleaseId) that was built with
             // kieBuilder.buildAll() which *may* be a KieModule created during asset validation and hence will lack many assets.
             // See https://bugzilla.redhat.com/show_bug.cgi?id=1202551
-            final org.kie.api.builder.KieModule kieModule = kieBuilder.getKieModule();
-            final ReleaseId releaseId = kieModule.getReleaseId();
-            final org.drools.compiler.kie.builder.impl.KieProject kieProject = new KieModuleKieProject((InternalKieModule) kieBuilder.getKieModule(),
-                                                                                                       null);
-            final KieContainer kieContainer = new KieContainerImpl(kieProject,
-                                                                   KieServices.Factory.get().getRepository(),
-                                                                   releaseId);
-            return kieContainer;
+            return newKieContainer(kieBuilder.getKieModule());
         } else {
             return null;
         }
     }
 
+    private KieContainer newKieContainer(final org.kie.api.builder.KieModule kieModule) {
+        final ReleaseId releaseId = kieModule.getReleaseId();
+        final org.drools.compiler.kie.builder.impl.KieProject kieProject = new KieModuleKieProject((InternalKieModule) kieModule,
+                                                                                                   null);
+        final KieContainer kieContainer = new KieContainerImpl(kieProject,
+                                                               KieServices.Factory.get().getRepository(),
+                                                               releaseId);
+        return kieContainer;
+    }
+
     public boolean isBuilt() {
-        return kieBuilder != null;
+        return kieBuilder != null || restoredKieModule != null;
     }
 
-    private void visitPaths(final DirectoryStream<Path> directoryStream) {
-        for (final Path path : directoryStream) {
-            if (Files.isDirectory(path)) {
-                visitPaths(Files.newDirectoryStream(path));
-            } else {
-                //Don't process dotFiles
-                if (!dotFileFilter.accept(path)) {
-
-                    //Resource Type might require "external" validation (i.e. it's not covered by Kie)
-                    final BuildValidationHelper validator = getBuildValidationHelper(path);
-                    if (validator != null) {
-                        nonKieResourceValidationHelpers.put(path,
-                                                            validator);
-                    }
+    private boolean restore(final BuilderSnapshotStore.Snapshot snapshot) {
+        try {
+            final MemoryKieModule kieModule = new MemoryKieModule(kieServices.newReleaseId(projectGAV.getGroupId(),
+                                                                                           projectGAV.getArtifactId(),
+                                                                                           projectGAV.getVersion()),
+                                                                  KieModuleModelImpl.fromXML(snapshot.getKModuleXml()),
+                                                                  MemoryFileSystem.readFromJar(snapshot.getKieModule()));
+            for (Map.Entry<String, String> handle : snapshot.getHandles().entrySet()) {
+                handles.put(handle.getKey(),
+                            Paths.convert(ioService.get(URI.create(handle.getValue()))));
+            }
+            javaResources.addAll(snapshot.getJavaResources());
+            restoredKieModule = kieModule;
+            builtKieModule = kieModule;
+            return true;
+        } catch (Exception e) {
+            logger.warn("Unable to restore the build snapshot of module {}: {}",
+                        projectGAV,
+                        e.getMessage());
+            handles.clear();
+            javaResources.clear();
+            return false;
+        }
+    }
 
-                    addNewResource(path,
-                                   ioService.newInputStream(path));
+    private void saveSnapshot(final long builtVersion) {
+        try {
+            final String commitId = snapshotStore.getCommitId(project);
+            if (commitId == null) {
+                return;
+            }
+            final MemoryKieModule kieModule;
+            final Map<String, String> handleUris = new HashMap<>();
+            final Set<String> javaResourcesCopy;
+            lock();
+            try {
+                //A change applied since the build, like the one of a later commit, makes the snapshot outdated
+                if (fileSystemVersion != builtVersion || kieBuilder == null) {
+                    return;
                 }
+                kieModule = (MemoryKieModule) ((InternalKieBuilder) kieBuilder).getKieModuleIgnoringErrors();
+                for (Map.Entry<String, org.uberfire.backend.vfs.Path> handle : handles.entries()) {
+                    handleUris.put(handle.getKey(),
+                                   handle.getValue().toURI());
+                }
+                javaResourcesCopy = new HashSet<>(javaResources);
+            } finally {
+                unlock();
             }
+            snapshotStore.save(project,
+                               BuilderSnapshotStore.Snapshot.of(project,
+                                                                commitId,
+                                                                kieModule.getKieModuleModel().toXML(),
+                                                                kieModule.getMemoryFileSystem().writeAsBytes(),
+                                                                handleUris,
+                                                                javaResourcesCopy));
+        } catch (Exception e) {
+            logger.warn("Unable to take the build snapshot of module {}: {}",
+                        projectGAV,
+                        e.getMessage());
+        }
+    }
+
+    private void loadResourcesIfRestored() {
+        if (!resourcesLoaded) {
+            loadResources();
+        }
+    }
+
+    private void loadResources() {
+        //Files are read concurrently, then added in walk order so the content of the KieFileSystem is deterministic
+        final List<ModuleResourceLoader.LoadedResource> resources = new ModuleResourceLoader(ioService,
+                                                                                             dotFileFilter,
+                                                                                             ioExecutor).load(projectRoot);
+        lock();
+        try {
+            for (final ModuleResourceLoader.LoadedResource resource : resources) {
+                final Path path = resource.getPath();
+
+                //Resource Type might require "external" validation (i.e. it's not covered by Kie)
+                final BuildValidationHelper validator = getBuildValidationHelper(path);
+                if (validator != null) {
+                    nonKieResourceValidationHelpers.put(path,
+                                                        validator);
+                }
+
+                addNewResource(path,
+                               resource.getContent());
+            }
+            resourcesLoaded = true;
+        } finally {
+            unlock();
         }
     }
 
@@ -697,4 +1219,22 @@ public class Builder implements Serializable {
     KieFileSystem getKieFileSystem() {
         return kieFileSystem;
     }
+
+    private static class IncrementalChange {
+
+        private final Set<org.uberfire.backend.vfs.Path> resources;
+        private final IncrementalBuildResults results;
+        //Applies the change to the KieFileSystem, adding the paths to build
+        private final Consumer<List<String>> apply;
+        private volatile boolean built;
+        private volatile RuntimeException failure;
+
+        private IncrementalChange(final Set<org.uberfire.backend.vfs.Path> resources,
+                                  final IncrementalBuildResults results,
+                                  final Consumer<List<String>> apply) {
+            this.resources = resources;
+            this.results = results;
+            this.apply = apply;
+        }
+    }
 }
@@ -0,0 +1,91 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Time spent by the writers of a {@link Builder} waiting for and holding its build lock.
+ */
+public class BuilderLockMetrics {
+
+    private final AtomicLong acquisitions = new AtomicLong();
+    private final AtomicLong queueingNanos = new AtomicLong();
+    private final LongAccumulator maxQueueingNanos = new LongAccumulator(Long::max,
+                                                                         0);
+    private final AtomicLong holdNanos = new AtomicLong();
+    private final LongAccumulator maxHoldNanos = new LongAccumulator(Long::max,
+                                                                     0);
+    private final AtomicLong incrementalBuilds = new AtomicLong();
+    private final AtomicLong coalescedChanges = new AtomicLong();
+
+    void acquired(final long queueingNanos) {
+        acquisitions.incrementAndGet();
+        this.queueingNanos.addAndGet(queueingNanos);
+        maxQueueingNanos.accumulate(queueingNanos);
+    }
+
+    void released(final long holdNanos) {
+        this.holdNanos.addAndGet(holdNanos);
+        maxHoldNanos.accumulate(holdNanos);
+    }
+
+    void incrementalBuild(final int changes) {
+        incrementalBuilds.incrementAndGet();
+        coalescedChanges.addAndGet(changes - 1);
+    }
+
+    public long getAcquisitions() {
+        return acquisitions.get();
+    }
+
+    public long getAverageQueueingMillis() {
+        return average(queueingNanos.get());
+    }
+
+    public long getMaxQueueingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxQueueingNanos.get());
+    }
+
+    public long getAverageHoldMillis() {
+        return average(holdNanos.get());
+    }
+
+    public long getMaxHoldMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxHoldNanos.get());
+    }
+
+    /**
+     * Number of the incremental builds executed
+     */
+    public long getIncrementalBuilds() {
+        return incrementalBuilds.get();
+    }
+
+    /**
+     * Number of the resource changes built by the incremental build of another change
+     */
+    public long getCoalescedChanges() {
+        return coalescedChanges.get();
+    }
+
+    private long average(final long totalNanos) {
+        final long count = acquisitions.get();
+        return count == 0 ? 0 : TimeUnit.NANOSECONDS.toMillis(totalNanos / count);
+    }
+}
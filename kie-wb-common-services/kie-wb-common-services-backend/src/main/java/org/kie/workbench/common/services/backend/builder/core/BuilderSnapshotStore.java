@@ -0,0 +1,383 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.zip.CRC32;
+
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.Module;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.base.version.VersionAttributeView;
+import org.uberfire.java.nio.base.version.VersionRecord;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Keeps on the local disk the state of the last successful full build of the modules, so the first use of a module
+ * after a restart doesn't require a full build. A snapshot is keyed by the id of the last commit of the module root
+ * and is discarded when the module has been changed since, or when its content is not valid.
+ * Snapshots are written in the background, never on the thread of a build.
+ */
+class BuilderSnapshotStore {
+
+    protected static final String SNAPSHOT_DIR = "org.kie.builder.snapshot.dir";
+
+    private static final Logger logger = LoggerFactory.getLogger(BuilderSnapshotStore.class);
+
+    private static final int MAGIC = 0x4b425353;
+    private static final int VERSION = 1;
+
+    private final File directory;
+    private final IOService ioService;
+    private final Executor executor;
+
+    BuilderSnapshotStore(final File directory,
+                         final IOService ioService) {
+        this(directory,
+             ioService,
+             Runnable::run);
+    }
+
+    BuilderSnapshotStore(final File directory,
+                         final IOService ioService,
+                         final Executor executor) {
+        this.directory = directory;
+        this.ioService = ioService;
+        this.executor = executor;
+    }
+
+    /**
+     * @return the store configured with the {@link #SNAPSHOT_DIR} system property, or null when it is not configured
+     */
+    static BuilderSnapshotStore fromSystemProperties(final IOService ioService,
+                                                     final Executor executor) {
+        final String dir = System.getProperty(SNAPSHOT_DIR);
+        if (dir == null || dir.trim().isEmpty()) {
+            return null;
+        }
+        return new BuilderSnapshotStore(new File(dir.trim()),
+                                        ioService,
+                                        executor);
+    }
+
+    /**
+     * Runs the task taking a snapshot in the background, the snapshot is skipped when the executor doesn't accept it
+     */
+    void saveLater(final Runnable task) {
+        try {
+            executor.execute(task);
+        } catch (RejectedExecutionException e) {
+            logger.debug("Build snapshot skipped: {}",
+                         e.getMessage());
+        }
+    }
+
+    /**
+     * @return the id of the last commit of the module root, or null if the file system doesn't keep a history
+     */
+    String getCommitId(final Module module) {
+        try {
+            final Path root = Paths.convert(module.getRootPath());
+            final VersionAttributeView view = ioService.getFileAttributeView(root,
+                                                                             VersionAttributeView.class);
+            if (view == null) {
+                return null;
+            }
+            final List<VersionRecord> records = view.readAttributes().history().records();
+            if (records == null || records.isEmpty()) {
+                return null;
+            }
+            return records.get(records.size() - 1).id();
+        } catch (Exception e) {
+            logger.debug("Unable to resolve the last commit of module {}",
+                         module.getRootPath(),
+                         e);
+            return null;
+        }
+    }
+
+    Snapshot load(final Module module,
+                  final String commitId) {
+        if (commitId == null) {
+            return null;
+        }
+        final File file = fileOf(module);
+        if (!file.exists()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Files.readAllBytes(file.toPath())))) {
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                return discard(file);
+            }
+            final long checksum = in.readLong();
+            final byte[] payload = new byte[in.readInt()];
+            in.readFully(payload);
+            if (checksum != checksum(payload)) {
+                return discard(file);
+            }
+            final Snapshot snapshot = Snapshot.read(payload);
+            if (!commitId.equals(snapshot.getCommitId()) || !gavOf(module).equals(snapshot.getGav())) {
+                //The module changed since the snapshot was taken
+                return discard(file);
+            }
+            return snapshot;
+        } catch (Exception e) {
+            logger.warn("Unable to read the build snapshot {}: {}",
+                        file,
+                        e.getMessage());
+            return discard(file);
+        }
+    }
+
+    void save(final Module module,
+              final Snapshot snapshot) {
+        if (snapshot.getCommitId() == null) {
+            return;
+        }
+        final File file = fileOf(module);
+        try {
+            final byte[] payload = snapshot.write();
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(payload.length + 20);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(checksum(payload));
+                out.writeInt(payload.length);
+                out.write(payload);
+            }
+            Files.createDirectories(directory.toPath());
+            //Written aside and moved, so a crash never leaves a truncated snapshot behind
+            final File tmp = new File(directory,
+                                      file.getName() + ".tmp");
+            Files.write(tmp.toPath(),
+                        bytes.toByteArray());
+            try {
+                Files.move(tmp.toPath(),
+                           file.toPath(),
+                           StandardCopyOption.REPLACE_EXISTING,
+                           StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(),
+                           file.toPath(),
+                           StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (Exception e) {
+            logger.warn("Unable to write the build snapshot {}: {}",
+                        file,
+                        e.getMessage());
+        }
+    }
+
+    void invalidate(final Module module) {
+        final File file = fileOf(module);
+        if (file.exists() && !file.delete()) {
+            logger.warn("Unable to delete the build snapshot {}",
+                        file);
+        }
+    }
+
+    File fileOf(final Module module) {
+        return new File(directory,
+                        hash(module.getRootPath().toURI()) + ".snapshot");
+    }
+
+    private Snapshot discard(final File file) {
+        if (!file.delete()) {
+            logger.warn("Unable to delete the build snapshot {}",
+                        file);
+        }
+        return null;
+    }
+
+    private static String gavOf(final Module module) {
+        final GAV gav = module.getPom().getGav();
+        return gav.getGroupId() + ":" + gav.getArtifactId() + ":" + gav.getVersion();
+    }
+
+    private static long checksum(final byte[] payload) {
+        final CRC32 crc = new CRC32();
+        crc.update(payload);
+        return crc.getValue();
+    }
+
+    private static String hash(final String value) {
+        try {
+            final byte[] digest = MessageDigest.getInstance("SHA-1").digest(value.getBytes(StandardCharsets.UTF_8));
+            final StringBuilder sb = new StringBuilder();
+            for (byte b : digest) {
+                sb.append(String.format("%02x",
+                                        b));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * State of a successful full build: the compiled KieModule and what is needed to resolve the build messages and
+     * the types of the module without walking it again.
+     */
+    static class Snapshot {
+
+        private final String commitId;
+        private final String gav;
+        private final String kModuleXml;
+        private final byte[] kieModule;
+        private final Map<String, String> handles;
+        private final Set<String> javaResources;
+
+        Snapshot(final String commitId,
+                 final String gav,
+                 final String kModuleXml,
+                 final byte[] kieModule,
+                 final Map<String, String> handles,
+                 final Set<String> javaResources) {
+            this.commitId = commitId;
+            this.gav = gav;
+            this.kModuleXml = kModuleXml;
+            this.kieModule = kieModule;
+            this.handles = handles;
+            this.javaResources = javaResources;
+        }
+
+        static Snapshot of(final Module module,
+                           final String commitId,
+                           final String kModuleXml,
+                           final byte[] kieModule,
+                           final Map<String, String> handles,
+                           final Set<String> javaResources) {
+            return new Snapshot(commitId,
+                                gavOf(module),
+                                kModuleXml,
+                                kieModule,
+                                handles,
+                                javaResources);
+        }
+
+        String getCommitId() {
+            return commitId;
+        }
+
+        String getGav() {
+            return gav;
+        }
+
+        String getKModuleXml() {
+            return kModuleXml;
+        }
+
+        byte[] getKieModule() {
+            return kieModule;
+        }
+
+        /**
+         * @return the base file names of the resources with the uri of their path
+         */
+        Map<String, String> getHandles() {
+            return handles;
+        }
+
+        Set<String> getJavaResources() {
+            return javaResources;
+        }
+
+        byte[] write() throws IOException {
+            final ByteArrayOutputStream bytes = new ByteArrayOutputStream(kieModule.length + 1024);
+            try (DataOutputStream out = new DataOutputStream(bytes)) {
+                out.writeUTF(commitId);
+                out.writeUTF(gav);
+                writeString(out,
+                            kModuleXml);
+                out.writeInt(kieModule.length);
+                out.write(kieModule);
+                out.writeInt(handles.size());
+                for (Map.Entry<String, String> entry : handles.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeUTF(entry.getValue());
+                }
+                out.writeInt(javaResources.size());
+                for (String javaResource : javaResources) {
+                    out.writeUTF(javaResource);
+                }
+            }
+            return bytes.toByteArray();
+        }
+
+        static Snapshot read(final byte[] payload) throws IOException {
+            try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload))) {
+                final String commitId = in.readUTF();
+                final String gav = in.readUTF();
+                final String kModuleXml = readString(in);
+                final byte[] kieModule = new byte[in.readInt()];
+                in.readFully(kieModule);
+                final int handlesSize = in.readInt();
+                final Map<String, String> handles = new HashMap<>(handlesSize * 2);
+                for (int i = 0; i < handlesSize; i++) {
+                    handles.put(in.readUTF(),
+                                in.readUTF());
+                }
+                final int javaResourcesSize = in.readInt();
+                final Set<String> javaResources = new HashSet<>(javaResourcesSize * 2);
+                for (int i = 0; i < javaResourcesSize; i++) {
+                    javaResources.add(in.readUTF());
+                }
+                return new Snapshot(commitId,
+                                    gav,
+                                    kModuleXml,
+                                    kieModule,
+                                    handles,
+                                    javaResources);
+            }
+        }
+
+        //kmodule.xml may exceed the 64k limit of writeUTF
+        private static void writeString(final DataOutputStream out,
+                                        final String value) throws IOException {
+            final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+
+        private static String readString(final DataInputStream in) throws IOException {
+            final byte[] bytes = new byte[in.readInt()];
+            in.readFully(bytes);
+            return new String(bytes,
+                              StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.security.CodeSource;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Results of the verification of the external classes, kept per dependency jar (identified by the checksum of its
+ * content) so a full build only verifies the classes of the jars added or changed since the previous builds.
+ * As the verification of a class depends on the other jars it links to, the successes are reused when the current
+ * dependencies include all the jars the class was verified with, the failures only with the same dependencies.
+ * A jar keeps the verifications of the last few different dependencies it was verified with, as the modules sharing
+ * a jar usually have different dependencies.
+ */
+class ClassVerificationCache {
+
+    private static final int MAX_JARS = Integer.getInteger("org.kie.builder.verification.cache.size",
+                                                           2000);
+
+    private static final int MAX_CLASSPATHS = Integer.getInteger("org.kie.builder.verification.cache.classpaths",
+                                                                 4);
+
+    private static final ClassVerificationCache INSTANCE = new ClassVerificationCache(MAX_JARS,
+                                                                                      MAX_CLASSPATHS);
+
+    //Most recent verification first, the lists are guarded by the map
+    private final Map<String, LinkedList<JarVerification>> verifications;
+    private final Map<String, String> checksums;
+    private final int maxClasspaths;
+
+    ClassVerificationCache(final int maxJars,
+                           final int maxClasspaths) {
+        this.verifications = lruMap(maxJars);
+        this.checksums = lruMap(maxJars);
+        this.maxClasspaths = maxClasspaths;
+    }
+
+    private static <V> Map<String, V> lruMap(final int maxEntries) {
+        return Collections.synchronizedMap(new LinkedHashMap<String, V>(16,
+                                                                        0.75f,
+                                                                        true) {
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, V> eldest) {
+                return size() > maxEntries;
+            }
+        });
+    }
+
+    static ClassVerificationCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * @return the checksums of the jars visible to the dependencies class loader, or null if they can't be resolved
+     */
+    Set<String> getClasspath(final ClassLoader dependenciesClassLoader) {
+        if (!(dependenciesClassLoader instanceof URLClassLoader)) {
+            return null;
+        }
+        final Set<String> classpath = new HashSet<>();
+        for (URL url : ((URLClassLoader) dependenciesClassLoader).getURLs()) {
+            final String checksum = checksumOf(url);
+            if (checksum == null) {
+                return null;
+            }
+            classpath.add(checksum);
+        }
+        return classpath;
+    }
+
+    /**
+     * @return the checksum of the jar the class was loaded from, or null if it doesn't come from a jar
+     */
+    String getJar(final Class<?> clazz) {
+        final CodeSource codeSource = clazz.getProtectionDomain().getCodeSource();
+        if (codeSource == null || codeSource.getLocation() == null) {
+            return null;
+        }
+        return checksumOf(codeSource.getLocation());
+    }
+
+    /**
+     * @return the verification of the classes of the jar still valid with the given dependencies
+     */
+    JarVerification getVerification(final String jar,
+                                    final Set<String> classpath) {
+        synchronized (verifications) {
+            LinkedList<JarVerification> jarVerifications = verifications.get(jar);
+            if (jarVerifications == null) {
+                jarVerifications = new LinkedList<>();
+                verifications.put(jar,
+                                  jarVerifications);
+            }
+            final JarVerification current = new JarVerification(classpath);
+            for (Iterator<JarVerification> iterator = jarVerifications.iterator(); iterator.hasNext(); ) {
+                final JarVerification verification = iterator.next();
+                if (verification.classpath.equals(classpath)) {
+                    iterator.remove();
+                    jarVerifications.addFirst(verification);
+                    return verification;
+                }
+                if (classpath.containsAll(verification.classpath)) {
+                    //Linking to more jars doesn't break what was verified, only the failures need a new verification
+                    current.verifiedClasses.addAll(verification.verifiedClasses);
+                }
+            }
+            jarVerifications.addFirst(current);
+            if (jarVerifications.size() > maxClasspaths) {
+                jarVerifications.removeLast();
+            }
+            return current;
+        }
+    }
+
+    private String checksumOf(final URL url) {
+        if (!"file".equals(url.getProtocol())) {
+            return null;
+        }
+        final File file = new File(url.getPath());
+        if (!file.isFile()) {
+            return null;
+        }
+        //The content is only read again when the jar is replaced
+        final String key = file.getAbsolutePath() + ":" + file.length() + ":" + file.lastModified();
+        final String checksum = checksums.get(key);
+        if (checksum != null) {
+            return checksum;
+        }
+        final String crc = crc(file);
+        if (crc != null) {
+            checksums.put(key,
+                          crc);
+        }
+        return crc;
+    }
+
+    private static String crc(final File file) {
+        final CRC32 crc = new CRC32();
+        final byte[] buffer = new byte[64 * 1024];
+        try (InputStream in = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = in.read(buffer)) != -1) {
+                crc.update(buffer,
+                           0,
+                           read);
+            }
+        } catch (IOException e) {
+            return null;
+        }
+        return Long.toHexString(crc.getValue()) + ":" + file.length();
+    }
+
+    static class JarVerification {
+
+        private final Set<String> classpath;
+        private final Set<String> verifiedClasses = ConcurrentHashMap.newKeySet();
+        private final Map<String, String> failures = new ConcurrentHashMap<>();
+
+        private JarVerification(final Set<String> classpath) {
+            this.classpath = classpath;
+        }
+
+        boolean isVerified(final String className) {
+            return verifiedClasses.contains(className);
+        }
+
+        /**
+         * @return the message of the failed verification of the class, or null
+         */
+        String getFailure(final String className) {
+            return failures.get(className);
+        }
+
+        void verified(final String className) {
+            failures.remove(className);
+            verifiedClasses.add(className);
+        }
+
+        void failed(final String className,
+                    final String message) {
+            failures.put(className,
+                         message);
+        }
+    }
+}
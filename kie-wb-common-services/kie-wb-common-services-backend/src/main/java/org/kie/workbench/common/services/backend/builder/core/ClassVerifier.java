@@ -18,14 +18,18 @@ package org.kie.workbench.common.services.backend.builder.core;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
 
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.kie.scanner.KieModuleMetaData;
 import org.kie.soup.project.datamodel.oracle.TypeSource;
+import org.kie.workbench.common.services.backend.concurrent.BackendTaskPool;
 import org.kie.workbench.common.services.shared.whitelist.WhiteList;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import static java.util.stream.Collectors.toList;
 import static org.kie.workbench.common.services.backend.builder.core.BuildMessageBuilder.*;
 
 public class ClassVerifier {
@@ -37,58 +41,145 @@ public class ClassVerifier {
 
     private final TypeSourceResolver typeSourceResolver;
     private final KieModuleMetaData kieModuleMetaData;
-
-    private final List<BuildMessage> buildMessages = new ArrayList<BuildMessage>();
+    private final ClassVerificationCache verificationCache;
 
     public ClassVerifier(final KieModuleMetaData kieModuleMetaData,
                          final TypeSourceResolver typeSourceResolver) {
+        this(kieModuleMetaData,
+             typeSourceResolver,
+             ClassVerificationCache.getInstance());
+    }
+
+    ClassVerifier(final KieModuleMetaData kieModuleMetaData,
+                  final TypeSourceResolver typeSourceResolver,
+                  final ClassVerificationCache verificationCache) {
         this.kieModuleMetaData = kieModuleMetaData;
         this.typeSourceResolver = typeSourceResolver;
+        this.verificationCache = verificationCache;
     }
 
     public List<BuildMessage> verify(WhiteList whiteList) {
+        final Set<String> classpath = getClasspath();
+        final List<String> packageNames = kieModuleMetaData.getPackages().stream()
+                .filter(whiteList::contains)
+                .collect(toList());
 
-        for (final String packageName : kieModuleMetaData.getPackages()) {
-            if (whiteList.contains(packageName)) {
-                for (final String className : kieModuleMetaData.getClasses(packageName)) {
-                    verifyClass(packageName,
-                                className);
-                }
-            }
+        //Packages are verified in parallel, the messages are kept in the order of the packages
+        final List<List<BuildMessage>> packageMessages;
+        try {
+            packageMessages = BackendTaskPool.get().submit(() -> packageNames.parallelStream()
+                    .map(packageName -> verifyPackage(packageName,
+                                                      classpath))
+                    .collect(toList())).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+
+        final List<BuildMessage> buildMessages = new ArrayList<BuildMessage>();
+        packageMessages.forEach(buildMessages::addAll);
+        return buildMessages;
+    }
+
+    private Set<String> getClasspath() {
+        try {
+            final ClassLoader classLoader = kieModuleMetaData.getClassLoader();
+            return classLoader != null ? verificationCache.getClasspath(classLoader.getParent()) : null;
+        } catch (Exception e) {
+            logger.debug("Unable to resolve the dependencies of the module, the classes will be verified without cache.",
+                         e);
+            return null;
+        }
+    }
+
+    private List<BuildMessage> verifyPackage(final String packageName,
+                                             final Set<String> classpath) {
+        final List<BuildMessage> buildMessages = new ArrayList<BuildMessage>();
+        for (final String className : kieModuleMetaData.getClasses(packageName)) {
+            verifyClass(packageName,
+                        className,
+                        classpath,
+                        buildMessages);
         }
         return buildMessages;
     }
 
     private void verifyClass(final String packageName,
-                             final String className) {
+                             final String className,
+                             final Set<String> classpath,
+                             final List<BuildMessage> buildMessages) {
 
         try {
             final Class clazz = kieModuleMetaData.getClass(packageName,
                                                            className);
             if (clazz != null) {
                 if (TypeSource.JAVA_DEPENDENCY == typeSourceResolver.getTypeSource(clazz)) {
-                    verifyExternalClass(clazz);
+                    verifyExternalClass(clazz,
+                                        classpath,
+                                        buildMessages);
                 }
             } else {
                 logger.warn(MessageFormat.format(ERROR_EXTERNAL_CLASS_VERIFICATION,
                                                  toFQCN(packageName, className)));
             }
         } catch (Throwable e) {
-            final String msg = MessageFormat.format(ERROR_EXTERNAL_CLASS_VERIFICATION,
-                                                    toFQCN(packageName, className),
-                                                    e.getMessage());
-
-            logger.warn(msg);
-            logger.debug("This state is usually encountered when the Project references a class not on the classpath; e.g. in a Maven 'provided' scope or 'optional' dependency.", e);
-            buildMessages.add(makeWarningMessage(msg));
+            buildMessages.add(makeWarningMessage(failureMessage(toFQCN(packageName,
+                                                                       className),
+                                                                e)));
         }
     }
 
+    private String failureMessage(final String fullyQualifiedClassName,
+                                  final Throwable e) {
+        final String msg = MessageFormat.format(ERROR_EXTERNAL_CLASS_VERIFICATION,
+                                                fullyQualifiedClassName,
+                                                e.getMessage());
+
+        logger.warn(msg);
+        logger.debug("This state is usually encountered when the Project references a class not on the classpath; e.g. in a Maven 'provided' scope or 'optional' dependency.", e);
+        return msg;
+    }
+
     private String toFQCN(final String packageName,
                           final String className) {
         return packageName + "." + className;
     }
 
+    private void verifyExternalClass(final Class clazz,
+                                     final Set<String> classpath,
+                                     final List<BuildMessage> buildMessages) {
+        final String jar = classpath != null ? verificationCache.getJar(clazz) : null;
+        if (jar == null) {
+            verifyExternalClass(clazz);
+            return;
+        }
+
+        final ClassVerificationCache.JarVerification verification = verificationCache.getVerification(jar,
+                                                                                                       classpath);
+        final String className = clazz.getName();
+        if (verification.isVerified(className)) {
+            return;
+        }
+        final String failure = verification.getFailure(className);
+        if (failure != null) {
+            buildMessages.add(makeWarningMessage(failure));
+            return;
+        }
+
+        try {
+            verifyExternalClass(clazz);
+            verification.verified(className);
+        } catch (Throwable e) {
+            final String msg = failureMessage(className,
+                                              e);
+            verification.failed(className,
+                                msg);
+            buildMessages.add(makeWarningMessage(msg));
+        }
+    }
+
     private void verifyExternalClass(final Class clazz) {
         //don't recommended to instantiate the class doing clazz.newInstance().
         clazz.getDeclaredConstructors();
@@ -17,6 +17,7 @@ package org.kie.workbench.common.services.backend.builder.core;
 
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Set;
 
 import org.uberfire.backend.vfs.Path;
 
@@ -37,4 +38,8 @@ class Handles {
     void remove(String pathToResource) {
         handles.remove(pathToResource);
     }
+
+    Set<Map.Entry<String, Path>> entries() {
+        return handles.entrySet();
+    }
 }
@@ -0,0 +1,209 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.maven.model.Model;
+import org.apache.maven.model.Plugin;
+import org.apache.maven.model.io.xpp3.MavenXpp3Reader;
+import org.codehaus.plexus.util.xml.Xpp3Dom;
+import org.codehaus.plexus.util.xml.pull.XmlPullParserException;
+
+import org.drools.compiler.commons.jci.compilers.CompilationResult;
+import org.drools.compiler.commons.jci.compilers.EclipseJavaCompiler;
+import org.drools.compiler.commons.jci.compilers.EclipseJavaCompilerSettings;
+import org.drools.compiler.commons.jci.problems.CompilationProblem;
+import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
+
+/**
+ * Compiles a changed Java source of a module, and the sources of the module referring to it, against the classes of
+ * the last build of the module, instead of building the whole module again.
+ */
+class IncrementalJavaCompiler {
+
+    static final String JAVA_ROOT = "src/main/java/";
+
+    static final String DEFAULT_JAVA_VERSION = "1.8";
+
+    private static final Pattern PROPERTY_REFERENCE = Pattern.compile("\\$\\{(.+)\\}");
+
+    private final MemoryFileSystem kieModuleFileSystem;
+    private final ClassLoader dependenciesClassLoader;
+
+    IncrementalJavaCompiler(final MemoryFileSystem kieModuleFileSystem,
+                            final ClassLoader dependenciesClassLoader) {
+        this.kieModuleFileSystem = kieModuleFileSystem;
+        this.dependenciesClassLoader = dependenciesClassLoader;
+    }
+
+    static boolean accepts(final String destinationPath) {
+        return destinationPath.startsWith(JAVA_ROOT) && destinationPath.endsWith(".java");
+    }
+
+    /**
+     * @param destinationPath path of the changed source in the KieFileSystem
+     * @param sources the Java sources of the module, by path in the KieFileSystem
+     * @return the changed source followed by the sources that might refer to the class it declares
+     */
+    static Map<String, byte[]> withDependents(final String destinationPath,
+                                              final byte[] content,
+                                              final Map<String, byte[]> sources) {
+        final String fileName = destinationPath.substring(destinationPath.lastIndexOf('/') + 1);
+        final Pattern reference = Pattern.compile("\\b" + Pattern.quote(fileName.substring(0,
+                                                                                           fileName.length() - ".java".length())) + "\\b");
+        final Map<String, byte[]> units = new LinkedHashMap<>();
+        units.put(destinationPath,
+                  content);
+        for (Map.Entry<String, byte[]> source : sources.entrySet()) {
+            if (!source.getKey().equals(destinationPath) && reference.matcher(new String(source.getValue(),
+                                                                                         StandardCharsets.UTF_8)).find()) {
+                units.put(source.getKey(),
+                          source.getValue());
+            }
+        }
+        return units;
+    }
+
+    /**
+     * @param pomXml content of the pom.xml of the module, might be null
+     * @return the Java level the module is compiled with: the maven.compiler.release or maven.compiler.source
+     * property of the pom.xml, or the release or source of its maven-compiler-plugin configuration. Settings inherited
+     * from a parent pom.xml are not resolved, the default level is used instead.
+     */
+    static String javaVersion(final byte[] pomXml) {
+        if (pomXml == null) {
+            return DEFAULT_JAVA_VERSION;
+        }
+        final Model model;
+        try {
+            model = new MavenXpp3Reader().read(new ByteArrayInputStream(pomXml));
+        } catch (IOException | XmlPullParserException e) {
+            return DEFAULT_JAVA_VERSION;
+        }
+        final Properties properties = model.getProperties();
+        String version = firstNonNull(properties.getProperty("maven.compiler.release"),
+                                      properties.getProperty("maven.compiler.source"));
+        if (version == null && model.getBuild() != null) {
+            for (Plugin plugin : model.getBuild().getPlugins()) {
+                if ("maven-compiler-plugin".equals(plugin.getArtifactId()) && plugin.getConfiguration() instanceof Xpp3Dom) {
+                    final Xpp3Dom configuration = (Xpp3Dom) plugin.getConfiguration();
+                    version = firstNonNull(value(configuration.getChild("release")),
+                                           value(configuration.getChild("source")));
+                }
+            }
+        }
+        if (version != null) {
+            final Matcher reference = PROPERTY_REFERENCE.matcher(version.trim());
+            if (reference.matches()) {
+                version = properties.getProperty(reference.group(1));
+            }
+        }
+        if (version == null || version.trim().isEmpty() || version.contains("${")) {
+            return DEFAULT_JAVA_VERSION;
+        }
+        version = version.trim();
+        //maven-compiler-plugin accepts "8" for "1.8", the compiler settings do not
+        return version.matches("[5-8]") ? "1." + version : version;
+    }
+
+    private static String value(final Xpp3Dom element) {
+        return element == null ? null : element.getValue();
+    }
+
+    private static String firstNonNull(final String first,
+                                       final String second) {
+        return first != null ? first : second;
+    }
+
+    List<CompilationProblem> compile(final Map<String, byte[]> units,
+                                     final String javaVersion) {
+        final MemoryFileSystem srcMfs = new MemoryFileSystem();
+        for (Map.Entry<String, byte[]> unit : units.entrySet()) {
+            srcMfs.write(unit.getKey(),
+                         unit.getValue(),
+                         true);
+        }
+
+        final EclipseJavaCompilerSettings settings = new EclipseJavaCompilerSettings();
+        try {
+            settings.setSourceVersion(javaVersion);
+            settings.setTargetVersion(javaVersion);
+        } catch (RuntimeException e) {
+            //A level unknown to the compiler
+            settings.setSourceVersion(DEFAULT_JAVA_VERSION);
+            settings.setTargetVersion(DEFAULT_JAVA_VERSION);
+        }
+        final CompilationResult result = new EclipseJavaCompiler(settings,
+                                                                 JAVA_ROOT).compile(units.keySet().toArray(new String[0]),
+                                                                                    srcMfs,
+                                                                                    new MemoryFileSystem(),
+                                                                                    new KieModuleClassLoader(kieModuleFileSystem,
+                                                                                                             dependenciesClassLoader));
+        final List<CompilationProblem> problems = new ArrayList<>();
+        problems.addAll(Arrays.asList(result.getErrors()));
+        problems.addAll(Arrays.asList(result.getWarnings()));
+        return problems;
+    }
+
+    /**
+     * Classes of the last build of the module, the compiler reads them as resources
+     */
+    private static class KieModuleClassLoader extends ClassLoader {
+
+        private final MemoryFileSystem kieModuleFileSystem;
+
+        private KieModuleClassLoader(final MemoryFileSystem kieModuleFileSystem,
+                                     final ClassLoader parent) {
+            super(parent);
+            this.kieModuleFileSystem = kieModuleFileSystem;
+        }
+
+        @Override
+        protected Class<?> findClass(final String name) throws ClassNotFoundException {
+            final byte[] bytes = kieModuleFileSystem.getBytes(name.replace('.',
+                                                                           '/') + ".class");
+            if (bytes == null) {
+                throw new ClassNotFoundException(name);
+            }
+            return defineClass(name,
+                               bytes,
+                               0,
+                               bytes.length);
+        }
+
+        @Override
+        public InputStream getResourceAsStream(final String name) {
+            final InputStream parentStream = getParent() == null ? null : getParent().getResourceAsStream(name);
+            if (parentStream != null) {
+                return parentStream;
+            }
+            final byte[] bytes = kieModuleFileSystem.getBytes(name);
+            return bytes == null ? null : new ByteArrayInputStream(bytes);
+        }
+    }
+}
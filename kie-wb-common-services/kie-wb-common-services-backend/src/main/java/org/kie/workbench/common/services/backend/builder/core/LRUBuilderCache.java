@@ -17,7 +17,11 @@ package org.kie.workbench.common.services.backend.builder.core;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
 import javax.annotation.PostConstruct;
 import javax.annotation.PreDestroy;
 import javax.enterprise.context.ApplicationScoped;
@@ -40,6 +44,7 @@ import org.kie.workbench.common.services.shared.project.ProjectImportsService;
 import org.kie.workbench.common.services.shared.whitelist.PackageNameWhiteListService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.uberfire.commons.concurrent.Managed;
 import org.uberfire.io.IOService;
 
 import static java.util.stream.Collectors.toCollection;
@@ -67,6 +72,9 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
     private LRUPomModelCache pomModelCache;
     private PackageNameWhiteListServiceImpl packageNameWhiteListService;
     private Instance<Predicate<String>> classFilterBeans;
+    private BuilderSnapshotStore snapshotStore;
+    private ExecutorService executorService;
+    private final ConcurrentMap<Module, Object> creationLocks = new ConcurrentHashMap<>();
 
     public LRUBuilderCache() {
         //CDI proxy
@@ -80,7 +88,8 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
                            final @Named("LRUModuleDependenciesClassLoaderCache") LRUModuleDependenciesClassLoaderCache dependenciesClassLoaderCache,
                            final @Named("LRUPomModelCache") LRUPomModelCache pomModelCache,
                            final PackageNameWhiteListService packageNameWhiteListService,
-                           final @JavaSourceFilter Instance<Predicate<String>> classFilterBeans) {
+                           final @JavaSourceFilter Instance<Predicate<String>> classFilterBeans,
+                           final @Managed ExecutorService executorService) {
         super(MAX_ENTRIES);
         this.ioService = ioService;
         this.moduleService = moduleService;
@@ -90,6 +99,9 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
         this.pomModelCache = pomModelCache;
         this.packageNameWhiteListService = (PackageNameWhiteListServiceImpl) packageNameWhiteListService;
         this.classFilterBeans = classFilterBeans;
+        this.snapshotStore = BuilderSnapshotStore.fromSystemProperties(ioService,
+                                                                       executorService);
+        this.executorService = executorService;
     }
 
     @PostConstruct
@@ -122,6 +134,9 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
         //If resource was not within a Module there's nothing to invalidate
         if (project != null) {
             invalidateCache(project);
+            if (snapshotStore != null) {
+                snapshotStore.invalidate(project);
+            }
         }
     }
 
@@ -139,27 +154,86 @@ public class LRUBuilderCache extends LRUCache<Module, Builder> {
         return makeBuilder(module);
     }
 
+    /**
+     * @return the cached Builder of the module, or null
+     */
     public Builder getBuilder(final Module module) {
         return getEntry(module);
     }
 
+    /**
+     * @return the cached Builder of the module, or a Builder restored from the snapshot of its last full build when
+     * the module has not been changed since, or null
+     */
+    public Builder restoreBuilder(final Module module) {
+        final Builder builder = getEntry(module);
+        if (builder != null || snapshotStore == null) {
+            return builder;
+        }
+        return getOrCreateBuilder(module,
+                                  () -> {
+                                      final BuilderSnapshotStore.Snapshot snapshot = loadSnapshot(module);
+                                      return snapshot != null ? newBuilder(module,
+                                                                           snapshot) : null;
+                                  });
+    }
+
     private Builder makeBuilder(final Module module) {
-        Builder builder = getEntry(module);
-        if (builder == null) {
-            builder = new Builder(module,
-                                  ioService,
-                                  moduleService,
-                                  importsService,
-                                  buildValidationHelpers,
-                                  dependenciesClassLoaderCache,
-                                  pomModelCache,
-                                  packageNameWhiteListService,
-                                  createSingleClassFilterPredicate());
-
-            setEntry(module,
-                     builder);
+        final Builder builder = getEntry(module);
+        if (builder != null) {
+            return builder;
+        }
+        //A snapshot of the same commit spares the full build after a restart
+        return getOrCreateBuilder(module,
+                                  () -> newBuilder(module,
+                                                   loadSnapshot(module)));
+    }
+
+    /**
+     * Concurrent misses of a module wait for the Builder created by the first one, instead of each one reading the
+     * whole module into its own Builder.
+     */
+    private Builder getOrCreateBuilder(final Module module,
+                                       final Supplier<Builder> factory) {
+        final Object lock = creationLocks.computeIfAbsent(module,
+                                                          m -> new Object());
+        try {
+            synchronized (lock) {
+                Builder builder = getEntry(module);
+                if (builder == null) {
+                    builder = factory.get();
+                    if (builder != null) {
+                        setEntry(module,
+                                 builder);
+                    }
+                }
+                return builder;
+            }
+        } finally {
+            creationLocks.remove(module,
+                                 lock);
         }
-        return builder;
+    }
+
+    private BuilderSnapshotStore.Snapshot loadSnapshot(final Module module) {
+        return snapshotStore != null ? snapshotStore.load(module,
+                                                          snapshotStore.getCommitId(module)) : null;
+    }
+
+    private Builder newBuilder(final Module module,
+                               final BuilderSnapshotStore.Snapshot snapshot) {
+        return new Builder(module,
+                           ioService,
+                           moduleService,
+                           importsService,
+                           buildValidationHelpers,
+                           dependenciesClassLoaderCache,
+                           pomModelCache,
+                           packageNameWhiteListService,
+                           createSingleClassFilterPredicate(),
+                           snapshotStore,
+                           snapshot,
+                           executorService);
     }
 
     private Predicate<String> createSingleClassFilterPredicate() {
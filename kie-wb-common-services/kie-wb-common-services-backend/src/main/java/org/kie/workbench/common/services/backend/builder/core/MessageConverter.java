@@ -19,6 +19,7 @@ package org.kie.workbench.common.services.backend.builder.core;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.drools.compiler.commons.jci.problems.CompilationProblem;
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.guvnor.common.services.shared.message.Level;
 import org.guvnor.common.services.shared.validation.model.ValidationMessage;
@@ -90,6 +91,18 @@ class MessageConverter {
         return m;
     }
 
+    static BuildMessage convertCompilationProblem(final CompilationProblem problem,
+                                                  Handles handles) {
+        final BuildMessage m = new BuildMessage();
+        m.setLevel(problem.isError() ? Level.ERROR : Level.WARNING);
+        m.setLine(problem.getStartLine());
+        m.setPath(convertPath(problem.getFileName(),
+                              handles));
+        m.setColumn(problem.getStartColumn());
+        m.setText(problem.getMessage());
+        return m;
+    }
+
     private static String convertMessageText(final Message message) {
         final StringBuilder sb = new StringBuilder();
         if (message instanceof InternalMessage) {
@@ -0,0 +1,139 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.DirectoryStream;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+
+/**
+ * Walks a module and reads the content of its files in batches on an executor, the managed executor for the Builders
+ * of the cache. The reads block on the file system, so they are kept off the BackendTaskPool meant for CPU bound work.
+ * The resources are returned in the same order of a depth first serial walk of the module,
+ * so the content of the KieFileSystem and the build results don't depend on the reading order.
+ */
+class ModuleResourceLoader {
+
+    static final int BATCH_SIZE = 16;
+
+    private final IOService ioService;
+    private final DirectoryStream.Filter<Path> filter;
+    private final Executor executor;
+
+    ModuleResourceLoader(final IOService ioService,
+                         final DirectoryStream.Filter<Path> filter,
+                         final Executor executor) {
+        this.ioService = ioService;
+        this.filter = filter;
+        this.executor = executor;
+    }
+
+    /**
+     * @return the files of the module not rejected by the filter with their content
+     */
+    List<LoadedResource> load(final Path root) {
+        final List<Path> files = new ArrayList<>();
+        walk(root,
+             files);
+
+        //The last batch is read by the calling thread, the others are joined back in the walk order
+        final List<CompletableFuture<List<LoadedResource>>> batches = new ArrayList<>();
+        int start = 0;
+        for (; start + BATCH_SIZE < files.size(); start += BATCH_SIZE) {
+            batches.add(readAsync(files.subList(start,
+                                                start + BATCH_SIZE)));
+        }
+        final List<LoadedResource> last = read(files.subList(start,
+                                                             files.size()));
+
+        final List<LoadedResource> resources = new ArrayList<>(files.size());
+        for (final CompletableFuture<List<LoadedResource>> batch : batches) {
+            resources.addAll(join(batch));
+        }
+        resources.addAll(last);
+        return resources;
+    }
+
+    private void walk(final Path directory,
+                      final List<Path> files) {
+        for (final Path path : Files.newDirectoryStream(directory)) {
+            if (Files.isDirectory(path)) {
+                walk(path,
+                     files);
+            } else if (!filter.accept(path)) {
+                files.add(path);
+            }
+        }
+    }
+
+    private CompletableFuture<List<LoadedResource>> readAsync(final List<Path> batch) {
+        try {
+            return CompletableFuture.supplyAsync(() -> read(batch),
+                                                 executor);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.completedFuture(read(batch));
+        }
+    }
+
+    private List<LoadedResource> read(final List<Path> batch) {
+        final List<LoadedResource> resources = new ArrayList<>(batch.size());
+        for (final Path file : batch) {
+            resources.add(new LoadedResource(file,
+                                             ioService.readAllBytes(file)));
+        }
+        return resources;
+    }
+
+    private static List<LoadedResource> join(final CompletableFuture<List<LoadedResource>> batch) {
+        try {
+            return batch.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        }
+    }
+
+    static class LoadedResource {
+
+        private final Path path;
+        private final byte[] content;
+
+        LoadedResource(final Path path,
+                       final byte[] content) {
+            this.path = path;
+            this.content = content;
+        }
+
+        Path getPath() {
+            return path;
+        }
+
+        byte[] getContent() {
+            return content;
+        }
+    }
+}
@@ -0,0 +1,280 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.drools.compiler.compiler.io.File;
+import org.drools.compiler.compiler.io.FileSystemItem;
+import org.drools.compiler.compiler.io.Folder;
+import org.drools.compiler.compiler.io.memory.MemoryFile;
+import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
+
+/**
+ * MemoryFileSystem made of a base shared by several overlays, that must not be modified anymore, and of the files
+ * written or removed through this overlay. Creating an overlay and building its changes is proportional to the
+ * changed files, not to the size of the base.
+ * The content of the files is read through the overlay, {@link #getMap()} and {@link #getFileNames()} are views of the
+ * base and of the changes that don't copy the base. The folder structure is only needed by full builds and the jar
+ * export: it is materialized by copying the base the first time it is requested.
+ */
+class OverlayMemoryFileSystem extends MemoryFileSystem {
+
+    private final MemoryFileSystem base;
+    private final Map<String, byte[]> written = new HashMap<>();
+    private final Set<String> removed = new HashSet<>();
+    private final Map<String, byte[]> view = new OverlayMap();
+    private Set<String> modifiedSinceLastMark;
+    private boolean materialized;
+
+    OverlayMemoryFileSystem(final MemoryFileSystem base) {
+        this.base = base;
+    }
+
+    @Override
+    public synchronized Collection<String> getFileNames() {
+        if (materialized) {
+            return super.getFileNames();
+        }
+        return view.keySet();
+    }
+
+    @Override
+    public synchronized Map<String, byte[]> getMap() {
+        if (materialized) {
+            return super.getMap();
+        }
+        return view;
+    }
+
+    @Override
+    public synchronized boolean existsFile(final String path) {
+        if (materialized) {
+            return super.existsFile(path);
+        }
+        return written.containsKey(path) || (!removed.contains(path) && base.existsFile(path));
+    }
+
+    @Override
+    public boolean isAvailable(final String resourceName) {
+        return existsFile(resourceName);
+    }
+
+    @Override
+    public synchronized byte[] getBytes(final String resourceName) {
+        if (materialized) {
+            return super.getBytes(resourceName);
+        }
+        final byte[] bytes = written.get(resourceName);
+        if (bytes != null || removed.contains(resourceName)) {
+            return bytes;
+        }
+        return base.getBytes(resourceName);
+    }
+
+    @Override
+    public byte[] read(final String resourceName) {
+        return getBytes(resourceName);
+    }
+
+    @Override
+    public byte[] getFileContents(final MemoryFile file) {
+        return getBytes(file.getPath().toPortableString());
+    }
+
+    @Override
+    public void setFileContents(final MemoryFile file,
+                                final byte[] contents) {
+        write(file.getPath().toPortableString(),
+              contents,
+              true);
+    }
+
+    @Override
+    public void write(final String resourceName,
+                      final byte[] resourceData) {
+        write(resourceName,
+              resourceData,
+              false);
+    }
+
+    @Override
+    public synchronized void write(final String resourceName,
+                                   final byte[] resourceData,
+                                   final boolean createFolder) {
+        modified(resourceName);
+        if (materialized) {
+            super.write(resourceName,
+                        resourceData,
+                        createFolder);
+            return;
+        }
+        removed.remove(resourceName);
+        written.put(resourceName,
+                    resourceData);
+    }
+
+    @Override
+    public synchronized void remove(final String resourceName) {
+        modified(resourceName);
+        if (materialized) {
+            super.remove(resourceName);
+            return;
+        }
+        written.remove(resourceName);
+        removed.add(resourceName);
+    }
+
+    @Override
+    public synchronized void mark() {
+        modifiedSinceLastMark = new HashSet<>();
+    }
+
+    @Override
+    public synchronized Collection<String> getModifiedResourcesSinceLastMark() {
+        return modifiedSinceLastMark;
+    }
+
+    @Override
+    public synchronized Folder getRootFolder() {
+        materialize();
+        return super.getRootFolder();
+    }
+
+    @Override
+    public synchronized Folder getFolder(final String path) {
+        materialize();
+        return super.getFolder(path);
+    }
+
+    @Override
+    public synchronized Set<? extends FileSystemItem> getMembers(final Folder folder) {
+        materialize();
+        return super.getMembers(folder);
+    }
+
+    @Override
+    public synchronized boolean existsFolder(final String path) {
+        materialize();
+        return super.existsFolder(path);
+    }
+
+    @Override
+    public synchronized File getFile(final String path) {
+        materialize();
+        return super.getFile(path);
+    }
+
+    @Override
+    public synchronized byte[] writeAsBytes() {
+        materialize();
+        return super.writeAsBytes();
+    }
+
+    @Override
+    public synchronized MemoryFileSystem clone() {
+        final MemoryFileSystem clone = new MemoryFileSystem();
+        for (Map.Entry<String, byte[]> entry : getMap().entrySet()) {
+            clone.write(entry.getKey(),
+                        entry.getValue(),
+                        true);
+        }
+        return clone;
+    }
+
+    synchronized int getChangedFiles() {
+        return written.size() + removed.size();
+    }
+
+    private void modified(final String resourceName) {
+        if (modifiedSinceLastMark != null) {
+            modifiedSinceLastMark.add(resourceName);
+        }
+    }
+
+    private void materialize() {
+        if (materialized) {
+            return;
+        }
+        final List<Map.Entry<String, byte[]>> files = files();
+        materialized = true;
+        for (Map.Entry<String, byte[]> file : files) {
+            super.write(file.getKey(),
+                        file.getValue(),
+                        true);
+        }
+        written.clear();
+        removed.clear();
+    }
+
+    /**
+     * A snapshot of the files of the base not changed by this overlay followed by the files written through it,
+     * taken under the lock of the overlay so the changes aren't read while they are written
+     */
+    private synchronized List<Map.Entry<String, byte[]>> files() {
+        final Stream<Map.Entry<String, byte[]>> files;
+        if (materialized) {
+            files = super.getMap().entrySet().stream();
+        } else {
+            files = Stream.concat(base.getMap().entrySet().stream()
+                                          .filter(file -> !removed.contains(file.getKey()) && !written.containsKey(file.getKey())),
+                                  written.entrySet().stream());
+        }
+        return files
+                .<Map.Entry<String, byte[]>>map(file -> new AbstractMap.SimpleImmutableEntry<>(file))
+                .collect(Collectors.toList());
+    }
+
+    private class OverlayMap extends AbstractMap<String, byte[]> {
+
+        private final Set<Map.Entry<String, byte[]>> entries = new AbstractSet<Map.Entry<String, byte[]>>() {
+            @Override
+            public Iterator<Map.Entry<String, byte[]>> iterator() {
+                return files().iterator();
+            }
+
+            @Override
+            public int size() {
+                return files().size();
+            }
+        };
+
+        @Override
+        public Set<Map.Entry<String, byte[]>> entrySet() {
+            return entries;
+        }
+
+        @Override
+        public boolean containsKey(final Object key) {
+            return key instanceof String && existsFile((String) key);
+        }
+
+        @Override
+        public byte[] get(final Object key) {
+            return key instanceof String ? getBytes((String) key) : null;
+        }
+    }
+}
@@ -54,7 +54,12 @@ public class BuildInfoService {
      * @return the BuildInfo for the given module.
      */
     public BuildInfo getBuildInfo(final Module module) {
-        final Builder[] result = {builderCache.getBuilder(module)};
+        Builder cached = builderCache.getBuilder(module);
+        if (cached == null) {
+            //A snapshot of the last full build spares the full build after a restart
+            cached = builderCache.restoreBuilder(module);
+        }
+        final Builder[] result = {cached};
         if (result[0] == null || !result[0].isBuilt()) {
             ((BuildServiceImpl) buildService).build(module,
                                                     builder -> result[0] = builder);
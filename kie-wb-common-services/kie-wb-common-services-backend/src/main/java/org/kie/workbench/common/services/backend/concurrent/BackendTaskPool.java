@@ -0,0 +1,107 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.enterprise.context.ApplicationScoped;
+
+import org.uberfire.commons.services.cdi.Startup;
+import org.uberfire.commons.services.cdi.StartupType;
+
+/**
+ * The fork/join pool shared by the backend services for their CPU bound parallel work: verifying the classes of a
+ * module, inspecting the classes of the oracles and parsing the data objects.
+ * Its parallelism is set by the {@value #THREADS} system property. It is created when the application starts and shut
+ * down with it; a task submitted after the shutdown runs in the common pool, no new pool is created.
+ * The workers run with the class loader of the application as context class loader, instead of the system class loader
+ * the default workers get.
+ */
+@ApplicationScoped
+@Startup(StartupType.BOOTSTRAP)
+public class BackendTaskPool {
+
+    public static final String THREADS = "org.kie.workbench.backend.tasks.threads";
+
+    private static final Object LOCK = new Object();
+
+    private static volatile ForkJoinPool pool;
+
+    //Guarded by LOCK
+    private static boolean shutdown;
+
+    public static ForkJoinPool get() {
+        ForkJoinPool current = pool;
+        if (current == null) {
+            synchronized (LOCK) {
+                if (shutdown) {
+                    return ForkJoinPool.commonPool();
+                }
+                current = pool;
+                if (current == null) {
+                    current = newPool();
+                    pool = current;
+                }
+            }
+        }
+        return current;
+    }
+
+    @PostConstruct
+    public void start() {
+        synchronized (LOCK) {
+            shutdown = false;
+            if (pool == null) {
+                pool = newPool();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        synchronized (LOCK) {
+            shutdown = true;
+            if (pool != null) {
+                pool.shutdownNow();
+                pool = null;
+            }
+        }
+    }
+
+    private static ForkJoinPool newPool() {
+        final int parallelism = Integer.getInteger(THREADS,
+                                                   Math.max(1,
+                                                            Math.min(4,
+                                                                     Runtime.getRuntime().availableProcessors())));
+        final ClassLoader classLoader = BackendTaskPool.class.getClassLoader();
+        final AtomicInteger count = new AtomicInteger();
+        return new ForkJoinPool(parallelism,
+                                forkJoinPool -> {
+                                    final ForkJoinWorkerThread thread = new ForkJoinWorkerThread(forkJoinPool) {
+                                    };
+                                    thread.setName("kie-backend-task-" + count.incrementAndGet());
+                                    thread.setContextClassLoader(classLoader);
+                                    return thread;
+                                },
+                                null,
+                                false);
+    }
+}
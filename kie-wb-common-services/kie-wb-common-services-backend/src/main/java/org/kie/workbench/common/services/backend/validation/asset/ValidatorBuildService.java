@@ -22,6 +22,10 @@ import java.io.InputStream;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Semaphore;
+import java.util.function.Function;
 
 import javax.enterprise.context.ApplicationScoped;
 import javax.inject.Inject;
@@ -47,11 +51,17 @@ public class ValidatorBuildService {
 
     private final static String ERROR_CLASS_NOT_FOUND = "Definition of class \"{0}\" was not found. Consequentially validation cannot be performed.\nPlease check the necessary external dependencies for this module are configured correctly.";
 
+    private final static int MODULE_VALIDATIONS = Integer.getInteger("org.kie.workbench.validation.module.concurrency",
+                                                                      2);
+
     private IOService ioService;
     private LRUBuilderCache builderCache;
     private KieModuleService moduleService;
     private BuildInfoService buildInfoService;
 
+    private final ConcurrentMap<Path, Object> latestValidations = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Path, Semaphore> modulePermits = new ConcurrentHashMap<>();
+
     public ValidatorBuildService() {
         //CDI proxies
     }
@@ -67,16 +77,69 @@ public class ValidatorBuildService {
         this.buildInfoService = buildInfoService;
     }
 
-    public synchronized List<ValidationMessage> validate(final Path resourcePath,
-                                                         final String content) {
+    /**
+     * Validates the content of an editor. The validations of a module run on the callers' threads, at most
+     * MODULE_VALIDATIONS at a time. A validation superseded by a newer one of the same path while waiting for
+     * its turn doesn't run and returns no messages.
+     */
+    public List<ValidationMessage> validate(final Path resourcePath,
+                                            final String content) {
+        return validateLatest(resourcePath,
+                              module -> doValidate(module,
+                                                   resourcePath,
+                                                   content));
+    }
+
+    public List<ValidationMessage> validate(final Path resourcePath) {
+        return validateLatest(resourcePath,
+                              module -> doValidate(module,
+                                                   resourcePath));
+    }
+
+    private List<ValidationMessage> validateLatest(final Path resourcePath,
+                                                   final Function<Module, List<ValidationMessage>> validation) {
+        final Object current = new Object();
+        latestValidations.put(resourcePath,
+                              current);
+        try {
+            final Module module = moduleService.resolveModule(resourcePath);
+            if (module == null) {
+                return new ArrayList<>();
+            }
+            final Semaphore permits = modulePermits.computeIfAbsent(module.getRootPath(),
+                                                                    rootPath -> new Semaphore(MODULE_VALIDATIONS,
+                                                                                              true));
+            permits.acquire();
+            try {
+                //The newer validation of the path reports its messages, this one is outdated
+                if (latestValidations.get(resourcePath) != current) {
+                    return new ArrayList<>();
+                }
+                return validation.apply(module);
+            } finally {
+                permits.release();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return new ArrayList<>();
+        } catch (Throwable e) {
+            return error(e.getLocalizedMessage());
+        } finally {
+            latestValidations.remove(resourcePath,
+                                     current);
+        }
+    }
+
+    private List<ValidationMessage> doValidate(final Module module,
+                                               final Path resourcePath,
+                                               final String content) {
         InputStream inputStream = null;
         try {
             inputStream = new ByteArrayInputStream(content.getBytes(Charsets.UTF_8));
-            final List<ValidationMessage> results = doValidation(resourcePath,
+            final List<ValidationMessage> results = doValidation(module,
+                                                                 resourcePath,
                                                                  inputStream);
             return results;
-        } catch (NoModuleException e) {
-            return new ArrayList<>();
         } catch (NoClassDefFoundError e) {
             return error(MessageFormat.format(ERROR_CLASS_NOT_FOUND,
                                               e.getLocalizedMessage()));
@@ -92,15 +155,15 @@ public class ValidatorBuildService {
         }
     }
 
-    public synchronized List<ValidationMessage> validate(final Path resourcePath) {
+    private List<ValidationMessage> doValidate(final Module module,
+                                               final Path resourcePath) {
         InputStream inputStream = null;
         try {
             inputStream = ioService.newInputStream(Paths.convert(resourcePath));
-            final List<ValidationMessage> results = doValidation(resourcePath,
+            final List<ValidationMessage> results = doValidation(module,
+                                                                 resourcePath,
                                                                  inputStream);
             return results;
-        } catch (NoModuleException e) {
-            return new ArrayList<>();
         } catch (NoClassDefFoundError e) {
             return error(MessageFormat.format(ERROR_CLASS_NOT_FOUND,
                                               e.getLocalizedMessage()));
@@ -116,14 +179,15 @@ public class ValidatorBuildService {
         }
     }
 
-    private List<ValidationMessage> doValidation(final Path resourcePath,
-                                                 final InputStream inputStream) throws NoModuleException {
+    private List<ValidationMessage> doValidation(final Module module,
+                                                 final Path resourcePath,
+                                                 final InputStream inputStream) {
         final ValidatorResultBuilder resultBuilder = new ValidatorResultBuilder();
-        final Module module = module(resourcePath);
         final org.uberfire.java.nio.file.Path nioResourcePath = Paths.convert(resourcePath);
 
         //Incremental Build does not support Java classes
-        if (isIncrementalBuildPossible(resourcePath)) {
+        if (isIncrementalBuildPossible(module,
+                                       resourcePath)) {
             //Build the Builder from the cache so it's "built" state can be preserved for re-use
             BuildInfo buildInfo = buildInfoService.getBuildInfo(module);
             final Builder clone = ((BuildInfoImpl) buildInfo).getBuilder().clone();
@@ -135,8 +199,14 @@ public class ValidatorBuildService {
             final IncrementalBuildResults incrementalBuildResults = clone.updateResource(nioResourcePath,
                                                                                          inputStream);
             resultBuilder.add(incrementalBuildResults.getAddedMessages());
+        } else if (isIncrementalJavaValidationPossible(module,
+                                                       resourcePath)) {
+            //Compiles the Java source with its dependents against the classes of the last build of the module
+            final BuildInfo buildInfo = buildInfoService.getBuildInfo(module);
+            resultBuilder.add(((BuildInfoImpl) buildInfo).getBuilder().validateJava(nioResourcePath,
+                                                                                    inputStream).getMessages());
         } else {
-            Builder builder = builderCache.assertBuilder(module(resourcePath));
+            Builder builder = builderCache.assertBuilder(module);
             final Builder clone = builder.clone();
             resultBuilder.add(clone.build(nioResourcePath,
                                           inputStream).getMessages());
@@ -145,22 +215,22 @@ public class ValidatorBuildService {
         return resultBuilder.results();
     }
 
-    private boolean isIncrementalBuildPossible(final Path resourcePath) throws NoModuleException {
-        return getDestinationPath(resourcePath).startsWith("src/main/resources/");
+    private boolean isIncrementalBuildPossible(final Module module,
+                                               final Path resourcePath) {
+        return getDestinationPath(module,
+                                  resourcePath).startsWith("src/main/resources/");
     }
 
-    private String getDestinationPath(final Path originalPath) throws NoModuleException {
-        return Paths.removePrefix(originalPath, module(originalPath).getRootPath());
+    private boolean isIncrementalJavaValidationPossible(final Module module,
+                                                        final Path resourcePath) {
+        final String destinationPath = getDestinationPath(module,
+                                                          resourcePath);
+        return destinationPath.startsWith("src/main/java/") && destinationPath.endsWith(".java");
     }
 
-    private Module module(final Path resourcePath) throws NoModuleException {
-        final Module module = moduleService.resolveModule(resourcePath);
-
-        if (module == null) {
-            throw new NoModuleException();
-        }
-
-        return module;
+    private String getDestinationPath(final Module module,
+                                      final Path originalPath) {
+        return Paths.removePrefix(originalPath, module.getRootPath());
     }
 
     private ArrayList<ValidationMessage> error(final String errorMessage) {
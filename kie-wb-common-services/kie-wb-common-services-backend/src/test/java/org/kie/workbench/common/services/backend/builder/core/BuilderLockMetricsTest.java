@@ -0,0 +1,67 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BuilderLockMetricsTest {
+
+    private final BuilderLockMetrics metrics = new BuilderLockMetrics();
+
+    @Test
+    public void testNoAcquisitions() {
+        assertEquals(0,
+                     metrics.getAcquisitions());
+        assertEquals(0,
+                     metrics.getAverageQueueingMillis());
+        assertEquals(0,
+                     metrics.getAverageHoldMillis());
+    }
+
+    @Test
+    public void testQueueingAndHoldTimes() {
+        metrics.acquired(TimeUnit.MILLISECONDS.toNanos(10));
+        metrics.released(TimeUnit.MILLISECONDS.toNanos(100));
+        metrics.acquired(TimeUnit.MILLISECONDS.toNanos(30));
+        metrics.released(TimeUnit.MILLISECONDS.toNanos(300));
+
+        assertEquals(2,
+                     metrics.getAcquisitions());
+        assertEquals(20,
+                     metrics.getAverageQueueingMillis());
+        assertEquals(30,
+                     metrics.getMaxQueueingMillis());
+        assertEquals(200,
+                     metrics.getAverageHoldMillis());
+        assertEquals(300,
+                     metrics.getMaxHoldMillis());
+    }
+
+    @Test
+    public void testCoalescedChanges() {
+        metrics.incrementalBuild(1);
+        metrics.incrementalBuild(3);
+
+        assertEquals(2,
+                     metrics.getIncrementalBuilds());
+        assertEquals(2,
+                     metrics.getCoalescedChanges());
+    }
+}
@@ -0,0 +1,123 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.File;
+import java.net.URI;
+import java.util.HashMap;
+import java.util.List;
+
+import org.guvnor.common.services.project.model.Module;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.uberfire.backend.server.util.Paths;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.base.options.CommentedOption;
+import org.uberfire.java.nio.base.version.VersionAttributeView;
+import org.uberfire.java.nio.base.version.VersionRecord;
+import org.uberfire.java.nio.file.FileSystem;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.fs.jgit.JGitFileSystemProviderConfiguration;
+import org.uberfire.mocks.FileSystemTestingUtils;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+public class BuilderSnapshotStoreCommitIdTest {
+
+    private FileSystemTestingUtils fileSystemTestingUtils = new FileSystemTestingUtils();
+
+    private IOService ioService;
+
+    private FileSystem fileSystem;
+
+    @Before
+    public void setUp() throws Exception {
+        System.setProperty(JGitFileSystemProviderConfiguration.GIT_DAEMON_ENABLED,
+                           "false");
+        System.setProperty(JGitFileSystemProviderConfiguration.GIT_SSH_ENABLED,
+                           "false");
+        fileSystemTestingUtils.setup();
+        ioService = fileSystemTestingUtils.getIoService();
+        fileSystem = ioService.newFileSystem(URI.create("git://snapshot-commit-id"),
+                                             new HashMap<String, Object>() {{
+                                                 put("init",
+                                                     Boolean.TRUE);
+                                                 put("internal",
+                                                     Boolean.TRUE);
+                                             }});
+    }
+
+    @After
+    public void tearDown() {
+        fileSystemTestingUtils.cleanup();
+        System.clearProperty(JGitFileSystemProviderConfiguration.GIT_DAEMON_ENABLED);
+        System.clearProperty(JGitFileSystemProviderConfiguration.GIT_SSH_ENABLED);
+    }
+
+    @Test
+    public void testCommitIdIsTheLatestCommitOfTheModule() {
+        final Path root = fileSystem.getPath("/project");
+        ioService.write(root.resolve("pom.xml"),
+                        "<project/>",
+                        new CommentedOption("test",
+                                            "first"));
+        ioService.write(root.resolve("src/main/resources/rule.drl"),
+                        "package org.test",
+                        new CommentedOption("test",
+                                            "second"));
+        ioService.write(root.resolve("src/main/resources/rule.drl"),
+                        "package org.test;",
+                        new CommentedOption("test",
+                                            "third"));
+
+        final Module module = mock(Module.class);
+        when(module.getRootPath()).thenReturn(Paths.convert(root));
+        final BuilderSnapshotStore store = new BuilderSnapshotStore(new File("target/snapshots"),
+                                                                    ioService);
+
+        assertEquals(3,
+                     history(root).size());
+        assertEquals(commitOf(root,
+                              "third"),
+                     store.getCommitId(module));
+
+        ioService.write(root.resolve("pom.xml"),
+                        "<project></project>",
+                        new CommentedOption("test",
+                                            "fourth"));
+
+        assertEquals(commitOf(root,
+                              "fourth"),
+                     store.getCommitId(module));
+    }
+
+    private List<VersionRecord> history(final Path path) {
+        return ioService.getFileAttributeView(path,
+                                              VersionAttributeView.class).readAttributes().history().records();
+    }
+
+    private String commitOf(final Path path,
+                            final String comment) {
+        return history(path).stream()
+                .filter(record -> comment.equals(record.comment()))
+                .map(VersionRecord::id)
+                .findFirst()
+                .orElseThrow(IllegalStateException::new);
+    }
+}
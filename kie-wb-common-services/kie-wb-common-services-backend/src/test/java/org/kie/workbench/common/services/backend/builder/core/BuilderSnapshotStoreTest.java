@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.guvnor.common.services.project.model.GAV;
+import org.guvnor.common.services.project.model.Module;
+import org.guvnor.common.services.project.model.POM;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.io.IOService;
+
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class BuilderSnapshotStoreTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private Module module;
+
+    @Mock
+    private Path rootPath;
+
+    private BuilderSnapshotStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        when(module.getRootPath()).thenReturn(rootPath);
+        when(rootPath.toURI()).thenReturn("default://master@space/project");
+        when(module.getPom()).thenReturn(new POM(new GAV("org.test",
+                                                         "project",
+                                                         "1.0")));
+        store = new BuilderSnapshotStore(temporaryFolder.newFolder("snapshots"),
+                                         ioService);
+    }
+
+    @Test
+    public void testSaveAndLoad() {
+        final Map<String, String> handles = new HashMap<>();
+        handles.put("src/main/resources/org/test/rule.drl",
+                    "default://master@space/project/src/main/resources/org/test/rule.drl");
+
+        store.save(module,
+                   BuilderSnapshotStore.Snapshot.of(module,
+                                                    "commit1",
+                                                    "<kmodule/>",
+                                                    new byte[]{1, 2, 3},
+                                                    handles,
+                                                    new HashSet<>(Collections.singletonList("org.test.Person"))));
+
+        final BuilderSnapshotStore.Snapshot snapshot = store.load(module,
+                                                                  "commit1");
+
+        assertNotNull(snapshot);
+        assertEquals("commit1",
+                     snapshot.getCommitId());
+        assertEquals("org.test:project:1.0",
+                     snapshot.getGav());
+        assertEquals("<kmodule/>",
+                     snapshot.getKModuleXml());
+        assertArrayEquals(new byte[]{1, 2, 3},
+                          snapshot.getKieModule());
+        assertEquals(handles,
+                     snapshot.getHandles());
+        assertEquals(Collections.singleton("org.test.Person"),
+                     snapshot.getJavaResources());
+    }
+
+    @Test
+    public void testSnapshotOfAnotherCommitIsDiscarded() {
+        store.save(module,
+                   emptySnapshot("commit1"));
+
+        assertNull(store.load(module,
+                              "commit2"));
+        assertFalse(store.fileOf(module).exists());
+    }
+
+    @Test
+    public void testCorruptedSnapshotIsDiscarded() throws Exception {
+        store.save(module,
+                   emptySnapshot("commit1"));
+        final File file = store.fileOf(module);
+        final byte[] content = Files.readAllBytes(file.toPath());
+        content[content.length - 1] ^= 1;
+        Files.write(file.toPath(),
+                    content);
+
+        assertNull(store.load(module,
+                              "commit1"));
+        assertFalse(file.exists());
+    }
+
+    @Test
+    public void testNoSnapshotWithoutCommitId() {
+        store.save(module,
+                   emptySnapshot(null));
+
+        assertFalse(store.fileOf(module).exists());
+        assertNull(store.load(module,
+                              null));
+    }
+
+    @Test
+    public void testInvalidate() {
+        store.save(module,
+                   emptySnapshot("commit1"));
+        assertTrue(store.fileOf(module).exists());
+
+        store.invalidate(module);
+
+        assertNull(store.load(module,
+                              "commit1"));
+    }
+
+    @Test
+    public void testSaveLaterRunsOnTheExecutor() throws Exception {
+        final List<Runnable> tasks = new ArrayList<>();
+        final BuilderSnapshotStore background = new BuilderSnapshotStore(temporaryFolder.newFolder("background"),
+                                                                         ioService,
+                                                                         tasks::add);
+
+        background.saveLater(() -> background.save(module,
+                                                   emptySnapshot("commit1")));
+        assertFalse(background.fileOf(module).exists());
+
+        tasks.forEach(Runnable::run);
+        assertTrue(background.fileOf(module).exists());
+    }
+
+    @Test
+    public void testSaveLaterRejectedIsSkipped() throws Exception {
+        final BuilderSnapshotStore rejecting = new BuilderSnapshotStore(temporaryFolder.newFolder("rejecting"),
+                                                                        ioService,
+                                                                        task -> {
+                                                                            throw new RejectedExecutionException();
+                                                                        });
+
+        final BuilderSnapshotStore.Snapshot snapshot = emptySnapshot("commit1");
+        rejecting.saveLater(() -> rejecting.save(module,
+                                                 snapshot));
+
+        assertFalse(rejecting.fileOf(module).exists());
+    }
+
+    private BuilderSnapshotStore.Snapshot emptySnapshot(final String commitId) {
+        return BuilderSnapshotStore.Snapshot.of(module,
+                                                commitId,
+                                                "<kmodule/>",
+                                                new byte[0],
+                                                Collections.emptyMap(),
+                                                Collections.emptySet());
+    }
+}
@@ -16,7 +16,9 @@
 
 package org.kie.workbench.common.services.backend.builder.core;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.InputStream;
 import java.net.URL;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
@@ -24,9 +26,17 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
 import com.google.common.io.Resources;
+import org.drools.compiler.kie.builder.impl.KieFileSystemImpl;
+import org.drools.compiler.kie.builder.impl.MemoryKieModule;
 import org.drools.core.rule.TypeMetaInfo;
 import org.guvnor.common.services.project.builder.model.BuildMessage;
 import org.guvnor.common.services.project.builder.model.BuildResults;
@@ -63,7 +73,9 @@ import org.uberfire.java.nio.fs.file.SimpleFileSystemProvider;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
@@ -136,6 +148,234 @@ public class BuilderTest
         assertNotNull(builder.getKieContainer());
     }
 
+    @Test
+    public void testConcurrentMissesShareTheCachedBuilder() throws Exception {
+        final LRUBuilderCache builderCache = getReference(LRUBuilderCache.class);
+
+        URL url = this.getClass().getResource("/GuvnorM2RepoDependencyExample1");
+        SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        org.uberfire.java.nio.file.Path path = p.getPath(url.toURI());
+
+        final Module module = moduleService.resolveModule(Paths.convert(path));
+        builderCache.invalidateCache(module);
+
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            final CountDownLatch start = new CountDownLatch(1);
+            final List<Future<Builder>> builders = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                builders.add(executor.submit(() -> {
+                    start.await();
+                    return builderCache.assertBuilder(module);
+                }));
+            }
+            start.countDown();
+
+            final Builder builder = builders.get(0).get();
+            for (Future<Builder> other : builders) {
+                assertSame(builder,
+                           other.get());
+            }
+            assertSame(builder,
+                       builderCache.getBuilder(module));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testClonesLayerTheChangesOnTheSharedCopy() throws Exception {
+        URL url = this.getClass().getResource("/GuvnorM2RepoDependencyExample1");
+        SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        org.uberfire.java.nio.file.Path path = p.getPath(url.toURI());
+
+        final Module module = moduleService.resolveModule(Paths.convert(path));
+
+        final Builder builder = new Builder(module,
+                                            ioService,
+                                            moduleService,
+                                            importsService,
+                                            new ArrayList<>(),
+                                            dependenciesClassLoaderCache,
+                                            pomModelCache,
+                                            getPackageNameWhiteListService(),
+                                            alwaysTrue);
+        builder.build();
+        final Builder before = builder.clone();
+
+        final String content = "package org.kie.workbench.common.services.builder.tests.test1\n" +
+                "rule R2\n" +
+                "when\n" +
+                "then\n" +
+                "end";
+        builder.updateResource(path.resolve("src/main/resources/rule2.drl"),
+                               new ByteArrayInputStream(content.getBytes(Charset.forName("UTF-8"))));
+        final Builder after = builder.clone();
+
+        assertEquals(content,
+                     new String(after.getKieFileSystem().read("src/main/resources/rule2.drl"),
+                                Charset.forName("UTF-8")));
+        assertFalse(new String(before.getKieFileSystem().read("src/main/resources/rule2.drl"),
+                               Charset.forName("UTF-8")).equals(content));
+        //The change is layered on the copy taken for the first clone instead of copying the module again
+        assertEquals(1,
+                     ((OverlayMemoryFileSystem) ((KieFileSystemImpl) after.getKieFileSystem()).getMfs()).getChangedFiles());
+    }
+
+    @Test
+    public void testChangesQueuedWhileBuildingAreBuiltTogether() throws Exception {
+        URL url = this.getClass().getResource("/GuvnorM2RepoDependencyExample1");
+        SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        org.uberfire.java.nio.file.Path path = p.getPath(url.toURI());
+
+        final Module module = moduleService.resolveModule(Paths.convert(path));
+
+        final Builder builder = new Builder(module,
+                                            ioService,
+                                            moduleService,
+                                            importsService,
+                                            new ArrayList<>(),
+                                            dependenciesClassLoaderCache,
+                                            pomModelCache,
+                                            getPackageNameWhiteListService(),
+                                            alwaysTrue);
+        builder.build();
+
+        final org.uberfire.java.nio.file.Path rule1 = path.resolve("src/main/resources/rule1.drl");
+        final org.uberfire.java.nio.file.Path rule2 = path.resolve("src/main/resources/rule2.drl");
+        final String valid = "package org.kie.workbench.common.services.builder.tests.test1\n" +
+                "rule R1\n" +
+                "when\n" +
+                "then\n" +
+                "end";
+        final String broken = "package org.kie.workbench.common.services.builder.tests.test1\n" +
+                "rule R2\n" +
+                "when\n" +
+                "Unknown()\n" +
+                "then\n" +
+                "end";
+
+        //The first change holds the build lock until the others are queued
+        final CountDownLatch release = new CountDownLatch(1);
+        final CountDownLatch reading = new CountDownLatch(1);
+        final InputStream blocking = new ByteArrayInputStream(valid.getBytes(Charset.forName("UTF-8"))) {
+            @Override
+            public synchronized int read(final byte[] b,
+                                         final int off,
+                                         final int len) {
+                reading.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.read(b,
+                                  off,
+                                  len);
+            }
+        };
+
+        final AtomicReference<IncrementalBuildResults> first = new AtomicReference<>();
+        final AtomicReference<IncrementalBuildResults> second = new AtomicReference<>();
+        final AtomicReference<IncrementalBuildResults> third = new AtomicReference<>();
+        final Thread firstWriter = new Thread(() -> first.set(builder.updateResource(rule1,
+                                                                                     blocking)));
+        final Thread secondWriter = new Thread(() -> second.set(builder.updateResource(rule2,
+                                                                                       new ByteArrayInputStream(broken.getBytes(Charset.forName("UTF-8"))))));
+        final Thread thirdWriter = new Thread(() -> third.set(builder.updateResource(rule1,
+                                                                                     new ByteArrayInputStream(valid.getBytes(Charset.forName("UTF-8"))))));
+        firstWriter.start();
+        assertTrue(reading.await(10,
+                                 TimeUnit.SECONDS));
+        secondWriter.start();
+        thirdWriter.start();
+        awaitWaiting(secondWriter);
+        awaitWaiting(thirdWriter);
+        Thread.sleep(100);
+        release.countDown();
+        firstWriter.join(10000);
+        secondWriter.join(10000);
+        thirdWriter.join(10000);
+
+        final BuilderLockMetrics metrics = builder.getLockMetrics();
+        assertEquals(2,
+                     metrics.getIncrementalBuilds());
+        assertEquals(1,
+                     metrics.getCoalescedChanges());
+        assertTrue(metrics.getMaxHoldMillis() >= 50);
+        assertTrue(metrics.getMaxQueueingMillis() >= 50);
+
+        //Each writer receives the messages of its own resources
+        assertTrue(first.get().getAddedMessages().isEmpty());
+        assertTrue(third.get().getAddedMessages().isEmpty());
+        assertFalse(second.get().getAddedMessages().isEmpty());
+        for (BuildMessage message : second.get().getAddedMessages()) {
+            assertEquals(Paths.convert(rule2),
+                         message.getPath());
+        }
+    }
+
+    @Test
+    public void testKieModuleIgnoringErrorsIsACopyOfTheLastBuildWithoutErrors() throws Exception {
+        URL url = this.getClass().getResource("/GuvnorM2RepoDependencyExample1");
+        SimpleFileSystemProvider p = new SimpleFileSystemProvider();
+        org.uberfire.java.nio.file.Path path = p.getPath(url.toURI());
+
+        final Module module = moduleService.resolveModule(Paths.convert(path));
+
+        final Builder builder = new Builder(module,
+                                            ioService,
+                                            moduleService,
+                                            importsService,
+                                            new ArrayList<>(),
+                                            dependenciesClassLoaderCache,
+                                            pomModelCache,
+                                            getPackageNameWhiteListService(),
+                                            alwaysTrue);
+        assertTrue(builder.build().getErrorMessages().isEmpty());
+
+        final org.kie.api.builder.KieModule built = builder.getKieModuleIgnoringErrors();
+        assertTrue(built instanceof MemoryKieModule);
+        assertNotSame(builder.getKieModule(),
+                      built);
+
+        final org.uberfire.java.nio.file.Path rule3 = path.resolve("src/main/resources/rule3.drl");
+        final String broken = "package org.kie.workbench.common.services.builder.tests.test1\n" +
+                "rule R3\n" +
+                "when\n" +
+                "Unknown()\n" +
+                "then\n" +
+                "end";
+        final String valid = "package org.kie.workbench.common.services.builder.tests.test1\n" +
+                "rule R3\n" +
+                "when\n" +
+                "then\n" +
+                "end";
+
+        //The copy of the last build without errors stays published
+        assertFalse(builder.updateResource(rule3,
+                                           new ByteArrayInputStream(broken.getBytes(Charset.forName("UTF-8")))).getAddedMessages().isEmpty());
+        assertSame(built,
+                   builder.getKieModuleIgnoringErrors());
+
+        builder.updateResource(rule3,
+                               new ByteArrayInputStream(valid.getBytes(Charset.forName("UTF-8"))));
+        final org.kie.api.builder.KieModule fixed = builder.getKieModuleIgnoringErrors();
+        assertNotSame(built,
+                      fixed);
+        assertNotSame(builder.getKieModule(),
+                      fixed);
+    }
+
+    private static void awaitWaiting(final Thread thread) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 10000;
+        while (thread.getState() != Thread.State.WAITING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(Thread.State.WAITING,
+                     thread.getState());
+    }
+
     @Test
     public void testBuilderKModuleHasDependency() throws Exception {
         URL url = this.getClass().getResource("/GuvnorM2RepoDependencyExample2");
@@ -0,0 +1,120 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class ClassVerificationCacheTest {
+
+    private static final Set<String> CLASSPATH = new HashSet<>(Arrays.asList("jar1",
+                                                                             "jar2"));
+
+    private ClassVerificationCache cache;
+
+    @Before
+    public void setUp() {
+        cache = new ClassVerificationCache(10,
+                                           2);
+    }
+
+    @Test
+    public void testVerifiedClassesAreReusedWithSameDependencies() {
+        cache.getVerification("jar1",
+                              CLASSPATH).verified("org.test.A");
+        cache.getVerification("jar1",
+                              CLASSPATH).failed("org.test.B",
+                                                "failure");
+
+        final ClassVerificationCache.JarVerification verification = cache.getVerification("jar1",
+                                                                                           new HashSet<>(CLASSPATH));
+        assertTrue(verification.isVerified("org.test.A"));
+        assertEquals("failure",
+                     verification.getFailure("org.test.B"));
+    }
+
+    @Test
+    public void testOnlyFailuresAreVerifiedAgainWithMoreDependencies() {
+        cache.getVerification("jar1",
+                              CLASSPATH).verified("org.test.A");
+        cache.getVerification("jar1",
+                              CLASSPATH).failed("org.test.B",
+                                                "failure");
+
+        final Set<String> classpath = new HashSet<>(CLASSPATH);
+        classpath.add("jar3");
+        final ClassVerificationCache.JarVerification verification = cache.getVerification("jar1",
+                                                                                           classpath);
+        assertTrue(verification.isVerified("org.test.A"));
+        assertNull(verification.getFailure("org.test.B"));
+    }
+
+    @Test
+    public void testEverythingIsVerifiedAgainWithLessDependencies() {
+        cache.getVerification("jar1",
+                              CLASSPATH).verified("org.test.A");
+
+        final ClassVerificationCache.JarVerification verification = cache.getVerification("jar1",
+                                                                                           new HashSet<>(Arrays.asList("jar1")));
+        assertFalse(verification.isVerified("org.test.A"));
+    }
+
+    @Test
+    public void testVerificationsOfDifferentDependenciesAreKeptPerJar() {
+        final Set<String> other = new HashSet<>(Arrays.asList("jar1",
+                                                              "jar4"));
+        cache.getVerification("jar1",
+                              CLASSPATH).verified("org.test.A");
+        cache.getVerification("jar1",
+                              other).verified("org.test.B");
+
+        assertTrue(cache.getVerification("jar1",
+                                         CLASSPATH).isVerified("org.test.A"));
+        assertTrue(cache.getVerification("jar1",
+                                         other).isVerified("org.test.B"));
+    }
+
+    @Test
+    public void testLeastRecentDependenciesOfAJarAreEvicted() {
+        cache.getVerification("jar1",
+                              CLASSPATH).verified("org.test.A");
+        cache.getVerification("jar1",
+                              new HashSet<>(Arrays.asList("jar1",
+                                                          "jar4")));
+        cache.getVerification("jar1",
+                              new HashSet<>(Arrays.asList("jar1",
+                                                          "jar5")));
+
+        assertFalse(cache.getVerification("jar1",
+                                          CLASSPATH).isVerified("org.test.A"));
+    }
+
+    @Test
+    public void testJarChecksum() {
+        final String jar = cache.getJar(Test.class);
+        assertNotNull(jar);
+        assertEquals(jar,
+                     cache.getJar(Before.class));
+        assertNotEquals(jar,
+                        cache.getJar(ClassVerificationCacheTest.class));
+    }
+}
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.drools.compiler.commons.jci.problems.CompilationProblem;
+import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class IncrementalJavaCompilerTest {
+
+    private static final String BEAN = "src/main/java/org/test/Bean.java";
+    private static final String USER = "src/main/java/org/test/BeanUser.java";
+    private static final String OTHER = "src/main/java/org/test/Other.java";
+
+    private Map<String, byte[]> sources;
+
+    @Before
+    public void setUp() {
+        sources = new HashMap<>();
+        sources.put(BEAN,
+                    "package org.test; public class Bean { public String getName() { return null; } }".getBytes());
+        sources.put(USER,
+                    "package org.test; public class BeanUser { String name(Bean bean) { return bean.getName(); } }".getBytes());
+        sources.put(OTHER,
+                    "package org.test; public class Other { }".getBytes());
+    }
+
+    @Test
+    public void testAccepts() {
+        assertTrue(IncrementalJavaCompiler.accepts(BEAN));
+        assertFalse(IncrementalJavaCompiler.accepts("src/main/resources/org/test/rule.drl"));
+        assertFalse(IncrementalJavaCompiler.accepts("src/main/java/org/test/package.html"));
+    }
+
+    @Test
+    public void testWithDependents() {
+        final Map<String, byte[]> units = IncrementalJavaCompiler.withDependents(BEAN,
+                                                                                 sources.get(BEAN),
+                                                                                 sources);
+
+        assertEquals(2,
+                     units.size());
+        assertEquals(BEAN,
+                     units.keySet().iterator().next());
+        assertTrue(units.containsKey(USER));
+    }
+
+    @Test
+    public void testDependentsAreCompiledWithTheChange() {
+        final byte[] changed = "package org.test; public class Bean { }".getBytes();
+        final Map<String, byte[]> units = IncrementalJavaCompiler.withDependents(BEAN,
+                                                                                 changed,
+                                                                                 sources);
+        final List<CompilationProblem> problems = new IncrementalJavaCompiler(new MemoryFileSystem(),
+                                                                              getClass().getClassLoader()).compile(units,
+                                                                                                                   IncrementalJavaCompiler.DEFAULT_JAVA_VERSION);
+
+        assertEquals(1,
+                     problems.size());
+        assertTrue(problems.get(0).isError());
+        assertEquals(USER,
+                     problems.get(0).getFileName());
+    }
+
+    @Test
+    public void testJavaVersionOfTheCompilerProperties() {
+        assertEquals("11",
+                     IncrementalJavaCompiler.javaVersion(pom("<properties><maven.compiler.source>11</maven.compiler.source></properties>")));
+        assertEquals("1.8",
+                     IncrementalJavaCompiler.javaVersion(pom("<properties><maven.compiler.release>8</maven.compiler.release></properties>")));
+    }
+
+    @Test
+    public void testJavaVersionOfTheCompilerPlugin() {
+        assertEquals("11",
+                     IncrementalJavaCompiler.javaVersion(pom("<properties><java.level>11</java.level></properties>" +
+                                                                 "<build><plugins><plugin>" +
+                                                                 "<artifactId>maven-compiler-plugin</artifactId>" +
+                                                                 "<configuration><source>${java.level}</source></configuration>" +
+                                                                 "</plugin></plugins></build>")));
+    }
+
+    @Test
+    public void testDefaultJavaVersion() {
+        assertEquals(IncrementalJavaCompiler.DEFAULT_JAVA_VERSION,
+                     IncrementalJavaCompiler.javaVersion(null));
+        assertEquals(IncrementalJavaCompiler.DEFAULT_JAVA_VERSION,
+                     IncrementalJavaCompiler.javaVersion(pom("")));
+        assertEquals(IncrementalJavaCompiler.DEFAULT_JAVA_VERSION,
+                     IncrementalJavaCompiler.javaVersion(pom("<properties><maven.compiler.source>${inherited}</maven.compiler.source></properties>")));
+        assertEquals(IncrementalJavaCompiler.DEFAULT_JAVA_VERSION,
+                     IncrementalJavaCompiler.javaVersion("not a pom".getBytes()));
+    }
+
+    private static byte[] pom(final String content) {
+        return ("<project><modelVersion>4.0.0</modelVersion>" +
+                "<groupId>org.test</groupId><artifactId>test</artifactId><version>1.0</version>" +
+                content +
+                "</project>").getBytes();
+    }
+}
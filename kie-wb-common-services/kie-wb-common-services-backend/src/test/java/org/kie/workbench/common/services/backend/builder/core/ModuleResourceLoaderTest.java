@@ -0,0 +1,161 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.uberfire.io.IOService;
+import org.uberfire.java.nio.file.Files;
+import org.uberfire.java.nio.file.Path;
+import org.uberfire.java.nio.file.Paths;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.class)
+public class ModuleResourceLoaderTest {
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Mock
+    private IOService ioService;
+
+    private Path root;
+
+    private final ExecutorService executorService = Executors.newFixedThreadPool(4);
+
+    @Before
+    public void setUp() throws Exception {
+        final File folder = temporaryFolder.newFolder("module");
+        for (int i = 0; i < 5; i++) {
+            final File pkg = new File(folder,
+                                      "src/main/resources/org/test/pkg" + i);
+            assertTrue(pkg.mkdirs());
+            for (int j = 0; j < 10; j++) {
+                assertTrue(new File(pkg,
+                                    "rule" + j + ".drl").createNewFile());
+            }
+        }
+        assertTrue(new File(folder,
+                            "pom.xml").createNewFile());
+        assertTrue(new File(folder,
+                            ".gitignore").createNewFile());
+        root = Paths.get(folder.toURI());
+
+        when(ioService.readAllBytes(any(Path.class))).thenAnswer(invocation -> invocation.getArgument(0).toString().getBytes());
+    }
+
+    @After
+    public void tearDown() {
+        executorService.shutdownNow();
+    }
+
+    @Test
+    public void testResourcesInSerialWalkOrder() {
+        final ModuleResourceLoader loader = new ModuleResourceLoader(ioService,
+                                                                     path -> path.getFileName().toString().startsWith("."),
+                                                                     executorService);
+
+        final List<ModuleResourceLoader.LoadedResource> resources = loader.load(root);
+
+        final List<Path> expected = new ArrayList<>();
+        walk(root,
+             expected);
+        assertEquals(51,
+                     expected.size());
+        assertEquals(expected,
+                     resources.stream().map(ModuleResourceLoader.LoadedResource::getPath).collect(Collectors.toList()));
+        for (ModuleResourceLoader.LoadedResource resource : resources) {
+            assertArrayEquals(resource.getPath().toString().getBytes(),
+                              resource.getContent());
+        }
+        verify(ioService,
+               times(51)).readAllBytes(any(Path.class));
+    }
+
+    @Test
+    public void testBatchesOfFilesInSerialWalkOrder() throws Exception {
+        final File folder = temporaryFolder.newFolder("wide");
+        for (int i = 0; i < ModuleResourceLoader.BATCH_SIZE * 3 + 5; i++) {
+            assertTrue(new File(folder,
+                                "rule" + i + ".drl").createNewFile());
+        }
+        for (int i = 0; i < 3; i++) {
+            final File pkg = new File(folder,
+                                      "pkg" + i);
+            assertTrue(pkg.mkdirs());
+            assertTrue(new File(pkg,
+                                "rule.drl").createNewFile());
+        }
+        final Path wide = Paths.get(folder.toURI());
+
+        final List<ModuleResourceLoader.LoadedResource> resources = new ModuleResourceLoader(ioService,
+                                                                                            path -> false,
+                                                                                            executorService).load(wide);
+
+        final List<Path> expected = new ArrayList<>();
+        walk(wide,
+             expected);
+        assertEquals(ModuleResourceLoader.BATCH_SIZE * 3 + 8,
+                     expected.size());
+        assertEquals(expected,
+                     resources.stream().map(ModuleResourceLoader.LoadedResource::getPath).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testCallerReadsTheBatchesRejectedByTheExecutor() {
+        final List<ModuleResourceLoader.LoadedResource> resources = new ModuleResourceLoader(ioService,
+                                                                                            path -> path.getFileName().toString().startsWith("."),
+                                                                                            command -> {
+                                                                                                throw new RejectedExecutionException();
+                                                                                            }).load(root);
+
+        final List<Path> expected = new ArrayList<>();
+        walk(root,
+             expected);
+        assertEquals(expected,
+                     resources.stream().map(ModuleResourceLoader.LoadedResource::getPath).collect(Collectors.toList()));
+    }
+
+    private void walk(final Path directory,
+                      final List<Path> paths) {
+        for (final Path path : Files.newDirectoryStream(directory)) {
+            if (Files.isDirectory(path)) {
+                walk(path,
+                     paths);
+            } else if (!path.getFileName().toString().startsWith(".")) {
+                paths.add(path);
+            }
+        }
+    }
+}
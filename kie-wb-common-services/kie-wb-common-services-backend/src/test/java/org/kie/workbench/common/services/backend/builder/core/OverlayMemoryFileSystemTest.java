@@ -0,0 +1,126 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *       http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.kie.workbench.common.services.backend.builder.core;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Map;
+
+import org.drools.compiler.compiler.io.memory.MemoryFileSystem;
+import org.junit.Before;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class OverlayMemoryFileSystemTest {
+
+    private MemoryFileSystem base;
+    private OverlayMemoryFileSystem overlay;
+
+    @Before
+    public void setUp() {
+        base = new MemoryFileSystem();
+        base.write("src/main/resources/org/test/a.drl",
+                   "a".getBytes(),
+                   true);
+        base.write("src/main/resources/org/test/b.drl",
+                   "b".getBytes(),
+                   true);
+        overlay = new OverlayMemoryFileSystem(base);
+    }
+
+    @Test
+    public void testChangesDoNotReachTheBase() {
+        overlay.write("src/main/resources/org/test/a.drl",
+                      "a2".getBytes(),
+                      true);
+        overlay.remove("src/main/resources/org/test/b.drl");
+        overlay.write("src/main/resources/org/test/c.drl",
+                      "c".getBytes(),
+                      true);
+
+        assertEquals("a2",
+                     new String(overlay.getBytes("src/main/resources/org/test/a.drl")));
+        assertFalse(overlay.existsFile("src/main/resources/org/test/b.drl"));
+        assertNull(overlay.read("src/main/resources/org/test/b.drl"));
+        assertEquals(2,
+                     overlay.getFileNames().size());
+        assertEquals(3,
+                     overlay.getChangedFiles());
+
+        assertEquals("a",
+                     new String(base.getBytes("src/main/resources/org/test/a.drl")));
+        assertTrue(base.existsFile("src/main/resources/org/test/b.drl"));
+        assertFalse(base.existsFile("src/main/resources/org/test/c.drl"));
+    }
+
+    @Test
+    public void testMapIsAViewOfTheBaseAndTheChanges() {
+        final Map<String, byte[]> map = overlay.getMap();
+        overlay.write("src/main/resources/org/test/c.drl",
+                      "c".getBytes(),
+                      true);
+        overlay.remove("src/main/resources/org/test/b.drl");
+
+        assertEquals(new HashSet<>(Arrays.asList("src/main/resources/org/test/a.drl",
+                                                 "src/main/resources/org/test/c.drl")),
+                     new HashSet<>(map.keySet()));
+        assertEquals(2,
+                     map.size());
+        assertEquals("c",
+                     new String(map.get("src/main/resources/org/test/c.drl")));
+        assertFalse(map.containsKey("src/main/resources/org/test/b.drl"));
+        assertEquals(new HashSet<>(map.keySet()),
+                     new HashSet<>(overlay.getFileNames()));
+    }
+
+    @Test
+    public void testCloneHasTheFilesOfTheOverlay() {
+        overlay.write("src/main/resources/org/test/a.drl",
+                      "a2".getBytes(),
+                      true);
+        overlay.remove("src/main/resources/org/test/b.drl");
+
+        final MemoryFileSystem clone = overlay.clone();
+
+        assertEquals(1,
+                     clone.getFileNames().size());
+        assertEquals("a2",
+                     new String(clone.getBytes("src/main/resources/org/test/a.drl")));
+    }
+
+    @Test
+    public void testFoldersAreMaterialized() {
+        overlay.remove("src/main/resources/org/test/b.drl");
+
+        assertEquals(1,
+                     overlay.getFolder("src/main/resources/org/test").getMembers().size());
+        assertEquals("a",
+                     new String(overlay.getBytes("src/main/resources/org/test/a.drl")));
+        assertTrue(base.existsFile("src/main/resources/org/test/b.drl"));
+    }
+
+    @Test
+    public void testModifiedResourcesSinceLastMark() {
+        overlay.mark();
+        overlay.write("src/main/resources/org/test/a.drl",
+                      "a2".getBytes());
+
+        assertEquals(1,
+                     overlay.getModifiedResourcesSinceLastMark().size());
+        assertTrue(overlay.getModifiedResourcesSinceLastMark().contains("src/main/resources/org/test/a.drl"));
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.concurrent;
+
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+public class BackendTaskPoolTest {
+
+    @Test
+    public void testWorkersUseTheApplicationClassLoader() throws Exception {
+        final ClassLoader classLoader = BackendTaskPool.get().submit(() -> Thread.currentThread().getContextClassLoader()).get();
+
+        assertSame(BackendTaskPool.class.getClassLoader(),
+                   classLoader);
+    }
+
+    @Test
+    public void testPoolIsNotRecreatedAfterShutdown() {
+        final ForkJoinPool pool = BackendTaskPool.get();
+        assertSame(pool,
+                   BackendTaskPool.get());
+
+        new BackendTaskPool().shutdown();
+
+        assertTrue(pool.isShutdown());
+        assertSame(ForkJoinPool.commonPool(),
+                   BackendTaskPool.get());
+
+        //a new start of the application creates a new pool
+        new BackendTaskPool().start();
+
+        final ForkJoinPool next = BackendTaskPool.get();
+        assertNotSame(pool,
+                      next);
+        assertNotSame(ForkJoinPool.commonPool(),
+                      next);
+        assertFalse(next.isShutdown());
+    }
+}
@@ -0,0 +1,215 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.services.backend.validation.asset;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.guvnor.common.services.project.model.Module;
+import org.guvnor.common.services.shared.validation.model.ValidationMessage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.kie.workbench.common.services.backend.builder.core.LRUBuilderCache;
+import org.kie.workbench.common.services.backend.builder.service.BuildInfoService;
+import org.kie.workbench.common.services.shared.project.KieModuleService;
+import org.mockito.Mock;
+import org.mockito.junit.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.uberfire.backend.vfs.Path;
+import org.uberfire.backend.vfs.PathFactory;
+import org.uberfire.io.IOService;
+
+import static org.junit.Assert.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@RunWith(MockitoJUnitRunner.Silent.class)
+public class ValidatorBuildServiceTest {
+
+    @Mock
+    private IOService ioService;
+
+    @Mock
+    private LRUBuilderCache builderCache;
+
+    @Mock
+    private KieModuleService moduleService;
+
+    @Mock
+    private BuildInfoService buildInfoService;
+
+    @Mock
+    private Module module;
+
+    private final AtomicInteger validations = new AtomicInteger();
+    private final Map<String, CountDownLatch> blocked = new ConcurrentHashMap<>();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+
+    private ValidatorBuildService service;
+
+    @Before
+    public void setUp() {
+        when(module.getRootPath()).thenReturn(PathFactory.newPath("module",
+                                                                  "file:///module"));
+        when(moduleService.resolveModule(any(Path.class))).thenReturn(module);
+        //Each validation that runs fails with its own message, after waiting for the release of its path if blocked
+        final Answer<Object> validation = invocation -> {
+            final int number = validations.incrementAndGet();
+            final CountDownLatch release = blocked.get(Thread.currentThread().getName());
+            if (release != null) {
+                release.await();
+            }
+            throw new IllegalStateException("validation " + number);
+        };
+        when(buildInfoService.getBuildInfo(module)).thenAnswer(validation);
+        when(builderCache.assertBuilder(module)).thenAnswer(validation);
+
+        service = new ValidatorBuildService(ioService,
+                                            builderCache,
+                                            moduleService,
+                                            buildInfoService);
+    }
+
+    @After
+    public void tearDown() {
+        callers.shutdownNow();
+    }
+
+    @Test
+    public void testQueuedValidationIsSupersededByTheLatest() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Future<List<ValidationMessage>> blocker1 = validateBlocked("a.drl",
+                                                                         release);
+        final Future<List<ValidationMessage>> blocker2 = validateBlocked("b.drl",
+                                                                         release);
+        awaitValidations(2);
+
+        final Path path = path("c.drl");
+        final Future<List<ValidationMessage>> first = callers.submit(() -> service.validate(path,
+                                                                                            "first"));
+        awaitQueued(first);
+        final Future<List<ValidationMessage>> second = callers.submit(() -> service.validate(path,
+                                                                                             "second"));
+        awaitQueued(second);
+        release.countDown();
+
+        //The superseded validation doesn't run and never receives the messages of the latest one
+        assertTrue(first.get(5,
+                             TimeUnit.SECONDS).isEmpty());
+        assertEquals("validation 3",
+                     second.get(5,
+                                TimeUnit.SECONDS).get(0).getText());
+        assertEquals(3,
+                     validations.get());
+        blocker1.get(5,
+                     TimeUnit.SECONDS);
+        blocker2.get(5,
+                     TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testRunningValidationReturnsItsOwnResult() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Future<List<ValidationMessage>> first = validateBlocked("a.drl",
+                                                                      release);
+        awaitValidations(1);
+
+        final List<ValidationMessage> second = service.validate(path("a.drl"),
+                                                                "second");
+        release.countDown();
+
+        assertEquals("validation 2",
+                     second.get(0).getText());
+        assertEquals("validation 1",
+                     first.get(5,
+                               TimeUnit.SECONDS).get(0).getText());
+    }
+
+    @Test
+    public void testValidationsOfAModuleAreBounded() throws Exception {
+        final CountDownLatch release = new CountDownLatch(1);
+        final Future<List<ValidationMessage>> blocker1 = validateBlocked("a.drl",
+                                                                         release);
+        final Future<List<ValidationMessage>> blocker2 = validateBlocked("b.drl",
+                                                                         release);
+        awaitValidations(2);
+
+        final Future<List<ValidationMessage>> queued = callers.submit(() -> service.validate(path("c.drl"),
+                                                                                             "content"));
+        awaitQueued(queued);
+        assertEquals(2,
+                     validations.get());
+
+        release.countDown();
+        assertEquals("validation 3",
+                     queued.get(5,
+                                TimeUnit.SECONDS).get(0).getText());
+        blocker1.get(5,
+                     TimeUnit.SECONDS);
+        blocker2.get(5,
+                     TimeUnit.SECONDS);
+    }
+
+    @Test
+    public void testValidationWithoutModule() {
+        when(moduleService.resolveModule(any(Path.class))).thenReturn(null);
+
+        assertTrue(service.validate(path("a.drl"),
+                                    "content").isEmpty());
+        assertEquals(0,
+                     validations.get());
+    }
+
+    private Future<List<ValidationMessage>> validateBlocked(final String fileName,
+                                                            final CountDownLatch release) {
+        return callers.submit(() -> {
+            blocked.put(Thread.currentThread().getName(),
+                        release);
+            return service.validate(path(fileName),
+                                    "content");
+        });
+    }
+
+    private void awaitValidations(final int count) throws InterruptedException {
+        final long deadline = System.currentTimeMillis() + 5000;
+        while (validations.get() < count && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(count,
+                     validations.get());
+    }
+
+    private void awaitQueued(final Future<?> validation) throws InterruptedException {
+        //The caller parks waiting for a permit of the module
+        Thread.sleep(200);
+        assertFalse(validation.isDone());
+    }
+
+    private static Path path(final String fileName) {
+        return PathFactory.newPath(fileName,
+                                   "file:///module/src/main/resources/" + fileName);
+    }
+}
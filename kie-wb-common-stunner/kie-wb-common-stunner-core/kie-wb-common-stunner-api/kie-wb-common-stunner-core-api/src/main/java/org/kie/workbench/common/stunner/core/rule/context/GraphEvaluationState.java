@@ -42,6 +42,19 @@ public interface GraphEvaluationState {
     interface CardinalityState {
 
         Iterable<Node> nodes();
+
+        /**
+         * @return the number of nodes in this state that have the given label
+         */
+        default int count(final String label) {
+            int count = 0;
+            for (Node node : nodes()) {
+                if (null != node.getLabels() && node.getLabels().contains(label)) {
+                    count++;
+                }
+            }
+            return count;
+        }
     }
 
     interface ConnectorCardinalityState {
@@ -25,6 +25,7 @@ import org.kie.workbench.common.stunner.core.definition.adapter.MorphAdapter;
 import org.kie.workbench.common.stunner.core.definition.morph.MorphDefinition;
 import org.kie.workbench.common.stunner.core.factory.impl.AbstractElementFactory;
 import org.kie.workbench.common.stunner.core.graph.Edge;
+import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandResultBuilder;
@@ -100,6 +101,11 @@ public final class MorphNodeCommand extends AbstractGraphCommand {
         for (String label : labels) {
             candidate.getLabels().add(label);
         }
+        // Add the node again, so the graph keeps counting its labels right.
+        final Graph<?, Node> graph = getGraph(context);
+        if (null != graph.getNode(candidate.getUUID())) {
+            graph.addNode(candidate);
+        }
         return results;
     }
 
@@ -17,8 +17,10 @@
 package org.kie.workbench.common.stunner.core.graph.store;
 
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
+import java.util.Set;
 
 import org.jboss.errai.common.client.api.annotations.Portable;
 import org.kie.workbench.common.stunner.core.graph.Node;
@@ -28,15 +30,29 @@ public class GraphNodeStoreImpl implements GraphNodeStore<Node> {
 
     protected Map<String, Node> nodes = new HashMap<String, Node>();
 
+    // Number of nodes for each label, built on the first count and then updated as nodes are added or removed.
+    // The labels counted for each node are kept, so adding a node again refreshes its counts.
+    private transient Map<String, Integer> labelCounts;
+    private transient Map<String, Set<String>> countedLabels;
+
     @Override
     public Node add(final Node node) {
-        return nodes.put(node.getUUID(),
-                         node);
+        final Node previous = nodes.put(node.getUUID(),
+                                        node);
+        if (null != labelCounts) {
+            uncountLabels(previous);
+            countLabels(node);
+        }
+        return previous;
     }
 
     @Override
     public Node remove(final String uuid) {
-        return nodes.remove(uuid);
+        final Node removed = nodes.remove(uuid);
+        if (null != labelCounts) {
+            uncountLabels(removed);
+        }
+        return removed;
     }
 
     @Override
@@ -52,10 +68,55 @@ public class GraphNodeStoreImpl implements GraphNodeStore<Node> {
     @Override
     public void clear() {
         nodes.clear();
+        labelCounts = null;
+        countedLabels = null;
+    }
+
+    /**
+     * @return the number of stored nodes that have the given label
+     */
+    public int countLabel(final String label) {
+        if (null == labelCounts) {
+            labelCounts = new HashMap<>();
+            countedLabels = new HashMap<>();
+            nodes.values().forEach(this::countLabels);
+        }
+        final Integer count = labelCounts.get(label);
+        return null != count ? count : 0;
     }
 
     @Override
     public Iterator<Node> iterator() {
         return nodes.values().iterator();
     }
+
+    @SuppressWarnings("unchecked")
+    private void countLabels(final Node node) {
+        final Set<String> labels = new HashSet<>();
+        if (null != node.getLabels()) {
+            labels.addAll(node.getLabels());
+        }
+        countedLabels.put(node.getUUID(),
+                          labels);
+        for (String label : labels) {
+            final Integer count = labelCounts.get(label);
+            labelCounts.put(label,
+                            null != count ? count + 1 : 1);
+        }
+    }
+
+    private void uncountLabels(final Node node) {
+        final Set<String> labels = null != node ? countedLabels.remove(node.getUUID()) : null;
+        if (null != labels) {
+            for (String label : labels) {
+                final Integer count = labelCounts.get(label);
+                if (null != count && count > 1) {
+                    labelCounts.put(label,
+                                    count - 1);
+                } else {
+                    labelCounts.remove(label);
+                }
+            }
+        }
+    }
 }
@@ -33,6 +33,7 @@ import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
 import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.kie.workbench.common.stunner.core.rule.context.NodeContainmentContext;
 
@@ -133,6 +134,33 @@ public class StatefulGraphEvaluationState extends AbstractGraphEvaluationState {
                                                           this::appendAddedNodes));
         }
 
+        /**
+         * Counts the graph nodes with the given label from the label counts kept by the graph's node store, when
+         * available, and then applies the deleted and added elements.
+         */
+        @Override
+        @SuppressWarnings("unchecked")
+        public int count(final String label) {
+            final Iterable<?> nodes = getGraph().nodes();
+            if (!(nodes instanceof GraphNodeStoreImpl)) {
+                return CardinalityState.super.count(label);
+            }
+            final GraphNodeStoreImpl store = (GraphNodeStoreImpl) nodes;
+            int count = store.countLabel(label);
+            for (Element<? extends View<?>> element : deleted) {
+                final Node node = store.get(element.getUUID());
+                if (null != node && node.equals(element) && GraphUtils.getLabels(node).contains(label)) {
+                    count--;
+                }
+            }
+            for (Element<? extends View<?>> element : added) {
+                if (null != element.asNode() && GraphUtils.getLabels(element).contains(label)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+
         private Collection<Node> appendAddedNodes(final Collection<Node> nodes) {
             getAddedElements().stream()
                     .filter(e -> Objects.nonNull(e.asNode()))
@@ -25,6 +25,7 @@ import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.definition.Definition;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.store.GraphNodeStoreImpl;
 import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 
 public class StatelessGraphEvaluationState extends AbstractGraphEvaluationState {
@@ -76,6 +77,14 @@ public class StatelessGraphEvaluationState extends AbstractGraphEvaluationState
         public Iterable<Node> nodes() {
             return (Iterable<Node>) getGraph().nodes();
         }
+
+        @Override
+        public int count(final String label) {
+            final Iterable<?> nodes = getGraph().nodes();
+            return nodes instanceof GraphNodeStoreImpl ?
+                    ((GraphNodeStoreImpl) nodes).countLabel(label) :
+                    CardinalityState.super.count(label);
+        }
     }
 
     public static class StatelessConnectorCardinalityState implements ConnectorCardinalityState {
@@ -76,6 +76,24 @@ public class StatefulGraphEvaluationStateTests {
         assertTrue(nodes.contains(someNewNode));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCardinalityStateCount() {
+        StatefulGraphEvaluationState.StatefulCardinalityState cardinalityState = tested.getCardinalityState();
+        NodeImpl someNewNode = new NodeImpl<>("someNewNodeUUID");
+        someNewNode.getLabels().add("all");
+        assertEquals(6, cardinalityState.count("all"));
+        cardinalityState.add(someNewNode);
+        cardinalityState.delete(graphInstance.nodeA);
+        cardinalityState.delete(graphInstance.edge1);
+        assertEquals(6, cardinalityState.count("all"));
+        assertEquals(0, cardinalityState.count("nodeALabel"));
+        assertEquals(1, cardinalityState.count("startNodeLabel"));
+        cardinalityState.clear();
+        assertEquals(6, cardinalityState.count("all"));
+        assertEquals(1, cardinalityState.count("nodeALabel"));
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testConnectorCardinalityState() {
@@ -70,6 +70,22 @@ public class StatelessGraphEvaluationStateTests {
         assertTrue(nodes.contains(graphInstance.nodeA));
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testCardinalityStateCount() {
+        StatelessGraphEvaluationState.StatelessCardinalityState cardinalityState = tested.getCardinalityState();
+        assertEquals(6, cardinalityState.count("all"));
+        assertEquals(1, cardinalityState.count("nodeALabel"));
+        assertEquals(0, cardinalityState.count("someOtherLabel"));
+        graphInstance.graph.removeNode(graphInstance.nodeA.getUUID());
+        assertEquals(5, cardinalityState.count("all"));
+        assertEquals(0, cardinalityState.count("nodeALabel"));
+        graphInstance.nodeA.getLabels().add("someOtherLabel");
+        graphInstance.graph.addNode(graphInstance.nodeA);
+        assertEquals(6, cardinalityState.count("all"));
+        assertEquals(1, cardinalityState.count("someOtherLabel"));
+    }
+
     @Test
     @SuppressWarnings("unchecked")
     public void testConnectorCardinalityState() {
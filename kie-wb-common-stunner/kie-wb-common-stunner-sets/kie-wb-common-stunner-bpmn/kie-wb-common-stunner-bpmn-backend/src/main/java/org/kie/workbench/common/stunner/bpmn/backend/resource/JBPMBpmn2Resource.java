@@ -60,6 +60,13 @@ public class JBPMBpmn2Resource extends Bpmn2ResourceImpl {
                                          XMLResource.OPTION_PROCESS_DANGLING_HREF_DISCARD);
     }
 
+    /**
+     * Prepares the contents as a save does, for the contents read as a model instead of being saved.
+     */
+    public void prepareContents() {
+        prepareSave();
+    }
+
     @Override
     protected XMLSave createXMLSave() {
         prepareSave();
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.resource;
+
+import bpsim.impl.BpsimPackageImpl;
+import org.eclipse.bpmn2.Bpmn2Package;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.impl.EPackageRegistryImpl;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceFactoryRegistryImpl;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.XMLParserPool;
+import org.eclipse.emf.ecore.xmi.XMLResource;
+import org.eclipse.emf.ecore.xmi.impl.XMLParserPoolImpl;
+import org.jboss.drools.DroolsPackage;
+import org.jboss.drools.impl.DroolsPackageImpl;
+
+/**
+ * Creates the resource sets the BPMN2 documents are read and written with.
+ * The package and resource factory registries are built once and shared by every resource set. The package registry
+ * is a plain map EMF writes into when loading a document with unknown namespaces, so each resource set gets a registry
+ * of its own delegating to the shared one, which is only read after its creation. The SAX parsers are shared through a
+ * thread safe pool instead of being created for each load.
+ */
+public final class JBPMBpmn2ResourceSetFactory {
+
+    private static final XMLParserPool PARSER_POOL = new XMLParserPoolImpl();
+
+    private static final EPackage.Registry PACKAGE_REGISTRY = createPackageRegistry();
+
+    private static final Resource.Factory.Registry RESOURCE_FACTORY_REGISTRY = createResourceFactoryRegistry();
+
+    private JBPMBpmn2ResourceSetFactory() {
+    }
+
+    public static ResourceSet createResourceSet() {
+        final ResourceSet resourceSet = new ResourceSetImpl();
+        resourceSet.setPackageRegistry(new EPackageRegistryImpl(PACKAGE_REGISTRY));
+        resourceSet.setResourceFactoryRegistry(RESOURCE_FACTORY_REGISTRY);
+        return resourceSet;
+    }
+
+    /**
+     * @return a new resource, in a resource set of its own, loading its contents with the pooled parsers
+     */
+    public static JBPMBpmn2Resource createResource(final URI uri) {
+        final JBPMBpmn2Resource resource = (JBPMBpmn2Resource) createResourceSet().createResource(uri);
+        resource.getDefaultLoadOptions().put(XMLResource.OPTION_USE_PARSER_POOL,
+                                             PARSER_POOL);
+        return resource;
+    }
+
+    private static EPackage.Registry createPackageRegistry() {
+        DroolsPackageImpl.init();
+        BpsimPackageImpl.init();
+
+        final EPackage.Registry registry = new EPackageRegistryImpl(EPackage.Registry.INSTANCE);
+        registry.put(Bpmn2Package.eNS_URI,
+                     Bpmn2Package.eINSTANCE);
+        registry.put(DroolsPackage.eNS_URI,
+                     DroolsPackage.eINSTANCE);
+        return registry;
+    }
+
+    private static Resource.Factory.Registry createResourceFactoryRegistry() {
+        final Resource.Factory.Registry registry = new ResourceFactoryRegistryImpl();
+        final JBPMBpmn2ResourceFactory factory = new JBPMBpmn2ResourceFactory();
+        registry.getExtensionToFactoryMap().put(Resource.Factory.Registry.DEFAULT_EXTENSION,
+                                                factory);
+        registry.getExtensionToFactoryMap().put("bpmn2",
+                                                factory);
+        return registry;
+    }
+}
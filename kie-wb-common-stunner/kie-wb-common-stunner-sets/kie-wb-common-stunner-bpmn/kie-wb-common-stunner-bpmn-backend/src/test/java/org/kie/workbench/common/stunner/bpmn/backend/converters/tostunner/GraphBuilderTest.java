@@ -34,22 +34,28 @@ import org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.proper
 import org.kie.workbench.common.stunner.bpmn.definition.BPMNDiagramImpl;
 import org.kie.workbench.common.stunner.bpmn.definition.BPMNViewDefinition;
 import org.kie.workbench.common.stunner.bpmn.definition.EmbeddedSubprocess;
+import org.kie.workbench.common.stunner.bpmn.definition.IntermediateTimerEvent;
+import org.kie.workbench.common.stunner.bpmn.definition.UserTask;
 import org.kie.workbench.common.stunner.core.backend.StunnerTestingGraphBackendAPI;
 import org.kie.workbench.common.stunner.core.definition.adapter.binding.BindableAdapterUtils;
 import org.kie.workbench.common.stunner.core.diagram.Diagram;
 import org.kie.workbench.common.stunner.core.diagram.Metadata;
 import org.kie.workbench.common.stunner.core.diagram.MetadataImpl;
+import org.kie.workbench.common.stunner.core.graph.Edge;
 import org.kie.workbench.common.stunner.core.graph.Graph;
 import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.content.Bounds;
 import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
 import org.kie.workbench.common.stunner.core.graph.content.view.ViewImpl;
+import org.kie.workbench.common.stunner.core.graph.impl.NodeImpl;
 import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 import static org.kie.workbench.common.stunner.bpmn.backend.converters.fromstunner.Factories.dc;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -62,6 +68,8 @@ public class GraphBuilderTest {
     private static final String SUBPROCESS1_ID = "SUBPROCESS1_ID";
     private static final String SUBPROCESS2_ID = "SUBPROCESS2_ID";
     private static final String SUBPROCESS3_ID = "SUBPROCESS3_ID";
+    private static final String TASK_ID = "TASK_ID";
+    private static final String EVENT_ID = "EVENT_ID";
 
     private DefinitionResolver definitionResolver;
 
@@ -175,6 +183,37 @@ public class GraphBuilderTest {
         assertNodePosition(SUBPROCESS3_ID, subprocess3X, subprocess3Y);
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void testDockedNodes() {
+        Node<? extends View<? extends BPMNViewDefinition>, ?> rootDiagram = mockNode(mock(BPMNDiagramImpl.class), 0, 0, 1000, 1000);
+        when(rootDiagram.getUUID()).thenReturn(DIAGRAM_UUID);
+        BpmnNode rootNode = mockBpmnNode(rootDiagram);
+
+        NodeImpl<View<BPMNViewDefinition>> task = new NodeImpl<>(TASK_ID);
+        task.setContent(new ViewImpl<>(mock(UserTask.class), Bounds.create(10, 10, 110, 60)));
+        BpmnNode taskNode = mockBpmnNode(task);
+        taskNode.setParent(rootNode);
+
+        NodeImpl<View<BPMNViewDefinition>> event = new NodeImpl<>(EVENT_ID);
+        event.setContent(new ViewImpl<>(mock(IntermediateTimerEvent.class), Bounds.create(100, 50, 120, 70)));
+        BpmnNode eventNode = mockBpmnNode(event).docked();
+        eventNode.setParent(rootNode);
+        taskNode.addEdge(BpmnEdge.docked(taskNode, eventNode));
+
+        graphBuilder.buildGraph(rootNode);
+
+        assertNotNull(graph.getNode(TASK_ID));
+        assertNotNull(graph.getNode(EVENT_ID));
+        Edge dock = task.getOutEdges().stream()
+                .filter(edge -> edge.getContent() instanceof Dock)
+                .findFirst()
+                .orElse(null);
+        assertNotNull(dock);
+        assertEquals(event, dock.getTargetNode());
+        assertTrue(event.getInEdges().contains(dock));
+    }
+
     @SuppressWarnings("unchecked")
     private void assertNodePosition(String uuid, double x, double y) {
         Node<? extends View<? extends BPMNViewDefinition>, ?> node = graph.getNode(uuid);
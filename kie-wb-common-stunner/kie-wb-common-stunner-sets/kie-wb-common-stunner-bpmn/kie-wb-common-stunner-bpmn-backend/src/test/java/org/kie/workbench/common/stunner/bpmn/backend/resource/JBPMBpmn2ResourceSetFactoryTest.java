@@ -0,0 +1,106 @@
+/*
+ * Copyright 2021 Red Hat, Inc. and/or its affiliates.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.kie.workbench.common.stunner.bpmn.backend.resource;
+
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.eclipse.bpmn2.Bpmn2Package;
+import org.eclipse.bpmn2.DocumentRoot;
+import org.eclipse.bpmn2.Process;
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.EcoreFactory;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.jboss.drools.DroolsPackage;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+
+public class JBPMBpmn2ResourceSetFactoryTest {
+
+    private static final String BPMN = "/org/kie/workbench/common/stunner/bpmn/backend/service/diagram/lanesProcess.bpmn";
+
+    private static final String PROCESS_ID = "testProject.lanesProcess&hello";
+
+    private static final String CUSTOM_NS = "http://www.custom.org/namespace";
+
+    @Test
+    public void testResourceSetsDoNotWriteIntoTheSharedRegistry() {
+        final ResourceSet first = JBPMBpmn2ResourceSetFactory.createResourceSet();
+        final ResourceSet second = JBPMBpmn2ResourceSetFactory.createResourceSet();
+
+        final EPackage custom = EcoreFactory.eINSTANCE.createEPackage();
+        custom.setNsURI(CUSTOM_NS);
+        first.getPackageRegistry().put(CUSTOM_NS,
+                                       custom);
+
+        assertNotSame(first.getPackageRegistry(),
+                      second.getPackageRegistry());
+        assertSame(custom,
+                   first.getPackageRegistry().getEPackage(CUSTOM_NS));
+        assertNull(second.getPackageRegistry().getEPackage(CUSTOM_NS));
+        assertSame(Bpmn2Package.eINSTANCE,
+                   second.getPackageRegistry().getEPackage(Bpmn2Package.eNS_URI));
+        assertSame(DroolsPackage.eINSTANCE,
+                   second.getPackageRegistry().getEPackage(DroolsPackage.eNS_URI));
+    }
+
+    @Test
+    public void testConcurrentParsesThroughTheSharedRegistries() throws Exception {
+        final ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            final List<Callable<String>> parses = new ArrayList<>();
+            for (int i = 0; i < 64; i++) {
+                parses.add(this::parseProcessId);
+            }
+            for (Future<String> processId : executor.invokeAll(parses)) {
+                assertEquals(PROCESS_ID,
+                             processId.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private String parseProcessId() throws Exception {
+        final JBPMBpmn2Resource resource = JBPMBpmn2ResourceSetFactory.createResource(URI.createURI("inputStream://dummyUriWithValidSuffix.xml"));
+        final Map<String, Object> options = new HashMap<>();
+        options.put(JBPMBpmn2Resource.OPTION_ENCODING,
+                    "UTF-8");
+        try (InputStream inputStream = getClass().getResourceAsStream(BPMN)) {
+            resource.load(inputStream,
+                          options);
+        }
+        final DocumentRoot root = (DocumentRoot) resource.getContents().get(0);
+        return root.getDefinitions().getRootElements().stream()
+                .filter(element -> element instanceof Process)
+                .map(element -> element.getId())
+                .findFirst()
+                .orElse(null);
+    }
+}
@@ -17,10 +17,13 @@
 package org.kie.workbench.common.stunner.bpmn.backend.service.diagram;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.regex.Matcher;
@@ -29,11 +32,13 @@ import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 import org.eclipse.bpmn2.Activity;
+import org.eclipse.bpmn2.BaseElement;
 import org.eclipse.bpmn2.DataInput;
 import org.eclipse.bpmn2.DataInputAssociation;
 import org.eclipse.bpmn2.DataOutput;
 import org.eclipse.bpmn2.DataOutputAssociation;
 import org.eclipse.bpmn2.Definitions;
+import org.eclipse.bpmn2.DocumentRoot;
 import org.eclipse.bpmn2.ExtensionAttributeValue;
 import org.eclipse.bpmn2.FlowElement;
 import org.eclipse.bpmn2.InputOutputSpecification;
@@ -42,6 +47,7 @@ import org.eclipse.bpmn2.ItemDefinition;
 import org.eclipse.bpmn2.Process;
 import org.eclipse.bpmn2.Property;
 import org.eclipse.bpmn2.RootElement;
+import org.eclipse.emf.common.util.URI;
 import org.eclipse.emf.ecore.impl.EStructuralFeatureImpl;
 import org.eclipse.emf.ecore.util.FeatureMap;
 import org.jboss.drools.MetaDataType;
@@ -58,6 +64,8 @@ import org.kie.workbench.common.stunner.bpmn.backend.converters.customproperties
 import org.kie.workbench.common.stunner.bpmn.backend.converters.fromstunner.DefinitionsConverter;
 import org.kie.workbench.common.stunner.bpmn.backend.converters.fromstunner.properties.BasePropertyWriter;
 import org.kie.workbench.common.stunner.bpmn.backend.converters.tostunner.processes.DataTypeCacheServer;
+import org.kie.workbench.common.stunner.bpmn.backend.resource.JBPMBpmn2Resource;
+import org.kie.workbench.common.stunner.bpmn.backend.resource.JBPMBpmn2ResourceSetFactory;
 import org.kie.workbench.common.stunner.bpmn.definition.AdHocSubprocess;
 import org.kie.workbench.common.stunner.bpmn.definition.Association;
 import org.kie.workbench.common.stunner.bpmn.definition.BPMNDiagram;
@@ -2331,6 +2339,56 @@ public class BPMNDirectDiagramMarshallerTest {
                                          "_performanceItem"));
     }
 
+    @Test
+    public void testMarshallToBpmn2Definitions() throws Exception {
+        Diagram<Graph, Metadata> diagram = unmarshall(BPMN_PROCESSPROPERTIES);
+
+        Definitions definitions = tested.marshallToBpmn2Definitions(diagram);
+        assertNotNull(definitions);
+        Process process = getProcess(definitions);
+        assertNotNull(process);
+
+        assertEquals("JDLProj.BPSimple",
+                     process.getId());
+        assertEquals("BPSimple",
+                     process.getName());
+        assertEquals("org.jbpm",
+                     getProcessPropertyValue(process,
+                                             "packageName"));
+    }
+
+    @Test
+    public void testMarshallToBpmn2DefinitionsMatchesTheRoundTrip() throws Exception {
+        Diagram<Graph, Metadata> diagram = unmarshall(BPMN_USERTASKASSIGNMENTS);
+
+        Definitions definitions = tested.marshallToBpmn2Definitions(diagram);
+        Definitions roundTripped = parseDefinitions(tested.marshall(diagram));
+
+        List<String> itemDefinitions = describeItemDefinitions(roundTripped);
+        assertFalse(itemDefinitions.isEmpty());
+        assertEquals(itemDefinitions,
+                     describeItemDefinitions(definitions));
+
+        List<String> userTasks = describeUserTasks(getProcess(roundTripped));
+        assertTrue(userTasks.stream().anyMatch(line -> line.contains("dataInputAssociation [property reason")));
+        assertTrue(userTasks.stream().anyMatch(line -> line.contains("dataOutputAssociation [") && line.contains("-> property performance")));
+        assertEquals(userTasks,
+                     describeUserTasks(getProcess(definitions)));
+    }
+
+    @Test
+    public void testMarshallToOutputStream() throws Exception {
+        Diagram<Graph, Metadata> diagram = unmarshall(BPMN_PROCESSPROPERTIES);
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        tested.marshall(diagram,
+                        outputStream);
+        assertDiagram(outputStream.toString("UTF-8"),
+                      1,
+                      3,
+                      2);
+    }
+
     @Test
     public void testMarshallProcessProperties() throws Exception {
         Diagram<Graph, Metadata> diagram = unmarshall(BPMN_PROCESSPROPERTIES);
@@ -4131,6 +4189,67 @@ public class BPMNDirectDiagramMarshallerTest {
         fail("Could not find item id = " + id);
     }
 
+    private Definitions parseDefinitions(String xml) throws Exception {
+        JBPMBpmn2Resource resource = JBPMBpmn2ResourceSetFactory.createResource(URI.createURI("inputStream://dummyUriWithValidSuffix.xml"));
+        Map<String, Object> options = new HashMap<>();
+        options.put(JBPMBpmn2Resource.OPTION_ENCODING,
+                    "UTF-8");
+        resource.load(new ByteArrayInputStream(xml.getBytes("UTF-8")),
+                      options);
+        return ((DocumentRoot) resource.getContents().get(0)).getDefinitions();
+    }
+
+    private List<String> describeItemDefinitions(Definitions definitions) {
+        return definitions.getRootElements().stream()
+                .filter(rootElement -> rootElement instanceof ItemDefinition)
+                .map(rootElement -> rootElement.getId() + " " + ((ItemDefinition) rootElement).getStructureRef())
+                .sorted()
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * @return the I/O specifications and data associations of the user tasks of the process, one line per element
+     */
+    private List<String> describeUserTasks(Process process) {
+        List<String> lines = new ArrayList<>();
+        process.getFlowElements().stream()
+                .filter(flowElement -> flowElement instanceof org.eclipse.bpmn2.UserTask)
+                .map(flowElement -> (org.eclipse.bpmn2.UserTask) flowElement)
+                .forEach(userTask -> {
+                    String prefix = userTask.getId() + " ";
+                    InputOutputSpecification ioSpecification = userTask.getIoSpecification();
+                    ioSpecification.getDataInputs().forEach(dataInput -> lines.add(prefix + "dataInput " + describeItemAwareElement(dataInput) + " " + dataInput.getName()));
+                    ioSpecification.getDataOutputs().forEach(dataOutput -> lines.add(prefix + "dataOutput " + describeItemAwareElement(dataOutput) + " " + dataOutput.getName()));
+                    ioSpecification.getInputSets().forEach(inputSet -> lines.add(prefix + "inputSet " + describeIds(inputSet.getDataInputRefs())));
+                    ioSpecification.getOutputSets().forEach(outputSet -> lines.add(prefix + "outputSet " + describeIds(outputSet.getDataOutputRefs())));
+                    userTask.getDataInputAssociations().forEach(association -> lines.add(prefix + "dataInputAssociation " + describeItemAwareElements(association.getSourceRef()) + " -> " + describeItemAwareElement(association.getTargetRef())));
+                    userTask.getDataOutputAssociations().forEach(association -> lines.add(prefix + "dataOutputAssociation " + describeItemAwareElements(association.getSourceRef()) + " -> " + describeItemAwareElement(association.getTargetRef())));
+                });
+        return lines;
+    }
+
+    private List<String> describeItemAwareElements(List<ItemAwareElement> elements) {
+        return elements.stream()
+                .map(this::describeItemAwareElement)
+                .collect(Collectors.toList());
+    }
+
+    private String describeItemAwareElement(ItemAwareElement element) {
+        if (element == null) {
+            return null;
+        }
+        // the process variables are looked up by name, as in the other assignment tests
+        String name = element instanceof Property ? "property " + ((Property) element).getName() : element.getId();
+        ItemDefinition itemDefinition = element.getItemSubjectRef();
+        return itemDefinition == null ? name : name + " : " + itemDefinition.getId() + " " + itemDefinition.getStructureRef();
+    }
+
+    private List<String> describeIds(List<? extends BaseElement> elements) {
+        return elements.stream()
+                .map(BaseElement::getId)
+                .collect(Collectors.toList());
+    }
+
     private Property getProcessProperty(List<Property> properties,
                                         String id,
                                         String itemSubjectRef) {
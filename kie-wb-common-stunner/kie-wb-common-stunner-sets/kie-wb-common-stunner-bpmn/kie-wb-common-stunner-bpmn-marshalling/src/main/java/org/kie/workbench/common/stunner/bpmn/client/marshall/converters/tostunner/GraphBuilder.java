@@ -22,6 +22,7 @@ import java.util.Deque;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.logging.Logger;
 
 import org.kie.workbench.common.stunner.bpmn.client.marshall.converters.TypedFactoryManager;
 import org.kie.workbench.common.stunner.core.api.DefinitionManager;
@@ -34,20 +35,23 @@ import org.kie.workbench.common.stunner.core.graph.Node;
 import org.kie.workbench.common.stunner.core.graph.command.DirectGraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandExecutionContext;
 import org.kie.workbench.common.stunner.core.graph.command.GraphCommandManager;
-import org.kie.workbench.common.stunner.core.graph.command.impl.AddChildNodeCommand;
-import org.kie.workbench.common.stunner.core.graph.command.impl.AddDockedNodeCommand;
-import org.kie.workbench.common.stunner.core.graph.command.impl.AddNodeCommand;
 import org.kie.workbench.common.stunner.core.graph.command.impl.GraphCommandFactory;
 import org.kie.workbench.common.stunner.core.graph.command.impl.UpdateElementPositionCommand;
 import org.kie.workbench.common.stunner.core.graph.content.Bounds;
 import org.kie.workbench.common.stunner.core.graph.content.definition.DefinitionSet;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Child;
+import org.kie.workbench.common.stunner.core.graph.content.relationship.Dock;
 import org.kie.workbench.common.stunner.core.graph.content.view.Connection;
 import org.kie.workbench.common.stunner.core.graph.content.view.ControlPoint;
 import org.kie.workbench.common.stunner.core.graph.content.view.Point2D;
 import org.kie.workbench.common.stunner.core.graph.content.view.View;
+import org.kie.workbench.common.stunner.core.graph.impl.EdgeImpl;
+import org.kie.workbench.common.stunner.core.graph.processing.index.map.MapIndex;
 import org.kie.workbench.common.stunner.core.graph.processing.index.map.MapIndexBuilder;
+import org.kie.workbench.common.stunner.core.graph.util.GraphUtils;
 import org.kie.workbench.common.stunner.core.rule.RuleManager;
 import org.kie.workbench.common.stunner.core.rule.RuleViolation;
+import org.kie.workbench.common.stunner.core.util.UUID;
 
 /**
  * A wrapper for graph command execution,
@@ -65,6 +69,10 @@ import org.kie.workbench.common.stunner.core.rule.RuleViolation;
  * It also implements custom logic for some actions. For example, in the case of adding child nodes,
  * it translates the coordinates of a child node into the new reference system (the parent boundaries).
  * <p>
+ * The nodes, and their parent-child and dock relationships, are added to the graph and its index directly: the
+ * process being read is trusted, so running a command and its rule evaluation for each one of them is not needed.
+ * The connectors keep being added by commands, which compute their connections and control points.
+ * <p>
  * `GraphBuilder` builds the entire graph {@link GraphBuilder#buildGraph(BpmnNode)}
  * once all the conversions have took place: it traverses the entire directed graph described by the `BPMNNode`s
  * starting from the "root node", which represents the root of the diagram, and visiting
@@ -72,7 +80,10 @@ import org.kie.workbench.common.stunner.core.rule.RuleViolation;
  */
 public class GraphBuilder {
 
+    private static final Logger LOGGER = Logger.getLogger(GraphBuilder.class.getName());
+
     private final GraphCommandExecutionContext executionContext;
+    private final MapIndex index;
     private final GraphCommandFactory commandFactory;
     private final GraphCommandManager commandManager;
     private final Graph<DefinitionSet, Node> graph;
@@ -85,10 +96,11 @@ public class GraphBuilder {
             GraphCommandFactory commandFactory,
             GraphCommandManager commandManager) {
         this.graph = graph;
+        this.index = new MapIndexBuilder().build(graph);
         this.executionContext = new DirectGraphCommandExecutionContext(
                 definitionManager,
                 typedFactoryManager.untyped(),
-                new MapIndexBuilder().build(graph));
+                index);
         this.commandFactory = commandFactory;
         this.commandManager = commandManager;
     }
@@ -145,9 +157,16 @@ public class GraphBuilder {
         return prioritized;
     }
 
+    @SuppressWarnings("unchecked")
     private void addDockedNode(Node parent, Node candidate) {
-        AddDockedNodeCommand addNodeCommand = commandFactory.addDockedNode(parent, candidate);
-        execute(addNodeCommand);
+        // as DockNodeCommand, a node that is the target of a connector can't be docked
+        if (GraphUtils.hasTargetConnections(candidate)) {
+            LOGGER.warning("Node " + candidate.getUUID() + " can't be docked to " + parent.getUUID() +
+                                   ": it has incoming connections");
+            return;
+        }
+        registerNode(candidate);
+        connect(parent, candidate, new Dock());
     }
 
     private void addChildNode(BpmnNode current) {
@@ -175,8 +194,8 @@ public class GraphBuilder {
     }
 
     private void addChildNode(Node<? extends View, ?> parent, Node<? extends View, ?> child) {
-        AddChildNodeCommand addChildNodeCommand = commandFactory.addChildNode(parent, child);
-        execute(addChildNodeCommand);
+        registerNode(child);
+        connect(parent, child, new Child());
     }
 
     /**
@@ -196,15 +215,31 @@ public class GraphBuilder {
         updatePosition(node, coords);
     }
 
+    @SuppressWarnings("unchecked")
     private void updatePosition(Node node, Point2D position) {
-        UpdateElementPositionCommand updateElementPositionCommand =
-                commandFactory.updatePosition(node, position);
-        execute(updateElementPositionCommand);
+        Bounds bounds = UpdateElementPositionCommand.computeCandidateBounds(node, position);
+        ((View) node.getContent()).setBounds(bounds);
     }
 
     private void addNode(Node node) {
-        AddNodeCommand addNodeCommand = commandFactory.addNode(node);
-        execute(addNodeCommand);
+        registerNode(node);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void registerNode(Node node) {
+        graph.addNode(node);
+        index.addNode(node);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void connect(Node parent, Node candidate, Object relationship) {
+        Edge<Object, Node> edge = new EdgeImpl<>(UUID.uuid());
+        edge.setContent(relationship);
+        edge.setSourceNode(parent);
+        edge.setTargetNode(candidate);
+        parent.getOutEdges().add(edge);
+        candidate.getInEdges().add(edge);
+        index.addEdge(edge);
     }
 
     @SuppressWarnings("unchecked")